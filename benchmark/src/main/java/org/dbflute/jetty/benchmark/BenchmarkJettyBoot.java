@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.dbflute.jetty.JettyBoot;
+import org.eclipse.jetty.server.NetworkConnector;
+
+/**
+ * The boot for benchmarks, which serves the sample webapp (./src/main/webapp) as resource base or war file. <br>
+ * The port is dynamic (zero) so that forked benchmarks do not conflict.
+ * @author jflute
+ */
+public class BenchmarkJettyBoot extends JettyBoot {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String SAMPLE_WEBAPP_PATH = "./src/main/webapp";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File warFile; // null allowed: resource base
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param warFile The war file built from the sample webapp. (NullAllowed: resource base)
+     */
+    public BenchmarkJettyBoot(File warFile) {
+        super(0, "/");
+        this.warFile = warFile;
+    }
+
+    // ===================================================================================
+    //                                                                            Override
+    //                                                                            ========
+    @Override
+    protected URL getWarLocation() { // not to treat the shaded benchmarks.jar as war
+        final File location = warFile != null ? warFile : new File(SAMPLE_WEBAPP_PATH);
+        try {
+            return location.toURI().toURL(); // directory URL ends with slash so not war-able
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("Illegal location: " + location, e);
+        }
+    }
+
+    @Override
+    protected void info(String msg) {
+        // quiet for benchmark output
+    }
+
+    /**
+     * @return The port bound by the main connector. (positive after go())
+     */
+    public int getLocalPort() {
+        return ((NetworkConnector) getServer().getConnectors()[0]).getLocalPort();
+    }
+
+    // ===================================================================================
+    //                                                                           War File
+    //                                                                           ========
+    /**
+     * @return The temporary war file built from the sample webapp, deleted at JVM exit. (NotNull)
+     */
+    public static File buildSampleWar() {
+        final Path webappDir = new File(SAMPLE_WEBAPP_PATH).toPath();
+        if (!Files.isDirectory(webappDir)) {
+            throw new IllegalStateException("Not found the sample webapp, run benchmarks at benchmark directory: " + webappDir);
+        }
+        try {
+            final File warFile = File.createTempFile("jettyboot-benchmark", ".war");
+            warFile.deleteOnExit();
+            final List<Path> fileList;
+            try (Stream<Path> stream = Files.walk(webappDir)) {
+                fileList = stream.filter(path -> Files.isRegularFile(path)).collect(Collectors.toList());
+            }
+            try (ZipOutputStream zipOut = new ZipOutputStream(Files.newOutputStream(warFile.toPath()))) {
+                for (Path file : fileList) {
+                    final String entryName = webappDir.relativize(file).toString().replace('\\', '/');
+                    zipOut.putNextEntry(new ZipEntry(entryName));
+                    Files.copy(file, zipOut);
+                    zipOut.closeEntry();
+                }
+            }
+            return warFile;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to build the sample war: " + webappDir, e);
+        }
+    }
+}
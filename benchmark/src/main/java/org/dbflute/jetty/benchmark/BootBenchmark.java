@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of cold boot time of JettyBoot.go() per option combination. <br>
+ * Each fork is a fresh JVM and boots only once, so it measures the boot as in production (no JIT warm-up).
+ * <pre>
+ * e.g. only annotation detect on resource base
+ *  java -jar target/benchmarks.jar BootBenchmark -p webappType=resourceBase -p annotationDetect=true
+ * </pre>
+ * @author jflute
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class BootBenchmark {
+
+    // ===================================================================================
+    //                                                                           Parameter
+    //                                                                           =========
+    @Param({ "resourceBase", "war", "embeddedWebroot" })
+    public String webappType;
+
+    @Param({ "false", "true" })
+    public boolean annotationDetect;
+
+    @Param({ "false", "true" })
+    public boolean webFragmentsDetect;
+
+    @Param({ "false", "true" })
+    public boolean tldDetect;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected File warFile; // null allowed: when not war
+    protected BenchmarkJettyBoot boot; // not null while booted
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    @Setup(Level.Trial)
+    public void prepareWar() {
+        if ("war".equals(webappType)) { // out of measurement
+            warFile = BenchmarkJettyBoot.buildSampleWar();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() {
+        if (boot != null) {
+            boot.close();
+            boot = null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    @Benchmark
+    public BenchmarkJettyBoot go() {
+        boot = createBoot();
+        boot.go();
+        return boot;
+    }
+
+    protected BenchmarkJettyBoot createBoot() {
+        final BenchmarkJettyBoot created = new BenchmarkJettyBoot(warFile);
+        if ("embeddedWebroot".equals(webappType)) {
+            created.useEmbeddedWebroot();
+        }
+        if (annotationDetect) {
+            created.useAnnotationDetect();
+        }
+        if (webFragmentsDetect) {
+            created.useWebFragmentsDetect();
+        }
+        if (tldDetect) {
+            created.useTldDetect();
+        }
+        return created;
+    }
+}
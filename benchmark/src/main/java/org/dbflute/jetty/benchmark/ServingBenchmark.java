@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of request throughput and latency over loopback for static and servlet responses. <br>
+ * The client is HttpURLConnection with keep-alive, so the server and the client share the machine.
+ * <pre>
+ * e.g. 8 client threads
+ *  java -jar target/benchmarks.jar ServingBenchmark -t 8
+ * </pre>
+ * @author jflute
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ServingBenchmark {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected BenchmarkJettyBoot boot; // not null while booted
+    protected String baseUrl; // not null while booted e.g. http://localhost:12345
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    @Setup(Level.Trial)
+    public void boot() {
+        boot = new BenchmarkJettyBoot(null);
+        boot.go();
+        baseUrl = "http://localhost:" + boot.getLocalPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        boot.close();
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    @Benchmark
+    public int staticResource() throws IOException {
+        return request("/index.html");
+    }
+
+    @Benchmark
+    public int servlet() throws IOException {
+        return request("/hello?name=land");
+    }
+
+    protected int request(String path) throws IOException {
+        final HttpURLConnection conn = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        final int status = conn.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("Unexpected status: " + status + " " + path);
+        }
+        int size = 0;
+        final byte[] buffer = new byte[8192];
+        try (InputStream ins = conn.getInputStream()) { // read all to reuse the connection
+            int read;
+            while ((read = ins.read(buffer)) >= 0) {
+                size += read;
+            }
+        }
+        return size;
+    }
+}
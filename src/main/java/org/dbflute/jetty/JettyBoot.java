@@ -17,31 +17,126 @@ package org.dbflute.jetty;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.servlet.DispatcherType;
+
+import org.dbflute.jetty.accesslog.AccessLogOption;
+import org.dbflute.jetty.accesslog.AsyncRequestLog;
+import org.dbflute.jetty.admission.AdmissionControlHandler;
+import org.dbflute.jetty.admission.AdmissionOption;
+import org.dbflute.jetty.admission.AdmissionStats;
+import org.dbflute.jetty.buffer.BufferPoolOption;
+import org.dbflute.jetty.buffer.BufferPoolStats;
+import org.dbflute.jetty.buffer.StatisticsByteBufferPool;
+import org.dbflute.jetty.cds.ClassDataSharingArchive;
+import org.dbflute.jetty.cds.ClassDataSharingOption;
+import org.dbflute.jetty.cds.ClassDataSharingStatus;
+import org.dbflute.jetty.compression.CompressionOption;
+import org.dbflute.jetty.connector.ConnectorOption;
+import org.dbflute.jetty.connector.HttpConfigOption;
+import org.dbflute.jetty.connector.NamedConnectorOption;
+import org.dbflute.jetty.connector.TunableServerConnector;
+import org.dbflute.jetty.context.WebAppOption;
+import org.dbflute.jetty.http2.Http2Option;
+import org.dbflute.jetty.metrics.MetricsSnapshot;
+import org.dbflute.jetty.metrics.RequestMetrics;
+import org.dbflute.jetty.metrics.RequestMetricsHandler;
+import org.dbflute.jetty.profile.BootTimeline.BootPhase;
+import org.dbflute.jetty.profile.BootTimeline;
+import org.dbflute.jetty.profile.ProfiledAnnotationConfiguration;
+import org.dbflute.jetty.profile.ProfiledConfiguration;
+import org.dbflute.jetty.quickstart.QuickstartDescriptor;
+import org.dbflute.jetty.quickstart.QuickstartFingerprint;
+import org.dbflute.jetty.quickstart.QuickstartGeneratingWebAppContext;
+import org.dbflute.jetty.quickstart.QuickstartLoadingConfiguration;
+import org.dbflute.jetty.readiness.LazyServletInitListener;
+import org.dbflute.jetty.readiness.ReadinessGateHandler;
+import org.dbflute.jetty.readiness.ReadinessOption;
+import org.dbflute.jetty.resource.FingerprintCacheControlFilter;
+import org.dbflute.jetty.resource.StaticResourceOption;
+import org.dbflute.jetty.resource.WarExtractionOption;
+import org.dbflute.jetty.resource.WarExtractor;
+import org.dbflute.jetty.resource.WebrootExtractor;
+import org.dbflute.jetty.scan.JarScanOption;
+import org.dbflute.jetty.scan.JarScanResult;
+import org.dbflute.jetty.scan.ParallelJarScanner;
+import org.dbflute.jetty.session.BoundedSessionCache;
+import org.dbflute.jetty.session.OffHeapSessionDataStore;
+import org.dbflute.jetty.session.SessionStoreOption;
+import org.dbflute.jetty.session.SessionStoreStats;
+import org.dbflute.jetty.shutdown.GracefulShutdownHandler;
+import org.dbflute.jetty.shutdown.GracefulShutdownOption;
+import org.dbflute.jetty.shutdown.ShutdownReport;
+import org.dbflute.jetty.threadpool.ThreadPoolOption;
+import org.dbflute.jetty.threadpool.VirtualThreadPool;
+import org.dbflute.jetty.tls.AlpnSupport;
+import org.dbflute.jetty.tls.CertificateReloader;
+import org.dbflute.jetty.tls.PemKeyStoreLoader;
+import org.dbflute.jetty.tls.TlsOption;
 import org.dbflute.jetty.util.BoJtResourceUtil;
+import org.dbflute.jetty.warmup.WarmupConnector;
+import org.dbflute.jetty.warmup.WarmupOption;
+import org.dbflute.jetty.warmup.WarmupReport;
+import org.dbflute.jetty.warmup.WarmupRunner;
 import org.eclipse.jetty.annotations.AnnotationConfiguration;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.plus.webapp.EnvConfiguration;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.server.session.FileSessionDataStore;
+import org.eclipse.jetty.server.session.SessionCache;
+import org.eclipse.jetty.server.session.SessionDataStore;
+import org.eclipse.jetty.server.session.SessionHandler;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.FilterMapping;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.MultiException;
+import org.eclipse.jetty.util.resource.EmptyResource;
 import org.eclipse.jetty.util.resource.JarResource;
 import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.eclipse.jetty.webapp.Configuration;
 import org.eclipse.jetty.webapp.FragmentConfiguration;
 import org.eclipse.jetty.webapp.JettyWebXmlConfiguration;
+import org.eclipse.jetty.webapp.MetaData;
 import org.eclipse.jetty.webapp.MetaInfConfiguration;
 import org.eclipse.jetty.webapp.WebAppContext;
 import org.eclipse.jetty.webapp.WebInfConfiguration;
@@ -59,6 +154,7 @@ public class JettyBoot {
     //                                                                          ==========
     protected static final String WEBROOT_RESOURCE_PATH = "/webroot/";
     protected static final String DEFAULT_MARK_DIR = "/tmp/dbflute/jettyboot"; // for shutdown hook
+    protected static final String DEFAULT_SERVLET_NAME = "default"; // by webdefault.xml
 
     // ===================================================================================
     //                                                                           Attribute
@@ -76,16 +172,62 @@ public class JettyBoot {
     protected boolean browseOnDesktop;
     protected boolean suppressShutdownHook;
     protected boolean useEmbeddedWebroot; // default is meven convention way
+    protected String webrootExtractionDirPath; // null allowed: serving from inside jar
+    protected String warExtractionDirPath; // null allowed: extracted to temporary directory by jetty
+    protected WarExtractionOption warExtractionOption; // null allowed: same as directory path
     protected boolean useAnnotationDetect;
     protected boolean useMetaInfoResourceDetect;
     protected boolean useTldDetect;
     protected boolean useWebFragmentsDetect;
     protected Predicate<String> webFragmentsSelector;
+    protected ThreadPoolOption threadPoolOption; // null allowed: jetty default pool
+    protected ConnectorOption connectorOption; // null allowed: jetty default connector
+    protected BufferPoolOption bufferPoolOption; // null allowed: jetty default pool per connector
+    protected HttpConfigOption httpConfigOption; // null allowed: jetty default configuration
+    protected Http2Option http2Option; // null allowed: HTTP/1.1 only
+    protected CompressionOption compressionOption; // null allowed: no compression
+    protected boolean useBootProfiler;
+    protected String quickstartDescriptorPath; // null allowed: no quickstart
+    protected boolean quickstartForcedGeneration; // e.g. at build time
+    protected JarScanOption jarScanOption; // null allowed: sequential scanning by jetty
+    protected StaticResourceOption staticResourceOption; // null allowed: jetty default serving
+    protected boolean useRequestMetrics;
+    protected GracefulShutdownOption gracefulShutdownOption; // null allowed: immediate stop
+    protected final List<WebAppOption> additionalWebAppList = new ArrayList<WebAppOption>(); // empty allowed
+    protected final List<NamedConnectorOption> namedConnectorList = new ArrayList<NamedConnectorOption>(); // empty allowed
+    protected Integer tlsPort; // null allowed: no TLS
+    protected TlsOption tlsOption; // null allowed: no TLS
+    protected ReadinessOption readinessOption; // null allowed: applications are started before binding
+    protected WarmupOption warmupOption; // null allowed: no warm-up
+    protected AdmissionOption admissionOption; // null allowed: no admission control
+    protected String accessLogFilePath; // null allowed: no access log
+    protected AccessLogOption accessLogOption; // null allowed: same as file path
+    protected SessionStoreOption sessionStoreOption; // null allowed: jetty default session cache in heap
+    protected String classDataSharingArchivePath; // null allowed: no class data sharing check
+    protected ClassDataSharingOption classDataSharingOption; // null allowed: same as archive path
 
     // -----------------------------------------------------
     //                                              Stateful
     //                                              --------
     protected Server server;
+    protected WebAppContext webAppContext; // not null after prepared
+    protected List<WebAppContext> additionalWebAppContextList = Collections.emptyList(); // empty allowed
+    protected BootTimeline bootTimeline; // null allowed: when no profiler
+    protected QuickstartDescriptor quickstartDescriptor; // null allowed: when no quickstart
+    protected boolean quickstartLoading; // true if the descriptor is loaded instead of scanning
+    protected RequestMetrics requestMetrics; // null allowed: when no metrics
+    protected GracefulShutdownHandler gracefulShutdownHandler; // null allowed: when immediate stop
+    protected Thread jvmShutdownHook; // null allowed: when not registered
+    protected volatile Thread markWatcherThread; // null allowed: when not development or closed
+    protected ShutdownReport shutdownReport; // null allowed: before graceful close
+    protected ReadinessGateHandler readinessGateHandler; // null allowed: when no readiness gate
+    protected LocalConnector warmupConnector; // null allowed: when no warm-up or after warm-up
+    protected WarmupReport warmupReport; // null allowed: before warm-up
+    protected AdmissionControlHandler admissionControlHandler; // null allowed: when no admission control
+    protected AsyncRequestLog accessLog; // null allowed: when no access log
+    protected StatisticsByteBufferPool byteBufferPool; // null allowed: when no buffer pool option
+    protected BoundedSessionCache sessionCache; // null allowed: when no session store
+    protected ClassDataSharingStatus classDataSharingStatus; // null allowed: when no class data sharing
 
     // ===================================================================================
     //                                                                         Constructor
@@ -165,6 +307,44 @@ public class JettyBoot {
         return this;
     }
 
+    /**
+     * You can detect embedded webroot, extracted to local directory at boot. <br>
+     * Static resources are served from file system (no jar inflation per request),
+     * and extraction is skipped if the same webroot has been already extracted.
+     * <pre>
+     * boot.useEmbeddedWebrootExtraction(System.getProperty("java.io.tmpdir") + "/myapp");
+     * </pre>
+     * @param extractionDirPath The path of base directory to extract webroot in, created if not exists. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useEmbeddedWebrootExtraction(String extractionDirPath) {
+        assertArgumentNotNull("extractionDirPath", extractionDirPath);
+        useEmbeddedWebroot = true;
+        webrootExtractionDirPath = extractionDirPath;
+        return this;
+    }
+
+    /**
+     * Extract war (or war-able jar) to the cache directory keyed by hash of the archive contents,
+     * reused at next boot while the archive is not changed (instead of unpacking to fresh temporary directory every boot). <br>
+     * Effective only when the application is war-able file.
+     * <pre>
+     * boot.useWarExtractionCache("/var/cache/maihama", op -&gt; op.parallelism(4).keepGenerations(2));
+     * </pre>
+     * @param extractionDirPath The path of base directory to extract war in, created if not exists. (NotNull)
+     * @param opLambda The callback for option of extraction. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useWarExtractionCache(String extractionDirPath, Consumer<WarExtractionOption> opLambda) {
+        assertArgumentNotNull("extractionDirPath", extractionDirPath);
+        assertArgumentNotNull("opLambda", opLambda);
+        final WarExtractionOption option = new WarExtractionOption();
+        opLambda.accept(option);
+        warExtractionDirPath = extractionDirPath;
+        warExtractionOption = option;
+        return this;
+    }
+
     /**
      * You can detect annotations in all jar files.
      * @return this. (NotNull)
@@ -218,6 +398,432 @@ public class JettyBoot {
         return this;
     }
 
+    /**
+     * Use the thread pool tuned by the option instead of jetty default pool.
+     * <pre>
+     * boot.useThreadPool(op -&gt; op.minThreads(16).maxThreads(400).queueCapacity(2000));
+     * boot.useThreadPool(op -&gt; op.maxThreads(400).useVirtualThreads()); // max is for fallback on Java8
+     * </pre>
+     * @param opLambda The callback for option of thread pool. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useThreadPool(Consumer<ThreadPoolOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final ThreadPoolOption option = new ThreadPoolOption();
+        opLambda.accept(option);
+        threadPoolOption = option;
+        return this;
+    }
+
+    /**
+     * Use the server connector tuned by the option instead of jetty default settings.
+     * <pre>
+     * boot.useConnector(op -&gt; op.acceptors(2).selectors(4).acceptQueueSize(1024).idleTimeoutMillis(15000));
+     * </pre>
+     * @param opLambda The callback for option of server connector. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useConnector(Consumer<ConnectorOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final ConnectorOption option = new ConnectorOption();
+        opLambda.accept(option);
+        connectorOption = option;
+        return this;
+    }
+
+    /**
+     * Use the byte buffer pool tuned by the option, shared by all connectors (with hit/miss statistics).
+     * <pre>
+     * boot.useBufferPool(op -&gt; op.factor(4096).maxCapacity(256 * 1024).maxDirectMemory(512L * 1024 * 1024));
+     * </pre>
+     * @param opLambda The callback for option of buffer pool. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useBufferPool(Consumer<BufferPoolOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final BufferPoolOption option = new BufferPoolOption();
+        opLambda.accept(option);
+        bufferPoolOption = option;
+        return this;
+    }
+
+    /**
+     * Use the HTTP configuration tuned by the option e.g. buffer and header sizes, for all connectors.
+     * <pre>
+     * boot.useHttpConfig(op -&gt; op.outputBufferSize(64 * 1024).outputAggregationSize(16 * 1024).suppressServerVersion());
+     * </pre>
+     * @param opLambda The callback for option of HTTP configuration. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useHttpConfig(Consumer<HttpConfigOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final HttpConfigOption option = new HttpConfigOption();
+        opLambda.accept(option);
+        httpConfigOption = option;
+        return this;
+    }
+
+    /**
+     * Enable HTTP/2 cleartext (h2c) on the connector, with jetty default settings. <br>
+     * HTTP/1.1 is still available for clients that do not upgrade.
+     * @return this. (NotNull)
+     */
+    public JettyBoot useHttp2() {
+        return useHttp2(op -> {});
+    }
+
+    /**
+     * Enable HTTP/2 cleartext (h2c) on the connector, tuned by the option.
+     * <pre>
+     * boot.useHttp2(op -&gt; op.maxConcurrentStreams(256).initialStreamRecvWindow(1024 * 1024));
+     * </pre>
+     * @param opLambda The callback for option of HTTP/2. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useHttp2(Consumer<Http2Option> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final Http2Option option = new Http2Option();
+        opLambda.accept(option);
+        http2Option = option;
+        return this;
+    }
+
+    /**
+     * Compress responses by gzip, and serve precompressed siblings (.br, .gz) of static files.
+     * <pre>
+     * boot.useCompression(op -&gt; op.minCompressSize(1024).includeMimeTypes("application/json", "text/html"));
+     * </pre>
+     * @param opLambda The callback for option of compression. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useCompression(Consumer<CompressionOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final CompressionOption option = new CompressionOption();
+        opLambda.accept(option);
+        compressionOption = option;
+        return this;
+    }
+
+    /**
+     * Measure the elapsed time of every boot phase and jetty configuration,
+     * and show the timeline after boot. (also you can get it by {@link #getBootTimeline()})
+     * @return this. (NotNull)
+     */
+    public JettyBoot useBootProfiler() {
+        useBootProfiler = true;
+        return this;
+    }
+
+    /**
+     * Use the precomputed web descriptor (quickstart) to skip annotation and fragment scanning. <br>
+     * The descriptor is generated at the first boot (or by {@link #generateQuickstart()} at build time),
+     * and later boots load it directly while the application (e.g. war file) is not changed. <br>
+     * The web application should be unpacked, so war file or embedded webroot needs extraction option.
+     * <pre>
+     * boot.useAnnotationDetect().useWebFragmentsDetect().useQuickstart("./target/quickstart-web.xml");
+     * boot.useWarExtractionCache("./work/war", op -&gt; {}).useQuickstart("./work/quickstart-web.xml");
+     * </pre>
+     * @param descriptorPath The file path of quickstart descriptor, should be writable. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useQuickstart(String descriptorPath) {
+        assertArgumentNotNull("descriptorPath", descriptorPath);
+        quickstartDescriptorPath = descriptorPath;
+        return this;
+    }
+
+    /**
+     * Scan jars for 'META-INF' resources, web fragments and TLDs in parallel, with persistent cache if specified. <br>
+     * Each jar is opened only once, and not opened at all if it is not changed since cached.
+     * <pre>
+     * boot.useWebFragmentsDetect(...).useJarScan(op -&gt; op.parallelism(4).cacheFile("./target/jettyboot-jarscan.properties"));
+     * </pre>
+     * @param opLambda The callback for option of jar scan. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useJarScan(Consumer<JarScanOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final JarScanOption option = new JarScanOption();
+        opLambda.accept(option);
+        jarScanOption = option;
+        return this;
+    }
+
+    /**
+     * Serve static resources from in-memory cache (memory-mapped files) with ETag, and optionally far-future Cache-Control
+     * to fingerprinted paths (e.g. /assets/app.3f2a9c1e.js) so that browsers never revalidate them.
+     * <pre>
+     * boot.useStaticResource(op -&gt; op.maxCacheSize(64 * 1024 * 1024).cacheControl("no-cache"));
+     * boot.useStaticResource(op -&gt; op.fingerprint()); // default pattern, for resources of default servlet only
+     * </pre>
+     * @param opLambda The callback for option of static resource. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useStaticResource(Consumer<StaticResourceOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final StaticResourceOption option = new StaticResourceOption();
+        opLambda.accept(option);
+        staticResourceOption = option;
+        return this;
+    }
+
+    /**
+     * Record request count, active requests, status classes, bytes and latency percentiles per context,
+     * and observe thread pool utilization. (you can get them by {@link #getMetricsSnapshot()})
+     * @return this. (NotNull)
+     */
+    public JettyBoot useRequestMetrics() {
+        useRequestMetrics = true;
+        return this;
+    }
+
+    /**
+     * Terminate TLS (HTTPS) at the server by the additional connector, so no proxy is needed. <br>
+     * HTTP/2 is also offered by ALPN when {@link #useHttp2()} and ALPN server is on the classpath.
+     * <pre>
+     * boot.useTls(8443, op -&gt; op.pem("/etc/tls/fullchain.pem", "/etc/tls/privkey.pem").reloadIntervalSeconds(60));
+     * boot.useTls(8443, op -&gt; op.keyStore("./keystore.p12", "secret").includeProtocols("TLSv1.3", "TLSv1.2"));
+     * </pre>
+     * @param tlsPort The port number of TLS connector, should be different from the others.
+     * @param opLambda The callback for option of TLS, key store or PEM is required. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useTls(int tlsPort, Consumer<TlsOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        if (tlsPort == port) {
+            throw new IllegalArgumentException("The TLS port should be different from the main port: " + tlsPort);
+        }
+        final TlsOption option = new TlsOption();
+        opLambda.accept(option);
+        if (option.getKeyStorePath() == null && option.getPemCertificatePath() == null) {
+            throw new IllegalArgumentException("Either key store or PEM is required: " + option);
+        }
+        this.tlsPort = tlsPort;
+        this.tlsOption = option;
+        return this;
+    }
+
+    /**
+     * Host the additional web application in the same server, routed by context path. <br>
+     * The applications share the port, connectors and thread pool (and handlers e.g. compression, metrics),
+     * and the detection options (e.g. annotation) are applied to them too, except quickstart.
+     * <pre>
+     * boot.addWebApp("/admin", op -&gt; op.war("./apps/admin.war"));
+     * </pre>
+     * @param contextPath The context path of the web application, basically has slash prefix. (NotNull, EmptyAllowed)
+     * @param opLambda The callback for option of the web application, war or resource base is required. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot addWebApp(String contextPath, Consumer<WebAppOption> opLambda) {
+        assertArgumentNotNull("contextPath", contextPath);
+        assertArgumentNotNull("opLambda", opLambda);
+        final String normalizedPath = normalizeContextPath(contextPath);
+        final boolean duplicate = normalizeContextPath(this.contextPath).equals(normalizedPath) // main application
+                || additionalWebAppList.stream().anyMatch(existing -> normalizeContextPath(existing.getContextPath()).equals(normalizedPath));
+        if (duplicate) {
+            throw new IllegalArgumentException("The context path already exists: " + contextPath);
+        }
+        final WebAppOption option = new WebAppOption(contextPath);
+        opLambda.accept(option);
+        if (option.getWarPath() == null && option.getResourceBase() == null) {
+            throw new IllegalArgumentException("Either war or resource base is required: " + option);
+        }
+        additionalWebAppList.add(option);
+        return this;
+    }
+
+    /**
+     * Add the connector with own port (and host), e.g. internal management port on loopback. <br>
+     * The connector can have own thread pool and own bound web applications (virtual host '@name'),
+     * so health checks and admin endpoints do not queue behind public traffic.
+     * <pre>
+     * boot.addConnector("admin", 8081, op -&gt; op.host("127.0.0.1").maxThreads(8).bindContext("/admin"));
+     * </pre>
+     * @param name The unique name of the connector, used as virtual host e.g. '@admin'. (NotNull)
+     * @param port The port number of the connector, should be different from the others.
+     * @param opLambda The callback for option of the connector. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot addConnector(String name, int port, Consumer<NamedConnectorOption> opLambda) {
+        assertArgumentNotNull("name", name);
+        assertArgumentNotNull("opLambda", opLambda);
+        if (port == this.port || namedConnectorList.stream().anyMatch(existing -> existing.getPort() == port)) {
+            throw new IllegalArgumentException("The port already exists: " + port);
+        }
+        if (namedConnectorList.stream().anyMatch(existing -> existing.getName().equals(name))) {
+            throw new IllegalArgumentException("The connector name already exists: " + name);
+        }
+        final NamedConnectorOption option = new NamedConnectorOption(name, port);
+        opLambda.accept(option);
+        namedConnectorList.add(option);
+        return this;
+    }
+
+    protected String normalizeContextPath(String contextPath) { // e.g. "" and "/" are same
+        return contextPath.endsWith("/") ? contextPath.substring(0, contextPath.length() - 1) : contextPath;
+    }
+
+    /**
+     * Stop gracefully at {@link #close()}: stop accepting new connections, wait for in-flight requests
+     * within the timeout, and report how many were drained or aborted. <br>
+     * Also the JVM shutdown hook (e.g. for SIGTERM at rolling deploy) closes the server in the same way.
+     * <pre>
+     * boot.useGracefulShutdown(op -&gt; op.drainTimeoutMillis(20000));
+     * </pre>
+     * @param opLambda The callback for option of graceful shutdown. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useGracefulShutdown(Consumer<GracefulShutdownOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final GracefulShutdownOption option = new GracefulShutdownOption();
+        opLambda.accept(option);
+        gracefulShutdownOption = option;
+        return this;
+    }
+
+    /**
+     * Bind the port before web applications are started, and start them in background. <br>
+     * Requests are rejected by 503 (with Retry-After) until ready, and the readiness endpoint tells the state
+     * (200 if ready, 503 if starting or failed) e.g. for readiness probe of container orchestrator.
+     * <pre>
+     * boot.useReadinessGate(op -&gt; op.readinessPath("/health/ready").lazyServletInit());
+     * </pre>
+     * @param opLambda The callback for option of readiness gate. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useReadinessGate(Consumer<ReadinessOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final ReadinessOption option = new ReadinessOption();
+        opLambda.accept(option);
+        readinessOption = option;
+        return this;
+    }
+
+    /**
+     * Replay requests against the in-process server (by local connector, no network) after the applications are started,
+     * so that JIT compiles the request paths before real requests come. <br>
+     * With {@link #useReadinessGate(Consumer)}, it runs in background and the readiness endpoint is ready after warm-up.
+     * Without it, go() returns after warm-up. The replayed requests are not recorded as real traffic (e.g. request metrics).
+     * <pre>
+     * boot.useWarmup(op -&gt; op.get("/harbor/").get("/harbor/product/list").iterations(200).untilStable(5));
+     * </pre>
+     * @param opLambda The callback for option of warm-up, requests or sample file is required. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useWarmup(Consumer<WarmupOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final WarmupOption option = new WarmupOption();
+        opLambda.accept(option);
+        if (option.getRequestList().isEmpty() && option.getSampleFilePath() == null) {
+            throw new IllegalArgumentException("The warm-up option should have requests or sample file: " + option);
+        }
+        warmupOption = option;
+        return this;
+    }
+
+    /**
+     * Limit concurrent requests per path pattern, and reject the excess by 503 with Retry-After
+     * (after waiting in the bounded queue if specified), so that tail latency is kept at traffic spikes.
+     * <pre>
+     * boot.useAdmissionControl(op -&gt; op.limit("/harbor/api/*", 50).limit("/*", 200)
+     *     .queue(100, 500).priority("/harbor/api/payment/*"));
+     * </pre>
+     * @param opLambda The callback for option of admission control, at least one limit is required. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useAdmissionControl(Consumer<AdmissionOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final AdmissionOption option = new AdmissionOption();
+        opLambda.accept(option);
+        if (option.getLimitMap().isEmpty()) {
+            throw new IllegalArgumentException("The admission option should have at least one limit: " + option);
+        }
+        admissionOption = option;
+        return this;
+    }
+
+    /**
+     * Write access log asynchronously to daily rolling files. <br>
+     * Request threads only format the entry into reused buffer, and the background thread writes them in batch.
+     * <pre>
+     * boot.useAccessLog("./log/access.log", op -&gt; op.samplingRate(0.1).retainDays(14));
+     * </pre>
+     * @param logFilePath The base path of log file, the date is inserted before extension. (NotNull)
+     * @param opLambda The callback for option of access log. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useAccessLog(String logFilePath, Consumer<AccessLogOption> opLambda) {
+        assertArgumentNotNull("logFilePath", logFilePath);
+        assertArgumentNotNull("opLambda", opLambda);
+        final AccessLogOption option = new AccessLogOption();
+        opLambda.accept(option);
+        accessLogFilePath = logFilePath;
+        accessLogOption = option;
+        return this;
+    }
+
+    /**
+     * Bound sessions in heap by count and idle time, and passivate evicted sessions to the store
+     * (activated again when requested), so that long-lived sessions do not stay in old generation.
+     * <pre>
+     * boot.useSessionStore(op -&gt; op.maxResidentSessions(10000).idleEvictionSeconds(300).fileStore("./work/sessions"));
+     * </pre>
+     * @param opLambda The callback for option of session store, eviction and store are required. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useSessionStore(Consumer<SessionStoreOption> opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final SessionStoreOption option = new SessionStoreOption();
+        opLambda.accept(option);
+        if (option.getMaxResidentSessions() == null && option.getIdleEvictionSeconds() == null) {
+            throw new IllegalArgumentException("The session store option should have max resident or idle eviction: " + option);
+        }
+        if (option.getFileStoreDirPath() == null && option.getOffHeapMaxBytes() == null) { // evicted sessions are lost
+            throw new IllegalArgumentException("The session store option should have file or off-heap store: " + option);
+        }
+        sessionStoreOption = option;
+        return this;
+    }
+
+    /**
+     * Check the class data sharing (AppCDS) archive at boot, and tell the JVM options to use (or train) it. <br>
+     * The archive is created by {@link #trainClassDataSharing()}, and used when the JVM is launched with the option.
+     * <pre>
+     * boot.useClassDataSharing("./work/jettyboot.jsa");
+     * e.g. java -XX:SharedArchiveFile=./work/jettyboot.jsa -cp ... (same class path as training)
+     * </pre>
+     * @param archivePath The file path of shared archive. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useClassDataSharing(String archivePath) {
+        return useClassDataSharing(archivePath, op -> {});
+    }
+
+    /**
+     * Check the class data sharing (AppCDS) archive at boot, and tell the JVM options to use (or train) it.
+     * <pre>
+     * boot.useClassDataSharing("./work/jettyboot.jsa", op -&gt; op.asStaticArchive());
+     * </pre>
+     * @param archivePath The file path of shared archive. (NotNull)
+     * @param opLambda The callback for option of class data sharing. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JettyBoot useClassDataSharing(String archivePath, Consumer<ClassDataSharingOption> opLambda) {
+        assertArgumentNotNull("archivePath", archivePath);
+        assertArgumentNotNull("opLambda", opLambda);
+        final ClassDataSharingOption option = new ClassDataSharingOption();
+        opLambda.accept(option);
+        classDataSharingArchivePath = archivePath;
+        classDataSharingOption = option;
+        return this;
+    }
+
+    protected void assertArgumentNotNull(String name, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null.");
+        }
+    }
+
     // ===================================================================================
     //                                                                               Boot
     //                                                                              ======
@@ -227,34 +833,620 @@ public class JettyBoot {
         return this;
     }
 
+    /**
+     * Generate the quickstart descriptor by scanning, and close the server. (e.g. at build time) <br>
+     * The descriptor is generated even if the existing one is available.
+     * @return this. (NotNull)
+     */
+    public JettyBoot generateQuickstart() {
+        if (quickstartDescriptorPath == null) {
+            throw new IllegalStateException("Not found the quickstart descriptor path, call useQuickstart(): port=" + port);
+        }
+        quickstartForcedGeneration = true;
+        try {
+            go();
+        } finally {
+            if (server != null) {
+                close();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Boot the server for training of class data sharing, run warm-up if specified, and close the server. <br>
+     * The JVM should be launched with the training option (shown by exception if not),
+     * and the archive is written at JVM exit (Java13 or later) or by dump process after close (Java10 or later).
+     * <pre>
+     * e.g. java -XX:ArchiveClassesAtExit=./work/jettyboot.jsa -cp ... (main with this method)
+     * boot.useClassDataSharing("./work/jettyboot.jsa").useWarmup(op -&gt; op.get("/harbor/")).trainClassDataSharing();
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public JettyBoot trainClassDataSharing() {
+        if (classDataSharingArchivePath == null) {
+            throw new IllegalStateException("Not found the class data sharing archive path, call useClassDataSharing(): port=" + port);
+        }
+        final ClassDataSharingArchive archive = createClassDataSharingArchive();
+        final ClassDataSharingStatus status = archive.detect();
+        if (!status.isTraining()) {
+            final List<String> optionList = archive.buildTrainingJvmOptionList();
+            if (optionList.isEmpty()) {
+                throw new IllegalStateException("Application class data sharing needs Java10 or later: " + status);
+            }
+            throw new IllegalStateException("The JVM should be launched with the training options: " + optionList + ", " + status);
+        }
+        try {
+            go();
+            awaitTrainingReadiness();
+        } finally {
+            if (server != null) {
+                close();
+            }
+        }
+        if (status.getClassListDumpPath() != null) {
+            info("...Dumping the class data sharing archive: " + archive.getArchiveFile());
+            archive.dumpStaticArchive(new File(status.getClassListDumpPath()), System.getProperty("java.class.path"));
+        } else {
+            info("...Training completed, the archive will be written at JVM exit: " + status.getDynamicDumpPath());
+        }
+        return this;
+    }
+
+    protected void awaitTrainingReadiness() { // warm-up runs in background if readiness gate
+        if (readinessGateHandler == null) {
+            return;
+        }
+        final int timeoutSeconds = classDataSharingOption.getTrainingTimeoutSeconds();
+        try {
+            if (!readinessGateHandler.awaitReady(timeoutSeconds * 1000L)) {
+                throw new IllegalStateException("The readiness for training timed out: " + timeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted the training of class data sharing.", e);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                                  Go
+    //                                                ------
+    public JettyBoot go() { // public as parts, no wait
+        info("...Booting the Jetty: port=" + port + " contextPath=" + contextPath);
+        if (useBootProfiler) {
+            bootTimeline = new BootTimeline();
+        }
+        if (classDataSharingArchivePath != null) {
+            checkClassDataSharing();
+        }
+        if (development) {
+            measureBootPhase("registerShutdownHook", () -> registerShutdownHook());
+        }
+        measureBootPhase("prepareServer", () -> prepareServer());
+        final URI uri = measureBootPhaseAsResult("startServer", () -> startServer());
+        if (warmupOption != null && readinessGateHandler == null) { // in background if readiness gate
+            measureBootPhase("warmup", () -> warmup());
+        }
+        registerJvmShutdownHookIfNeeds();
+        loggingBootTimelineIfNeeds();
+        loggingBootSuccessful(uri);
+        browseOnDesktopIfNeeds(uri);
+        return this;
+    }
+
+    protected void checkClassDataSharing() { // only logging, class loading is already decided at JVM launch
+        final ClassDataSharingArchive archive = createClassDataSharingArchive();
+        final ClassDataSharingStatus status = archive.detect();
+        classDataSharingStatus = status;
+        if (status.isTraining()) {
+            info("...Training the class data sharing: " + status);
+        } else if (status.isUsingArchive()) {
+            info("...Using the class data sharing archive: " + status);
+        } else if (archive.exists()) {
+            info("*The class data sharing archive is not used, launch the JVM with: " + archive.buildBootJvmOptionList());
+        } else {
+            final List<String> optionList = archive.buildTrainingJvmOptionList();
+            if (!optionList.isEmpty()) {
+                info("*Not found the class data sharing archive, train by trainClassDataSharing() with: " + optionList);
+            } else {
+                info("*Application class data sharing needs Java10 or later: " + status);
+            }
+        }
+    }
+
+    protected ClassDataSharingArchive createClassDataSharingArchive() {
+        return new ClassDataSharingArchive(new File(classDataSharingArchivePath), classDataSharingOption);
+    }
+
+    protected void prepareServer() {
+        final WebAppContext context = prepareWebAppContext();
+        webAppContext = context;
+        if (!additionalWebAppList.isEmpty()) {
+            additionalWebAppContextList = measureBootPhaseAsResult("prepareAdditionalWebApps", () -> {
+                return additionalWebAppList.stream().map(option -> prepareAdditionalWebAppContext(option)).collect(Collectors.toList());
+            });
+        }
+        server = createServer();
+        if (accessLogOption != null) {
+            accessLog = createAccessLog(accessLogFilePath, accessLogOption);
+            server.setRequestLog(accessLog); // managed by server, drained at stop
+        }
+        server.addConnector(createServerConnector(server));
+        if (tlsOption != null) {
+            server.addConnector(createTlsServerConnector(server, tlsOption));
+        }
+        for (NamedConnectorOption option : namedConnectorList) {
+            server.addConnector(createNamedServerConnector(server, option));
+            bindContextToConnector(option);
+        }
+        if (warmupOption != null) {
+            warmupConnector = createWarmupConnector(server);
+            server.addConnector(warmupConnector);
+        }
+        server.setHandler(prepareServerHandler(context));
+        if (readinessGateHandler != null && warmupOption != null) {
+            readinessGateHandler.setWarmupCall(() -> warmup());
+        }
+    }
+
+    protected Server createServer() {
+        final Server server = new Server(prepareThreadPool()); // jetty default pool if null
+        if (bufferPoolOption != null) { // connectors find the pool from server beans
+            byteBufferPool = createByteBufferPool(bufferPoolOption);
+            server.addBean(byteBufferPool);
+        }
+        if (gracefulShutdownOption != null) { // waits for graceful handlers and connectors at stop
+            server.setStopTimeout(gracefulShutdownOption.getDrainTimeoutMillis());
+        }
+        return server;
+    }
+
+    protected AsyncRequestLog createAccessLog(String logFilePath, AccessLogOption option) {
+        info("...Preparing the access log: " + logFilePath + ", " + option);
+        return new AsyncRequestLog(logFilePath, option, msg -> info(msg));
+    }
+
+    protected StatisticsByteBufferPool createByteBufferPool(BufferPoolOption option) {
+        info("...Preparing the buffer pool: " + option);
+        return new StatisticsByteBufferPool(option);
+    }
+
+    protected ServerConnector createServerConnector(Server server) {
+        final ServerConnector connector = newServerConnector(server);
+        final String serverHost = getServerHost();
+        if (serverHost != null) {
+            connector.setHost(serverHost);
+        } // null means network connector binds to all network interfaces (all requests are accepted)
+        connector.setPort(port);
+        if (connectorOption != null) {
+            setupConnectorOption(connector, connectorOption);
+        }
+        return connector;
+    }
+
+    protected ServerConnector newServerConnector(Server server) {
+        final Integer acceptors = connectorOption != null ? connectorOption.getAcceptors() : null;
+        final Integer selectors = connectorOption != null ? connectorOption.getSelectors() : null;
+        final ConnectionFactory[] factories = prepareConnectionFactories();
+        return new TunableServerConnector(server, acceptors != null ? acceptors : -1, selectors != null ? selectors : -1, factories);
+    }
+
+    // -----------------------------------------------------
+    //                                         TLS Connector
+    //                                         -------------
+    protected ServerConnector createTlsServerConnector(Server server, TlsOption option) {
+        info("...Preparing the TLS connector: port=" + tlsPort + ", " + option);
+        final SslContextFactory.Server sslContextFactory = createSslContextFactory(option);
+        final HttpConfiguration httpsConfig = new HttpConfiguration(createHttpConfiguration());
+        httpsConfig.setSecurePort(tlsPort);
+        httpsConfig.addCustomizer(new SecureRequestCustomizer()); // for isSecure(), scheme and certificates
+        final List<ConnectionFactory> factoryList = new ArrayList<ConnectionFactory>();
+        final HttpConnectionFactory http1Factory = new HttpConnectionFactory(httpsConfig);
+        if (http2Option != null && AlpnSupport.isAvailable()) { // h2 by ALPN, HTTP/1.1 if not negotiated
+            info("...Preparing the HTTP/2 over TLS: " + http2Option);
+            final HTTP2ServerConnectionFactory http2Factory = new HTTP2ServerConnectionFactory(httpsConfig);
+            setupHttp2Option(http2Factory, http2Option);
+            final ConnectionFactory alpnFactory = AlpnSupport.createConnectionFactory(http2Factory.getProtocol(), http1Factory.getProtocol());
+            sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR); // h2 needs strong ciphers first
+            sslContextFactory.setUseCipherSuitesOrder(true);
+            factoryList.add(new SslConnectionFactory(sslContextFactory, alpnFactory.getProtocol()));
+            factoryList.add(alpnFactory);
+            factoryList.add(http2Factory);
+        } else {
+            if (http2Option != null) {
+                info("*Not found the ALPN server (jetty-alpn-server and its processor for the JVM) so HTTP/1.1 only over TLS");
+            }
+            factoryList.add(new SslConnectionFactory(sslContextFactory, http1Factory.getProtocol()));
+        }
+        factoryList.add(http1Factory);
+        final Integer acceptors = connectorOption != null ? connectorOption.getAcceptors() : null;
+        final Integer selectors = connectorOption != null ? connectorOption.getSelectors() : null;
+        final TunableServerConnector connector = new TunableServerConnector(server, null, acceptors != null ? acceptors : -1,
+                selectors != null ? selectors : -1, factoryList.toArray(new ConnectionFactory[factoryList.size()]));
+        final String serverHost = getServerHost();
+        if (serverHost != null) {
+            connector.setHost(serverHost);
+        }
+        connector.setPort(tlsPort);
+        if (connectorOption != null) {
+            setupConnectorOption(connector, connectorOption);
+        }
+        if (option.getReloadIntervalSeconds() != null) {
+            server.addBean(createCertificateReloader(sslContextFactory, option)); // started with server
+        }
+        return connector;
+    }
+
+    protected SslContextFactory.Server createSslContextFactory(TlsOption option) {
+        if (option.isUseOcspStapling()) {
+            checkOcspStapling();
+        }
+        final SslContextFactory.Server factory = new SslContextFactory.Server();
+        setupSslKeySource(factory, option);
+        if (!option.getIncludedProtocolList().isEmpty()) {
+            factory.setIncludeProtocols(toStringArray(option.getIncludedProtocolList()));
+        }
+        if (!option.getIncludedCipherSuiteList().isEmpty()) {
+            factory.setIncludeCipherSuites(toStringArray(option.getIncludedCipherSuiteList()));
+        }
+        if (option.getSessionCacheSize() != null) { // for session resumption (abbreviated handshake)
+            factory.setSslSessionCacheSize(option.getSessionCacheSize());
+        }
+        if (option.getSessionTimeoutSeconds() != null) {
+            factory.setSslSessionTimeout(option.getSessionTimeoutSeconds());
+        }
+        return factory;
+    }
+
+    protected void checkOcspStapling() { // only logging, JVM-wide property read when first SSL context is created
+        final String propertyName = "jdk.tls.server.enableStatusRequestExtension";
+        if (!Boolean.getBoolean(propertyName)) {
+            info("*OCSP stapling is disabled, launch the JVM with the option: -D" + propertyName + "=true");
+        }
+    }
+
+    protected void setupSslKeySource(SslContextFactory factory, TlsOption option) { // also called at reload
+        if (option.getKeyStorePath() != null) {
+            factory.setKeyStorePath(option.getKeyStorePath());
+            factory.setKeyStoreType(option.getKeyStoreType());
+            factory.setKeyStorePassword(option.getKeyStorePassword());
+            if (option.getKeyManagerPassword() != null) {
+                factory.setKeyManagerPassword(option.getKeyManagerPassword());
+            }
+        } else {
+            final String password = getPemKeyStorePassword(); // in-memory only
+            final PemKeyStoreLoader loader = new PemKeyStoreLoader(option.getPemCertificatePath(), option.getPemPrivateKeyPath());
+            factory.setKeyStore(loader.load(password));
+            factory.setKeyStorePassword(password);
+        }
+    }
+
+    protected String getPemKeyStorePassword() {
+        return "jettyboot";
+    }
+
+    protected CertificateReloader createCertificateReloader(SslContextFactory factory, TlsOption option) {
+        final List<File> watchedFileList = new ArrayList<File>();
+        if (option.getKeyStorePath() != null) {
+            watchedFileList.add(new File(option.getKeyStorePath()));
+        } else {
+            watchedFileList.add(new File(option.getPemCertificatePath()));
+            watchedFileList.add(new File(option.getPemPrivateKeyPath()));
+        }
+        final int interval = option.getReloadIntervalSeconds();
+        return new CertificateReloader(factory, watchedFileList, interval, reloaded -> {
+            setupSslKeySource(reloaded, option);
+        }, msg -> info(msg));
+    }
+
+    // -----------------------------------------------------
+    //                                       Named Connector
+    //                                       ---------------
+    protected ServerConnector createNamedServerConnector(Server server, NamedConnectorOption option) {
+        final QueuedThreadPool executor = option.getMaxThreads() != null ? createNamedConnectorThreadPool(option) : null;
+        final Integer acceptors = option.getAcceptors();
+        final Integer selectors = option.getSelectors();
+        final TunableServerConnector connector = new TunableServerConnector(server, executor, acceptors != null ? acceptors : -1,
+                selectors != null ? selectors : -1, prepareConnectionFactories());
+        connector.setName(option.getName());
+        if (option.getHost() != null) {
+            connector.setHost(option.getHost());
+        }
+        connector.setPort(option.getPort());
+        setupConnectorOption(connector, option);
+        return connector;
+    }
+
+    protected QueuedThreadPool createNamedConnectorThreadPool(NamedConnectorOption option) { // managed by connector
+        final QueuedThreadPool pool = new QueuedThreadPool(option.getMaxThreads(), Math.min(2, option.getMaxThreads()));
+        pool.setName(option.getName() + "-qtp" + option.getPort());
+        return pool;
+    }
+
+    protected LocalConnector createWarmupConnector(Server server) { // in-process only, same configuration as main
+        return new WarmupConnector(server, new HttpConnectionFactory(createHttpConfiguration()));
+    }
+
+    protected void bindContextToConnector(NamedConnectorOption option) {
+        for (String boundPath : option.getBoundContextPathList()) {
+            final String normalizedPath = normalizeContextPath(boundPath);
+            final List<WebAppContext> allContextList = new ArrayList<WebAppContext>();
+            allContextList.add(webAppContext);
+            allContextList.addAll(additionalWebAppContextList);
+            final WebAppContext bound = allContextList.stream().filter(context -> {
+                return normalizeContextPath(context.getContextPath()).equals(normalizedPath);
+            }).findFirst().orElseThrow(() -> {
+                return new IllegalStateException("Not found the web application bound to the connector: " + boundPath + ", " + option);
+            });
+            bound.addVirtualHosts(new String[] { "@" + option.getName() }); // served only by the connector
+        }
+    }
+
+    protected ConnectionFactory[] prepareConnectionFactories() {
+        final HttpConfiguration httpConfig = createHttpConfiguration();
+        final List<ConnectionFactory> factoryList = new ArrayList<ConnectionFactory>();
+        factoryList.add(new HttpConnectionFactory(httpConfig)); // first is default protocol
+        if (http2Option != null) {
+            info("...Preparing the HTTP/2 cleartext: " + http2Option);
+            factoryList.add(createHttp2cConnectionFactory(httpConfig, http2Option));
+        }
+        return factoryList.toArray(new ConnectionFactory[factoryList.size()]);
+    }
+
+    protected HttpConfiguration createHttpConfiguration() {
+        final HttpConfiguration httpConfig = new HttpConfiguration();
+        if (httpConfigOption != null) {
+            setupHttpConfigOption(httpConfig, httpConfigOption);
+        }
+        return httpConfig;
+    }
+
+    protected void setupHttpConfigOption(HttpConfiguration httpConfig, HttpConfigOption option) {
+        if (option.getOutputBufferSize() != null) {
+            httpConfig.setOutputBufferSize(option.getOutputBufferSize());
+        }
+        if (option.getOutputAggregationSize() != null) {
+            httpConfig.setOutputAggregationSize(option.getOutputAggregationSize());
+        }
+        if (option.getRequestHeaderSize() != null) {
+            httpConfig.setRequestHeaderSize(option.getRequestHeaderSize());
+        }
+        if (option.getResponseHeaderSize() != null) {
+            httpConfig.setResponseHeaderSize(option.getResponseHeaderSize());
+        }
+        if (option.getHeaderCacheSize() != null) {
+            httpConfig.setHeaderCacheSize(option.getHeaderCacheSize());
+        }
+        if (option.isSuppressDateHeader()) {
+            httpConfig.setSendDateHeader(false);
+        }
+        if (option.isSuppressServerVersion()) {
+            httpConfig.setSendServerVersion(false);
+        }
+    }
+
+    protected ConnectionFactory createHttp2cConnectionFactory(HttpConfiguration httpConfig, Http2Option option) {
+        final HTTP2CServerConnectionFactory factory = new HTTP2CServerConnectionFactory(httpConfig);
+        setupHttp2Option(factory, option);
+        return factory;
+    }
+
+    protected void setupHttp2Option(AbstractHTTP2ServerConnectionFactory factory, Http2Option option) {
+        if (option.getMaxConcurrentStreams() != null) {
+            factory.setMaxConcurrentStreams(option.getMaxConcurrentStreams());
+        }
+        if (option.getInitialStreamRecvWindow() != null) {
+            factory.setInitialStreamRecvWindow(option.getInitialStreamRecvWindow());
+        }
+        if (option.getInitialSessionRecvWindow() != null) {
+            factory.setInitialSessionRecvWindow(option.getInitialSessionRecvWindow());
+        }
+    }
+
+    @SuppressWarnings("deprecation") // SO_LINGER is deprecated at jetty but still requested for tuning
+    protected void setupConnectorOption(ServerConnector connector, ConnectorOption option) {
+        info("...Preparing the connector: " + option);
+        if (option.getAcceptQueueSize() != null) {
+            connector.setAcceptQueueSize(option.getAcceptQueueSize());
+        }
+        if (option.getIdleTimeoutMillis() != null) {
+            connector.setIdleTimeout(option.getIdleTimeoutMillis());
+        }
+        if (option.getReuseAddress() != null) {
+            connector.setReuseAddress(option.getReuseAddress());
+        }
+        if (option.getSoLingerTime() != null) {
+            connector.setSoLingerTime(option.getSoLingerTime());
+        }
+        if (option.isReusePort() && connector instanceof TunableServerConnector) {
+            ((TunableServerConnector) connector).setReusePort(true);
+        }
+    }
+
+    protected String getServerHost() { // may be overridden
+        return null; // as default, all acceptable
+    }
+
+    // -----------------------------------------------------
+    //                                        Server Handler
+    //                                        --------------
+    protected Handler prepareServerHandler(WebAppContext context) {
+        Handler handler;
+        if (additionalWebAppContextList.isEmpty()) {
+            handler = prepareContextHandler(context);
+        } else { // routed by longest matching context path
+            final ContextHandlerCollection collection = new ContextHandlerCollection();
+            collection.addHandler(prepareContextHandler(context));
+            for (WebAppContext additionalContext : additionalWebAppContextList) {
+                collection.addHandler(prepareContextHandler(additionalContext));
+            }
+            handler = collection;
+        }
+        if (admissionOption != null) { // before routing to contexts, limits are by whole path
+            handler = wrapAdmissionControlHandler(handler, admissionOption);
+        }
+        if (readinessOption != null) { // outside applications to answer while they are starting
+            handler = wrapReadinessGateHandler(handler, readinessOption);
+        }
+        if (gracefulShutdownOption != null) { // outer-most to reject requests first while draining
+            handler = wrapGracefulShutdownHandler(handler, gracefulShutdownOption);
+        }
+        return handler;
+    }
+
+    protected Handler prepareContextHandler(WebAppContext context) { // context is inner-most
+        if (readinessOption != null && readinessOption.isLazyServletInit()) {
+            context.addEventListener(new LazyServletInitListener(context));
+        }
+        Handler handler = context;
+        if (useRequestMetrics) { // inner-most to measure the context only
+            handler = wrapRequestMetricsHandler(context, handler);
+        }
+        if (staticResourceOption != null) { // not handler, applied in context
+            setupStaticResource(context, staticResourceOption);
+        }
+        if (compressionOption != null) {
+            handler = wrapCompressionHandler(context, handler, compressionOption);
+        }
+        return handler;
+    }
+
+    protected Handler wrapRequestMetricsHandler(WebAppContext context, Handler handler) {
+        info("...Preparing the request metrics: contextPath=" + context.getContextPath());
+        if (requestMetrics == null) {
+            requestMetrics = new RequestMetrics();
+            requestMetrics.observeThreadPool(server.getThreadPool());
+        }
+        final RequestMetricsHandler metricsHandler = new RequestMetricsHandler(requestMetrics.findOrRegister(context.getContextPath()));
+        metricsHandler.setHandler(handler);
+        return metricsHandler;
+    }
+
+    protected void setupStaticResource(WebAppContext context, StaticResourceOption option) {
+        info("...Preparing the static resource: " + option);
+        final String prefix = "org.eclipse.jetty.servlet.Default.";
+        context.setInitParameter(prefix + "maxCacheSize", String.valueOf(option.getMaxCacheSize()));
+        context.setInitParameter(prefix + "maxCachedFileSize", String.valueOf(option.getMaxCachedFileSize()));
+        context.setInitParameter(prefix + "maxCachedFiles", String.valueOf(option.getMaxCachedFiles()));
+        context.setInitParameter(prefix + "useFileMappedBuffer", String.valueOf(!option.isSuppressFileMappedBuffer()));
+        context.setInitParameter(prefix + "etags", String.valueOf(!option.isSuppressEtags()));
+        if (option.getCacheControl() != null) {
+            context.setInitParameter(prefix + "cacheControl", option.getCacheControl());
+        }
+        if (option.getFingerprintPattern() != null) {
+            final FingerprintCacheControlFilter filter = new FingerprintCacheControlFilter(option.getFingerprintPattern(),
+                    option.getFingerprintCacheControl(), option.getCacheControl());
+            final FilterHolder holder = new FilterHolder(filter);
+            holder.setName("jettyboot-fingerprint-cache-control");
+            final FilterMapping mapping = new FilterMapping(); // default servlet only, not application servlets
+            mapping.setFilterName(holder.getName());
+            mapping.setServletName(DEFAULT_SERVLET_NAME);
+            mapping.setDispatcherTypes(EnumSet.of(DispatcherType.REQUEST));
+            context.getServletHandler().addFilter(holder, mapping);
+        }
+    }
+
+    protected Handler wrapCompressionHandler(WebAppContext context, Handler handler, CompressionOption option) {
+        info("...Preparing the compression: " + option);
+        if (!option.isSuppressPrecompressed()) { // for static files of default servlet
+            context.setInitParameter("org.eclipse.jetty.servlet.Default.precompressed", "br=.br,gzip=.gz");
+        }
+        final GzipHandler gzipHandler = new GzipHandler();
+        if (option.getMinCompressSize() != null) {
+            gzipHandler.setMinGzipSize(option.getMinCompressSize());
+        }
+        if (!option.getIncludedMimeTypeList().isEmpty()) {
+            gzipHandler.setIncludedMimeTypes(toStringArray(option.getIncludedMimeTypeList()));
+        }
+        if (!option.getIncludedPathList().isEmpty()) {
+            gzipHandler.setIncludedPaths(toStringArray(option.getIncludedPathList()));
+        }
+        if (!option.getExcludedPathList().isEmpty()) {
+            gzipHandler.addExcludedPaths(toStringArray(option.getExcludedPathList()));
+        }
+        if (!option.getExcludedAgentPatternList().isEmpty()) {
+            gzipHandler.addExcludedAgentPatterns(toStringArray(option.getExcludedAgentPatternList()));
+        }
+        if (option.getDeflaterPoolCapacity() != null) {
+            gzipHandler.setDeflaterPoolCapacity(option.getDeflaterPoolCapacity());
+        }
+        if (option.getCompressionLevel() != null) {
+            gzipHandler.setCompressionLevel(option.getCompressionLevel());
+        }
+        gzipHandler.setHandler(handler);
+        return gzipHandler;
+    }
+
+    protected Handler wrapAdmissionControlHandler(Handler handler, AdmissionOption option) {
+        info("...Preparing the admission control: " + option);
+        admissionControlHandler = new AdmissionControlHandler(option);
+        admissionControlHandler.setHandler(handler);
+        return admissionControlHandler;
+    }
+
+    protected Handler wrapReadinessGateHandler(Handler handler, ReadinessOption option) {
+        info("...Preparing the readiness gate: " + option);
+        readinessGateHandler = new ReadinessGateHandler(option.getReadinessPath(), option.getRetryAfterSeconds());
+        readinessGateHandler.setLogger(msg -> info(msg));
+        readinessGateHandler.setHandler(handler);
+        return readinessGateHandler;
+    }
+
+    protected Handler wrapGracefulShutdownHandler(Handler handler, GracefulShutdownOption option) {
+        info("...Preparing the graceful shutdown: " + option);
+        gracefulShutdownHandler = new GracefulShutdownHandler(option.getDrainTimeoutMillis());
+        gracefulShutdownHandler.setHandler(handler);
+        return gracefulShutdownHandler;
+    }
+
+    protected String[] toStringArray(List<String> list) {
+        return list.toArray(new String[list.size()]);
+    }
+
     // -----------------------------------------------------
-    //                                                  Go
-    //                                                ------
-    public JettyBoot go() { // public as parts, no wait
-        info("...Booting the Jetty: port=" + port + " contextPath=" + contextPath);
-        if (development) {
-            registerShutdownHook();
+    //                                           Thread Pool
+    //                                           -----------
+    protected ThreadPool prepareThreadPool() { // null allowed: jetty default
+        if (threadPoolOption == null) {
+            return null;
         }
-        prepareServer();
-        final URI uri = startServer();
-        loggingBootSuccessful(uri);
-        browseOnDesktopIfNeeds(uri);
-        return this;
+        info("...Preparing the thread pool: " + threadPoolOption);
+        if (threadPoolOption.isUseVirtualThreads()) {
+            if (VirtualThreadPool.isSupported()) {
+                return createVirtualThreadPool(threadPoolOption);
+            }
+            info("*Virtual threads are unsupported so use platform thread pool: java.version=" + System.getProperty("java.version"));
+        }
+        return createQueuedThreadPool(threadPoolOption);
     }
 
-    protected void prepareServer() {
-        final WebAppContext context = prepareWebAppContext();
-        final String serverHost = getServerHost();
-        if (serverHost != null) {
-            server = new Server(new InetSocketAddress(serverHost, port));
-        } else { // means network connector binds to all network interfaces.
-            server = new Server(port); // all requests are accepted regardless server host
+    protected ThreadPool createVirtualThreadPool(ThreadPoolOption option) {
+        return new VirtualThreadPool(deriveThreadNamePrefix(option, "vtp"));
+    }
+
+    protected ThreadPool createQueuedThreadPool(ThreadPoolOption option) {
+        final QueuedThreadPool defaultPool = new QueuedThreadPool(); // for default values
+        final int maxThreads = option.getMaxThreads() != null ? option.getMaxThreads() : defaultPool.getMaxThreads();
+        final int minThreads = Math.min(option.getMinThreads() != null ? option.getMinThreads() : defaultPool.getMinThreads(), maxThreads);
+        final int idleTimeout = option.getIdleTimeoutMillis() != null ? option.getIdleTimeoutMillis() : defaultPool.getIdleTimeout();
+        final int reservedThreads = option.getReservedThreads() != null ? option.getReservedThreads() : defaultPool.getReservedThreads();
+        final Integer queueCapacity = option.getQueueCapacity();
+        final BlockingArrayQueue<Runnable> queue;
+        if (queueCapacity != null) {
+            final int initialCapacity = Math.min(Math.max(minThreads, 8), queueCapacity);
+            queue = new BlockingArrayQueue<Runnable>(initialCapacity, initialCapacity, queueCapacity);
+        } else { // same as jetty default
+            final int initialCapacity = Math.max(minThreads, 8);
+            queue = new BlockingArrayQueue<Runnable>(initialCapacity, initialCapacity);
         }
-        server.setHandler(context);
+        final QueuedThreadPool pool = new QueuedThreadPool(maxThreads, minThreads, idleTimeout, reservedThreads, queue, null);
+        pool.setName(deriveThreadNamePrefix(option, "qtp"));
+        return pool;
     }
 
-    protected String getServerHost() { // may be overridden
-        return null; // as default, all acceptable
+    protected String deriveThreadNamePrefix(ThreadPoolOption option, String defaultPrefix) {
+        final String prefix = option.getThreadNamePrefix();
+        return prefix != null ? prefix : defaultPrefix + port;
     }
 
     protected URI startServer() {
@@ -266,6 +1458,38 @@ public class JettyBoot {
         return server.getURI();
     }
 
+    // -----------------------------------------------------
+    //                                               Warm-up
+    //                                               -------
+    protected void warmup() { // after applications are started
+        info("...Warming up the web application: " + warmupOption);
+        try {
+            warmupReport = createWarmupRunner(warmupOption, warmupConnector).run();
+            info("Warm-up completed: " + warmupReport);
+        } finally {
+            closeWarmupConnector();
+        }
+    }
+
+    protected WarmupRunner createWarmupRunner(WarmupOption option, LocalConnector connector) {
+        return new WarmupRunner(option, connector);
+    }
+
+    protected void closeWarmupConnector() { // not needed after warm-up
+        final LocalConnector connector = warmupConnector;
+        if (connector == null) {
+            return;
+        }
+        try {
+            connector.stop();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to stop the warm-up connector: " + connector, e);
+        } finally {
+            server.removeConnector(connector);
+            warmupConnector = null;
+        }
+    }
+
     protected void loggingBootSuccessful(URI uri) {
         info(buildBootSuccessfulLogMessage(uri));
     }
@@ -282,29 +1506,188 @@ public class JettyBoot {
     }
 
     protected String doBuildBootSuccessfulLogMessage(String uri) {
-        return "Boot successful" + (development ? " as development" : "") + ": url -> " + uri;
+        final String initializing = readinessGateHandler != null ? " (initializing in background)" : "";
+        return "Boot successful" + (development ? " as development" : "") + initializing + ": url -> " + uri;
+    }
+
+    // -----------------------------------------------------
+    //                                         Boot Profiler
+    //                                         -------------
+    protected void measureBootPhase(String phaseName, Runnable phaseCall) {
+        measureBootPhaseAsResult(phaseName, () -> {
+            phaseCall.run();
+            return null;
+        });
+    }
+
+    protected <RESULT> RESULT measureBootPhaseAsResult(String phaseName, Supplier<RESULT> phaseCall) {
+        if (bootTimeline == null) {
+            return phaseCall.get();
+        }
+        final BootPhase phase = bootTimeline.beginPhase(phaseName);
+        try {
+            return phaseCall.get();
+        } finally {
+            bootTimeline.finishPhase(phase);
+        }
     }
 
+    protected void loggingBootTimelineIfNeeds() {
+        if (bootTimeline == null) {
+            return;
+        }
+        if (webAppContext != null) { // jars registered by meta-inf configuration
+            final MetaData metaData = webAppContext.getMetaData();
+            bootTimeline.setMetaInfScannedJarCount(metaData.getContainerResources().size() + metaData.getWebInfJars().size());
+        }
+        bootTimeline.finish();
+        info(bootTimeline.toDisplayString());
+    }
+
+    // -----------------------------------------------------
+    //                                        WebApp Context
+    //                                        --------------
     protected WebAppContext prepareWebAppContext() {
-        final URL warLocation = getWarLocation();
+        final URL warLocation = measureBootPhaseAsResult("getWarLocation", () -> getWarLocation());
         final String path;
         try {
             path = warLocation.toURI().getPath();
         } catch (URISyntaxException e) {
             throw new IllegalStateException("Failed to get the war URI: " + warLocation, e);
         }
-        final WebAppContext context = new WebAppContext();
+        final String war; // null allowed: resource base
+        final String resourceBase; // null allowed: war
         if (path != null && isWarableFile(path)) {
-            context.setWar(warLocation.toExternalForm());
+            if (warExtractionOption != null) { // directory war is used as it is by jetty
+                war = measureBootPhaseAsResult("extractWar", () -> extractWar(path)).toURI().toASCIIString();
+            } else {
+                war = warLocation.toExternalForm();
+            }
+            resourceBase = null;
+        } else {
+            war = null;
+            resourceBase = getResourceBase();
+        }
+        prepareQuickstartIfNeeds(warLocation, war != null ? war : resourceBase);
+        final WebAppContext context = newWebAppContext();
+        if (war != null) {
+            context.setWar(war);
         } else {
-            context.setResourceBase(getResourceBase());
+            context.setResourceBase(resourceBase);
         }
-        context.setConfigurations(prepareConfigurations());
+        context.setConfigurations(measureBootPhaseAsResult("prepareConfigurations", () -> prepareConfigurations()));
         context.setContextPath(contextPath);
-        setupClasspathJarResourceIfNeeds(context); // basically for local development (and e.g. swagger) 
+        if (sessionStoreOption != null) {
+            sessionCache = createSessionCache(context.getSessionHandler(), sessionStoreOption);
+            context.getSessionHandler().setSessionCache(sessionCache);
+        }
+        if (!quickstartLoading) { // quickstart descriptor already knows resources in jars
+            measureBootPhase("setupClasspathJarResourceIfNeeds", () -> {
+                setupClasspathJarResourceIfNeeds(context); // basically for local development (and e.g. swagger) 
+            });
+        }
+        return context;
+    }
+
+    protected BoundedSessionCache createSessionCache(SessionHandler sessionHandler, SessionStoreOption option) {
+        info("...Preparing the session store: " + option);
+        final Integer maxResident = option.getMaxResidentSessions();
+        final BoundedSessionCache cache = new BoundedSessionCache(sessionHandler, maxResident != null ? maxResident : 0);
+        final Integer idleSeconds = option.getIdleEvictionSeconds();
+        cache.setEvictionPolicy(idleSeconds != null ? idleSeconds : SessionCache.NEVER_EVICT);
+        cache.setSaveOnInactiveEviction(true); // passivated instead of lost
+        cache.setRemoveUnloadableSessions(true); // e.g. class changed after redeploy
+        cache.setSessionDataStore(createSessionDataStore(option));
+        return cache;
+    }
+
+    protected SessionDataStore createSessionDataStore(SessionStoreOption option) {
+        if (option.getFileStoreDirPath() != null) {
+            final FileSessionDataStore store = new FileSessionDataStore();
+            store.setStoreDir(new File(option.getFileStoreDirPath()));
+            store.setDeleteUnrestorableFiles(true);
+            return store;
+        }
+        return new OffHeapSessionDataStore(option.getOffHeapMaxBytes());
+    }
+
+    protected WebAppContext prepareAdditionalWebAppContext(WebAppOption option) {
+        info("...Preparing the additional web application: " + option);
+        final WebAppContext context = new WebAppContext();
+        if (option.getWarPath() != null) {
+            context.setWar(option.getWarPath());
+        } else {
+            context.setResourceBase(option.getResourceBase());
+        }
+        context.setConfigurations(prepareAdditionalConfigurations());
+        context.setContextPath(option.getContextPath());
         return context;
     }
 
+    protected WebAppContext newWebAppContext() {
+        if (quickstartDescriptor != null && !quickstartLoading) {
+            return new QuickstartGeneratingWebAppContext(quickstartDescriptor);
+        }
+        return new WebAppContext();
+    }
+
+    // -----------------------------------------------------
+    //                                            Quickstart
+    //                                            ----------
+    protected void prepareQuickstartIfNeeds(URL warLocation, String webappLocation) {
+        if (quickstartDescriptorPath == null) {
+            return;
+        }
+        final File webappDir = findUnpackedWebappDir(webappLocation);
+        if (webappDir == null) { // jetty loads quickstart only from directory
+            String msg = "The quickstart needs the unpacked web application,";
+            msg = msg + " use useWarExtractionCache() for war or useEmbeddedWebrootExtraction() for embedded webroot: " + webappLocation;
+            throw new IllegalStateException(msg);
+        }
+        final String fingerprint = measureBootPhaseAsResult("deriveQuickstartFingerprint", () -> {
+            return deriveQuickstartFingerprint(warLocation, webappDir);
+        });
+        quickstartDescriptor = new QuickstartDescriptor(new File(quickstartDescriptorPath), fingerprint);
+        quickstartLoading = !quickstartForcedGeneration && quickstartDescriptor.isAvailable();
+        if (quickstartLoading) {
+            info("...Loading the quickstart descriptor instead of scanning: " + quickstartDescriptorPath);
+        } else {
+            info("...Generating the quickstart descriptor by scanning: " + quickstartDescriptorPath);
+        }
+    }
+
+    protected File findUnpackedWebappDir(String webappLocation) { // null allowed: packed e.g. war file, jar: URI
+        if (webappLocation.startsWith("jar:")) {
+            return null;
+        }
+        try {
+            final File file = Resource.newResource(webappLocation).getFile(); // URI or path
+            return file != null && file.isDirectory() ? file : null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to resolve the web application location: " + webappLocation, e);
+        }
+    }
+
+    protected String deriveQuickstartFingerprint(URL warLocation, File webappDir) { // changed application should be scanned again
+        final QuickstartFingerprint fingerprint = new QuickstartFingerprint();
+        fingerprint.option("war", warLocation.toExternalForm()).option("webapp", webappDir.getPath());
+        fingerprint.option("contextPath", contextPath).option("annotation", useAnnotationDetect);
+        fingerprint.option("fragments", useWebFragmentsDetect).option("metaInf", useMetaInfoResourceDetect);
+        fingerprint.option("tld", useTldDetect).option("embedded", useEmbeddedWebroot);
+        fingerprint.contents(new File(webappDir, "WEB-INF/web.xml"));
+        fingerprint.contents(new File(webappDir, "WEB-INF/classes"));
+        fingerprint.contents(new File(webappDir, "WEB-INF/lib"));
+        if ("file".equals(warLocation.getProtocol())) { // e.g. war file, or target/classes in development
+            fingerprint.contents(new File(BoJtResourceUtil.decodeURL(warLocation.getPath(), "UTF-8")));
+        }
+        for (String classpath : System.getProperty("java.class.path", "").split(File.pathSeparator)) { // e.g. classes in development
+            if (!classpath.isEmpty()) {
+                fingerprint.contents(new File(classpath));
+            }
+        }
+        return fingerprint.build();
+    }
+
     // -----------------------------------------------------
     //                                          War Handling
     //                                          ------------
@@ -336,6 +1719,14 @@ public class JettyBoot {
         return !pureName.startsWith("jetty-boot") && pureName.endsWith(".jar");
     }
 
+    protected File extractWar(String warFilePath) {
+        final WarExtractor extractor = new WarExtractor(new File(warExtractionDirPath), warExtractionOption, msg -> info(msg));
+        final long before = System.currentTimeMillis();
+        final File warDir = extractor.extractWar(warFilePath);
+        info("...Using the extracted war: " + warDir + " (" + (System.currentTimeMillis() - before) + "ms)");
+        return warDir;
+    }
+
     // -----------------------------------------------------
     //                                         Resource Base
     //                                         -------------
@@ -346,23 +1737,38 @@ public class JettyBoot {
             if (webroot == null) {
                 throw new IllegalStateException("Not found the webroot resource: path=" + path);
             }
+            if (webrootExtractionDirPath != null && "jar".equals(webroot.getProtocol())) { // file protocol is already local
+                return measureBootPhaseAsResult("extractWebroot", () -> extractWebroot(webroot)).toURI().toASCIIString();
+            }
             try {
                 return webroot.toURI().toASCIIString();
             } catch (URISyntaxException e) {
                 throw new IllegalStateException("Illegal URL: " + webroot, e);
             }
         } else { // default is here
-            return deriveWebappDir().getPath();
+            return measureBootPhaseAsResult("deriveWebappDir", () -> deriveWebappDir()).getPath();
         }
     }
 
+    protected File extractWebroot(URL webroot) { // e.g. jar:file:/.../maihama-dockside.jar!/webroot/
+        final String jarFilePath = BoJtResourceUtil.toJarFilePath(webroot);
+        final String urlPath = webroot.getPath();
+        final String entryPrefix = urlPath.substring(urlPath.lastIndexOf("!/") + "!/".length()); // e.g. webroot/
+        final WebrootExtractor extractor = new WebrootExtractor(new File(webrootExtractionDirPath));
+        final File webrootDir = extractor.extract(jarFilePath, entryPrefix);
+        info("...Serving the extracted webroot: " + webrootDir);
+        return webrootDir;
+    }
+
     protected File deriveWebappDir() {
         final String webappRelativePath = getBasicWebappRelativePath();
         final File webappDir = new File(webappRelativePath);
         if (webappDir.exists()) { // from current directory
             return webappDir;
         }
-        final File projectWebappDir = findProjectWebappDir(webappRelativePath); // from build path
+        final File projectWebappDir = measureBootPhaseAsResult("findProjectWebappDir", () -> {
+            return findProjectWebappDir(webappRelativePath); // from build path
+        });
         if (projectWebappDir != null) {
             return projectWebappDir;
         }
@@ -438,10 +1844,33 @@ public class JettyBoot {
     protected Configuration[] prepareConfigurations() {
         final List<Configuration> configList = new ArrayList<Configuration>();
         setupConfigList(configList);
+        return toConfigurationArray(configList);
+    }
+
+    protected Configuration[] toConfigurationArray(List<Configuration> configList) {
+        if (bootTimeline != null) {
+            configList.replaceAll(config -> new ProfiledConfiguration(config, bootTimeline));
+        }
         return configList.toArray(new Configuration[configList.size()]);
     }
 
     protected void setupConfigList(List<Configuration> configList) {
+        if (quickstartLoading) { // no scanning, same as quickstart web-app of jetty (without plus)
+            configList.add(createQuickstartLoadingConfiguration());
+            configList.add(createEnvConfiguration());
+            configList.add(createJettyWebXmlConfiguration());
+            return;
+        }
+        setupScanningConfigList(configList);
+    }
+
+    protected Configuration[] prepareAdditionalConfigurations() { // without quickstart of main application
+        final List<Configuration> configList = new ArrayList<Configuration>();
+        setupScanningConfigList(configList);
+        return toConfigurationArray(configList);
+    }
+
+    protected void setupScanningConfigList(List<Configuration> configList) {
         configList.add(createWebInfConfiguration());
         configList.add(createWebXmlConfiguration());
         if (isValidMetaInfConfiguration()) {
@@ -461,6 +1890,10 @@ public class JettyBoot {
         return new WebInfConfiguration();
     }
 
+    protected QuickstartLoadingConfiguration createQuickstartLoadingConfiguration() {
+        return new QuickstartLoadingConfiguration(quickstartDescriptor);
+    }
+
     protected WebXmlConfiguration createWebXmlConfiguration() {
         return new WebXmlConfiguration();
     }
@@ -472,7 +1905,13 @@ public class JettyBoot {
     }
 
     protected MetaInfConfiguration createMetaInfConfiguration() {
-        return new SelectableMetaInfConfiguration(useMetaInfoResourceDetect, useWebFragmentsDetect, useTldDetect, webFragmentsSelector);
+        final SelectableMetaInfConfiguration config =
+                new SelectableMetaInfConfiguration(useMetaInfoResourceDetect, useWebFragmentsDetect, useTldDetect, webFragmentsSelector);
+        if (jarScanOption != null) {
+            info("...Preparing the jar scan: " + jarScanOption);
+            config.setJarScanner(new ParallelJarScanner(jarScanOption));
+        }
+        return config;
     }
 
     public static class SelectableMetaInfConfiguration extends MetaInfConfiguration {
@@ -481,6 +1920,7 @@ public class JettyBoot {
         protected final boolean useWebFragmentsDetect;
         protected final boolean useTldDetect;
         protected final Predicate<String> webFragmentsSelector;
+        protected ParallelJarScanner jarScanner; // null allowed: sequential scanning by jetty
 
         public SelectableMetaInfConfiguration(boolean useMetaInfoResourceDetect, boolean useWebFragmentsDetect, boolean useTldDetect,
                 Predicate<String> webFragmentsSelector) {
@@ -490,6 +1930,73 @@ public class JettyBoot {
             this.webFragmentsSelector = webFragmentsSelector;
         }
 
+        @Override
+        public void scanJars(WebAppContext context, Collection<Resource> jars, boolean useCaches, List<String> scanTypes)
+                throws Exception {
+            if (jarScanner == null || jars == null || jars.isEmpty()) {
+                super.scanJars(context, jars, useCaches, scanTypes);
+                return;
+            }
+            // pre-scan jars in parallel (or from persistent cache) and give the results to jetty as caches
+            final Map<Resource, File> jarFileMap = new LinkedHashMap<Resource, File>();
+            for (Resource jar : jars) {
+                final File jarFile = toJarFile(jar);
+                if (jarFile != null) {
+                    jarFileMap.put(jar, jarFile);
+                }
+            }
+            final Map<File, JarScanResult> resultMap = jarScanner.scan(jarFileMap.values());
+            final ConcurrentHashMap<Resource, Resource> resourceCache = new ConcurrentHashMap<Resource, Resource>();
+            final ConcurrentHashMap<Resource, Resource> fragmentCache = new ConcurrentHashMap<Resource, Resource>();
+            final ConcurrentHashMap<Resource, Collection<URL>> tldCache = new ConcurrentHashMap<Resource, Collection<URL>>();
+            for (Map.Entry<Resource, File> entry : jarFileMap.entrySet()) {
+                final JarScanResult result = resultMap.get(entry.getValue());
+                if (result != null) { // null if unreadable (jetty scans it by itself)
+                    final Resource jar = entry.getKey();
+                    final String jarPrefix = buildJarUrlPrefix(entry.getValue());
+                    resourceCache.put(jar, result.hasMetaInfResources() ? Resource.newResource(jarPrefix + "META-INF/resources") : EmptyResource.INSTANCE);
+                    fragmentCache.put(jar, result.hasWebFragment() ? Resource.newResource(jarPrefix + "META-INF/web-fragment.xml") : EmptyResource.INSTANCE);
+                    final List<URL> tldList = new ArrayList<URL>();
+                    for (String tldEntry : result.getTldEntryList()) {
+                        tldList.add(new URL(jarPrefix + tldEntry));
+                    }
+                    tldCache.put(jar, tldList);
+                }
+            }
+            for (Resource jar : jars) { // registration to context is not thread-safe
+                if (scanTypes.contains(METAINF_RESOURCES)) {
+                    scanForResources(context, jar, resourceCache);
+                }
+                if (scanTypes.contains(METAINF_FRAGMENTS)) {
+                    scanForFragment(context, jar, fragmentCache);
+                }
+                if (scanTypes.contains(METAINF_TLDS)) {
+                    scanForTlds(context, jar, tldCache);
+                }
+            }
+        }
+
+        protected File toJarFile(Resource jar) { // null allowed: e.g. not file system
+            try {
+                final File file = jar.getFile();
+                if (file != null && file.isFile()) {
+                    return file;
+                }
+                final String uri = jar.getURI().toString(); // e.g. jar:file:/.../xxx.jar!/
+                if (uri.startsWith("jar:file:") && uri.endsWith("!/")) {
+                    final File jarFile = new File(new URI(uri.substring("jar:".length(), uri.length() - "!/".length())));
+                    return jarFile.isFile() ? jarFile : null;
+                }
+                return null;
+            } catch (IOException | URISyntaxException | IllegalArgumentException continued) {
+                return null;
+            }
+        }
+
+        protected String buildJarUrlPrefix(File jarFile) {
+            return "jar:" + jarFile.toURI() + "!/";
+        }
+
         @Override
         public void scanForResources(WebAppContext context, Resource target, ConcurrentHashMap<Resource, Resource> cache) throws Exception {
             if (useMetaInfoResourceDetect) {
@@ -510,6 +2017,10 @@ public class JettyBoot {
             return webFragmentsSelector != null && webFragmentsSelector.test(jar.getName());
         }
 
+        public void setJarScanner(ParallelJarScanner jarScanner) {
+            this.jarScanner = jarScanner;
+        }
+
         @Override
         public void scanForTlds(WebAppContext context, Resource jar, ConcurrentHashMap<Resource, Collection<URL>> cache) throws Exception {
             if (useTldDetect) {
@@ -525,6 +2036,9 @@ public class JettyBoot {
     }
 
     protected AnnotationConfiguration createAnnotationConfiguration() {
+        if (bootTimeline != null) {
+            return new ProfiledAnnotationConfiguration(bootTimeline);
+        }
         return new AnnotationConfiguration();
     }
 
@@ -558,6 +2072,9 @@ public class JettyBoot {
         final List<String> classpathList = extractJarClassspathList();
         for (String classpath : classpathList) {
             final String jarPath = convertClasspathToJarPath(classpath);
+            if (!isClasspathJarScanTarget(jarPath)) { // filter before registered not to scan it
+                continue;
+            }
             final URL url;
             try {
                 url = new URL(jarPath);
@@ -569,6 +2086,14 @@ public class JettyBoot {
         }
     }
 
+    protected boolean isClasspathJarScanTarget(String jarPath) {
+        if (useTldDetect || useAnnotationDetect) { // TLDs and container annotations are scanned from all jars
+            return true;
+        }
+        // only selected jars are scanned for web fragments and meta-inf resources
+        return webFragmentsSelector != null && webFragmentsSelector.test(jarPath);
+    }
+
     protected boolean isWarableWorld() {
         final URL warLocation = getWarLocation();
         final String path;
@@ -635,16 +2160,86 @@ public class JettyBoot {
         final File markFile = prepareMarkFile();
         final long lastModified = markFile.lastModified();
         final String exp = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss.SSS").format(new Date(lastModified));
-        info("...Registering the shutdown hook for the Jetty: lastModified=" + exp);
-        new Thread(() -> {
-            while (true) {
-                if (needsShutdown(markFile, lastModified)) {
+        final WatchService watchService = createMarkWatchServiceIfPossible(markFile); // null if polling
+        info("...Registering the shutdown hook for the Jetty: lastModified=" + exp + ", watch=" + (watchService != null));
+        final Thread thread = new Thread(() -> {
+            try {
+                if (watchService != null) { // event-driven, no stat() while idle
+                    waitForMarkChanged(watchService, markFile, lastModified);
                     shutdownForcedly();
-                    break;
+                    return;
+                }
+                while (true) {
+                    if (needsShutdown(markFile, lastModified)) {
+                        shutdownForcedly();
+                        break;
+                    }
+                    waitForNextShuwdownHook();
+                }
+            } catch (IllegalStateException e) {
+                if (markWatcherThread == null && e.getCause() instanceof InterruptedException) { // stopped by close()
+                    return;
+                }
+                throw e;
+            }
+        }, "jettyboot-mark-watcher-" + port);
+        markWatcherThread = thread;
+        thread.start();
+    }
+
+    protected WatchService createMarkWatchServiceIfPossible(File markFile) {
+        if (!isNativeMarkWatchAvailable()) {
+            return null;
+        }
+        final File markDir = markFile.getAbsoluteFile().getParentFile();
+        WatchService watchService = null;
+        try {
+            watchService = markDir.toPath().getFileSystem().newWatchService();
+            markDir.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            return watchService;
+        } catch (IOException | UnsupportedOperationException continued) { // polling instead
+            info("*Cannot watch the mark directory so polling it: " + markDir + ", " + continued);
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException ignored) {}
+            }
+            return null;
+        }
+    }
+
+    protected boolean isNativeMarkWatchAvailable() { // override if your environment is different
+        // JDK on macOS has no native watch service, its polling one (per 10 seconds) is slower than our polling
+        return !System.getProperty("os.name", "").startsWith("Mac"); // e.g. Mac OS X
+    }
+
+    protected void waitForMarkChanged(WatchService watchService, File markFile, long lastModified) {
+        final Path markName = markFile.toPath().getFileName();
+        try {
+            while (true) {
+                final WatchKey key = watchService.take(); // blocks until the mark directory is changed
+                final boolean related = key.pollEvents().stream().anyMatch(event -> {
+                    return event.kind() == StandardWatchEventKinds.OVERFLOW || markName.equals(event.context());
+                });
+                final boolean valid = key.reset(); // false if the directory is deleted
+                if ((related || !valid) && needsShutdown(markFile, lastModified)) {
+                    return;
+                }
+                if (!valid) { // cannot watch any more (basically no way because deleted directory means no mark file)
+                    while (!needsShutdown(markFile, lastModified)) {
+                        waitForNextShuwdownHook();
+                    }
+                    return;
                 }
-                waitForNextShuwdownHook();
             }
-        }).start();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Failed to wait for the mark file changed.", e);
+        } finally {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+        }
     }
 
     protected File prepareMarkFile() {
@@ -679,6 +2274,14 @@ public class JettyBoot {
         close();
     }
 
+    protected void stopMarkWatcherIfNeeds() { // not to keep JVM alive after close e.g. main thread ends after close
+        final Thread thread = markWatcherThread;
+        markWatcherThread = null;
+        if (thread != null && Thread.currentThread() != thread) { // no need if closed by the watcher
+            thread.interrupt();
+        }
+    }
+
     protected void waitForNextShuwdownHook() {
         try {
             Thread.sleep(getShuwdownHookWaitMillis());
@@ -691,6 +2294,22 @@ public class JettyBoot {
         return 300L; // short because of early boot on Java21
     }
 
+    // -----------------------------------------------------
+    //                                    JVM Shutdown Hook
+    //                                    -----------------
+    protected void registerJvmShutdownHookIfNeeds() { // also production
+        if (gracefulShutdownOption == null || gracefulShutdownOption.isSuppressJvmShutdownHook()) {
+            return;
+        }
+        info("...Registering the JVM shutdown hook for graceful shutdown: port=" + port);
+        jvmShutdownHook = new Thread(() -> {
+            if (server != null && server.isStarted()) {
+                close();
+            }
+        }, "jettyboot-shutdown-" + port);
+        Runtime.getRuntime().addShutdownHook(jvmShutdownHook);
+    }
+
     // -----------------------------------------------------
     //                                                Browse
     //                                                ------
@@ -713,19 +2332,63 @@ public class JettyBoot {
         if (server == null) {
             throw new IllegalStateException("server has not been started.");
         }
+        deregisterJvmShutdownHookIfNeeds();
+        stopMarkWatcherIfNeeds();
+        if (gracefulShutdownHandler != null) {
+            info("...Stopping the Jetty gracefully: port=" + port + ", inFlight=" + gracefulShutdownHandler.getInFlightCount());
+        }
+        boolean drainTimeout = false;
         try {
             server.stop();
         } catch (Exception e) {
-            throw new IllegalStateException("Failed to stop the Jetty.", e);
+            if (gracefulShutdownHandler == null || !isDrainTimeout(e)) {
+                throw new IllegalStateException("Failed to stop the Jetty.", e);
+            }
+            drainTimeout = true; // stopped but marked as failed, aborted requests are reported
         } finally {
-            try {
-                server.destroy();
-            } catch (RuntimeException e) {
-                throw new IllegalStateException("Failed to destroy the Jetty.", e);
+            loggingShutdownReportIfNeeds();
+            if (!drainTimeout) { // cannot destroy failed server
+                try {
+                    server.destroy();
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("Failed to destroy the Jetty.", e);
+                }
             }
         }
     }
 
+    protected boolean isDrainTimeout(Throwable e) { // e.g. MultiException(TimeoutException)
+        if (e instanceof TimeoutException) {
+            return true;
+        }
+        if (e instanceof MultiException) {
+            return ((MultiException) e).getThrowables().stream().anyMatch(nested -> isDrainTimeout(nested));
+        }
+        return e.getCause() != null && e.getCause() != e && isDrainTimeout(e.getCause());
+    }
+
+    protected void deregisterJvmShutdownHookIfNeeds() {
+        final Thread hook = jvmShutdownHook;
+        if (hook == null || Thread.currentThread() == hook) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(hook);
+        } catch (IllegalStateException ignored) { // already in JVM shutdown, the hook will do nothing
+        }
+        jvmShutdownHook = null;
+    }
+
+    protected void loggingShutdownReportIfNeeds() {
+        if (gracefulShutdownHandler == null) {
+            return;
+        }
+        shutdownReport = gracefulShutdownHandler.toReport();
+        if (shutdownReport != null) {
+            info("Shutdown completed: " + shutdownReport);
+        }
+    }
+
     // ===================================================================================
     //                                                                             Logging
     //                                                                             =======
@@ -739,4 +2402,122 @@ public class JettyBoot {
     public Server getServer() {
         return server;
     }
-}
\ No newline at end of file
+
+    public WebAppContext getWebAppContext() {
+        return webAppContext;
+    }
+
+    /**
+     * @return The read-only list of additional web application contexts. (NotNull, EmptyAllowed: when no additional or before boot)
+     */
+    public List<WebAppContext> getAdditionalWebAppContextList() {
+        return Collections.unmodifiableList(additionalWebAppContextList);
+    }
+
+    /**
+     * @return The timeline of boot phases. (NullAllowed: when no profiler or before boot)
+     */
+    public BootTimeline getBootTimeline() {
+        return bootTimeline;
+    }
+
+    /**
+     * @return The report of graceful shutdown. (NullAllowed: when no graceful shutdown or before close)
+     */
+    public ShutdownReport getShutdownReport() {
+        return shutdownReport;
+    }
+
+    /**
+     * @return The report of warm-up. (NullAllowed: when no warm-up or before warm-up)
+     */
+    public WarmupReport getWarmupReport() {
+        return warmupReport;
+    }
+
+    /**
+     * @return The read-only list of admission counters per limit, in registration order. (NotNull)
+     * @throws IllegalStateException When the admission control is not used or the server is not prepared yet.
+     */
+    public List<AdmissionStats> getAdmissionStatsList() {
+        if (admissionControlHandler == null) {
+            throw new IllegalStateException("Not found the admission control, call useAdmissionControl() before go(): port=" + port);
+        }
+        return Collections.unmodifiableList(admissionControlHandler.toStatsList());
+    }
+
+    /**
+     * @return The access log to get counters e.g. dropped count. (NullAllowed: when no access log or before boot)
+     */
+    public AsyncRequestLog getAccessLog() {
+        return accessLog;
+    }
+
+    /**
+     * @return The snapshot of buffer pool counters and pooled memory. (NotNull)
+     * @throws IllegalStateException When the buffer pool option is not used or the server is not prepared yet.
+     */
+    public BufferPoolStats getBufferPoolStats() {
+        if (byteBufferPool == null) {
+            throw new IllegalStateException("Not found the buffer pool, call useBufferPool() before go(): port=" + port);
+        }
+        return byteBufferPool.toStats();
+    }
+
+    /**
+     * @return The snapshot of session cache counters e.g. hits, evictions. (NotNull)
+     * @throws IllegalStateException When the session store is not used or the server is not prepared yet.
+     */
+    public SessionStoreStats getSessionStoreStats() {
+        if (sessionCache == null) {
+            throw new IllegalStateException("Not found the session store, call useSessionStore() before go(): port=" + port);
+        }
+        return sessionCache.toStats();
+    }
+
+    /**
+     * @return The status of class data sharing detected at boot. (NullAllowed: when no class data sharing or before boot)
+     */
+    public ClassDataSharingStatus getClassDataSharingStatus() {
+        return classDataSharingStatus;
+    }
+
+    /**
+     * @return Are the web applications ready to serve? (always true after boot if no readiness gate)
+     */
+    public boolean isReady() {
+        if (readinessGateHandler != null) {
+            return readinessGateHandler.isReady();
+        }
+        return server != null && server.isStarted();
+    }
+
+    /**
+     * Wait for the web applications to be started in background by readiness gate.
+     * @param timeoutMillis The maximum milliseconds to wait.
+     * @return Is it ready? (false if failed or timeout)
+     * @throws IllegalStateException When the readiness gate is not used or the server is not prepared yet.
+     */
+    public boolean awaitReady(long timeoutMillis) {
+        if (readinessGateHandler == null) {
+            throw new IllegalStateException("Not found the readiness gate, call useReadinessGate() before go(): port=" + port);
+        }
+        try {
+            return readinessGateHandler.awaitReady(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return readinessGateHandler.isReady();
+        }
+    }
+
+    /**
+     * @return The snapshot of current request metrics and thread pool utilization. (NotNull)
+     * @throws IllegalStateException When the request metrics is not used or the server is not prepared yet.
+     */
+    public MetricsSnapshot getMetricsSnapshot() {
+        if (requestMetrics == null) {
+            throw new IllegalStateException("Not found the request metrics, call useRequestMetrics() before go(): port=" + port);
+        }
+        return requestMetrics.toSnapshot();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+/**
+ * The field of access log line, written in the specified order separated by space.
+ * @author jflute
+ */
+public enum AccessLogField {
+
+    /** remote IP address e.g. 192.168.0.1 */
+    REMOTE_ADDR,
+
+    /** request time e.g. [17/Oct/2026:09:15:30 +0900] */
+    TIME,
+
+    /** HTTP method e.g. GET */
+    METHOD,
+
+    /** request URI with query string e.g. /harbor/product/list?page=1 */
+    URI,
+
+    /** protocol e.g. HTTP/1.1 */
+    PROTOCOL,
+
+    /** response status e.g. 200 */
+    STATUS,
+
+    /** bytes of response content written by application */
+    BYTES,
+
+    /** milliseconds from request begin to logging */
+    ELAPSED_MILLIS,
+
+    /** quoted Referer header, "-" if none */
+    REFERER,
+
+    /** quoted User-Agent header, "-" if none */
+    USER_AGENT,
+
+    /** name of the thread that handled the request */
+    THREAD
+}
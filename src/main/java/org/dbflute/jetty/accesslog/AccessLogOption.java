@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The option of access log, written asynchronously to daily rolling files. <br>
+ * Not-specified fields are NCSA combined-like with elapsed time.
+ * <pre>
+ * boot.useAccessLog("./log/access.log", op -&gt; op.samplingRate(0.1).retainDays(14));
+ * boot.useAccessLog("./log/access.log", op -&gt; op.fields(AccessLogField.TIME, AccessLogField.URI, AccessLogField.STATUS).blockOnOverflow());
+ * </pre>
+ * @author jflute
+ */
+public class AccessLogOption {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final List<AccessLogField> DEFAULT_FIELD_LIST = Arrays.asList(AccessLogField.REMOTE_ADDR, AccessLogField.TIME,
+            AccessLogField.METHOD, AccessLogField.URI, AccessLogField.PROTOCOL, AccessLogField.STATUS, AccessLogField.BYTES,
+            AccessLogField.ELAPSED_MILLIS, AccessLogField.REFERER, AccessLogField.USER_AGENT);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected List<AccessLogField> fieldList = DEFAULT_FIELD_LIST; // not null, not empty
+    protected double samplingRate = 1.0; // 0.0 < rate <= 1.0, server errors are always logged
+    protected boolean blockOnOverflow; // drop as default not to block request threads
+    protected int bufferCapacity = 8192; // entries of ring buffer, power of two
+    protected long flushIntervalMillis = 200L; // max delay of writing
+    protected long maxFileSize = 256L * 1024L * 1024L; // per file, rolled by index in the same day
+    protected int retainDays; // zero means no deletion
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param fields The fields of log line in order. (NotNull, NotEmpty)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption fields(AccessLogField... fields) {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("The argument 'fields' should not be null or empty.");
+        }
+        this.fieldList = new ArrayList<AccessLogField>(Arrays.asList(fields));
+        return this;
+    }
+
+    /**
+     * Log only the rate of requests (at random), but server errors (5xx) are always logged.
+     * @param samplingRate The rate of logged requests, greater than 0.0 and less than or equal to 1.0.
+     * @return this. (NotNull)
+     */
+    public AccessLogOption samplingRate(double samplingRate) {
+        if (samplingRate <= 0.0 || samplingRate > 1.0) {
+            throw new IllegalArgumentException("The argument 'samplingRate' should be (0.0, 1.0]: " + samplingRate);
+        }
+        this.samplingRate = samplingRate;
+        return this;
+    }
+
+    /**
+     * Wait for free space of the buffer when it is full, instead of dropping the entry. <br>
+     * <span style="color: #CC4747">Request threads may be blocked under disk pressure.</span>
+     * @return this. (NotNull)
+     */
+    public AccessLogOption blockOnOverflow() {
+        blockOnOverflow = true;
+        return this;
+    }
+
+    /**
+     * @param bufferCapacity The count of entries buffered in memory, should be power of two. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption bufferCapacity(int bufferCapacity) {
+        if (bufferCapacity <= 0 || Integer.bitCount(bufferCapacity) != 1) {
+            throw new IllegalArgumentException("The argument 'bufferCapacity' should be positive power of two: " + bufferCapacity);
+        }
+        this.bufferCapacity = bufferCapacity;
+        return this;
+    }
+
+    /**
+     * @param flushIntervalMillis The maximum milliseconds from logging to writing when not busy. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption flushIntervalMillis(long flushIntervalMillis) {
+        assertPositive("flushIntervalMillis", flushIntervalMillis);
+        this.flushIntervalMillis = flushIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @param maxFileSize The maximum bytes of a file, the next index file is used after it. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption maxFileSize(long maxFileSize) {
+        assertPositive("maxFileSize", maxFileSize);
+        this.maxFileSize = maxFileSize;
+        return this;
+    }
+
+    /**
+     * @param retainDays The days to keep rolled files, older files are deleted at rolling. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AccessLogOption retainDays(int retainDays) {
+        assertPositive("retainDays", retainDays);
+        this.retainDays = retainDays;
+        return this;
+    }
+
+    protected void assertPositive(String name, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "accessLog:{fields=" + fieldList + ", sampling=" + samplingRate + ", overflow=" + (blockOnOverflow ? "block" : "drop")
+                + ", buffer=" + bufferCapacity + ", flush=" + flushIntervalMillis + "ms, maxFile=" + maxFileSize + ", retain="
+                + retainDays + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<AccessLogField> getFieldList() {
+        return fieldList;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    public boolean isBlockOnOverflow() {
+        return blockOnOverflow;
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public int getRetainDays() {
+        return retainDays;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The bounded lock-free ring buffer of log entries, multiple producers and single consumer. <br>
+ * Each slot has own reused builder, so producers format entries into the slot directly (no allocation per entry).
+ * The sequence of slot tells its state: position (free), position + 1 (published), position + capacity (consumed).
+ * <pre>
+ * producer: claim() -&gt; builderAt(position) -&gt; publish(position)
+ * consumer: peek() -&gt; consume()
+ * </pre>
+ * @author jflute
+ */
+public class AccessLogRingBuffer {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Slot[] slots; // not null
+    protected final int mask; // capacity - 1
+    protected final AtomicLong tail = new AtomicLong(); // next position to claim
+    protected volatile long head; // next position to consume, written by consumer only
+
+    protected static class Slot {
+
+        protected volatile long sequence;
+        protected final StringBuilder builder = new StringBuilder(256); // reused
+
+        public Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param capacity The count of slots, should be power of two.
+     */
+    public AccessLogRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity should be positive power of two: " + capacity);
+        }
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+        mask = capacity - 1;
+    }
+
+    // ===================================================================================
+    //                                                                            Producer
+    //                                                                            ========
+    /**
+     * @return The claimed position, you should publish it after writing. (minus if full)
+     */
+    public long claim() {
+        long position = tail.get();
+        while (true) {
+            final long diff = slotOf(position).sequence - position;
+            if (diff == 0) { // free
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get(); // competed with other producer
+            } else if (diff < 0) { // not consumed yet
+                return -1L;
+            } else { // claimed by other producer
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @param position The position claimed by {@link #claim()}.
+     * @return The empty builder of the slot to write the entry. (NotNull)
+     */
+    public StringBuilder builderAt(long position) {
+        final StringBuilder builder = slotOf(position).builder;
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * @param position The position claimed by {@link #claim()}, should be published even if failed to write.
+     */
+    public void publish(long position) {
+        slotOf(position).sequence = position + 1;
+    }
+
+    // ===================================================================================
+    //                                                                            Consumer
+    //                                                                            ========
+    /**
+     * @return The builder of next published entry. (NullAllowed: when empty or not published yet)
+     */
+    public StringBuilder peek() {
+        final long position = head;
+        final Slot slot = slotOf(position);
+        return slot.sequence == position + 1 ? slot.builder : null;
+    }
+
+    /**
+     * Release the slot of the entry returned by {@link #peek()} for producers.
+     */
+    public void consume() {
+        final long position = head;
+        slotOf(position).sequence = position + slots.length;
+        head = position + 1;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Slot slotOf(long position) {
+        return slots[(int) (position & mask)];
+    }
+
+    /**
+     * @return The approximate count of claimed and not-consumed entries.
+     */
+    public int size() {
+        return (int) Math.max(0L, tail.get() - head);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.dbflute.jetty.warmup.WarmupConnector;
+import org.eclipse.jetty.http.MetaData;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.RequestLog;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.DateCache;
+import org.eclipse.jetty.util.component.ContainerLifeCycle;
+
+/**
+ * The request log formatting into reused buffers of ring buffer on request threads,
+ * and writing them in batch to rolling files on the single writer thread. <br>
+ * Request threads never touch the file, they only wait for free space if block-on-overflow.
+ * <pre>
+ * request thread: sampling -&gt; claim slot -&gt; format into slot builder -&gt; publish
+ * writer thread: drain slots -&gt; encode into reused byte buffer -&gt; write by batch
+ * </pre>
+ * @author jflute
+ */
+public class AsyncRequestLog extends ContainerLifeCycle implements RequestLog {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String TIME_FORMAT = "dd/MMM/yyyy:HH:mm:ss Z";
+    protected static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    protected static final long OVERFLOW_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final AccessLogOption option; // not null
+    protected final AccessLogField[] fields; // not null, not empty
+    protected final AccessLogRingBuffer ringBuffer; // not null
+    protected final RollingFileWriter fileWriter; // not null, used by writer thread only
+    protected final DateCache dateCache; // not null, thread-safe, formatted once per second
+    protected final Consumer<String> logger; // not null e.g. info() of boot
+
+    // -----------------------------------------------------
+    //                                              Counter
+    //                                              -------
+    protected final LongAdder droppedCount = new LongAdder(); // by overflow
+    protected final LongAdder sampledOutCount = new LongAdder();
+    protected volatile long writtenCount; // written by writer thread only
+    protected volatile long writeErrorCount; // same as written
+
+    // -----------------------------------------------------
+    //                                         Writer Thread
+    //                                         -------------
+    protected volatile Thread writerThread; // null allowed: when stopped
+    protected volatile boolean writing; // false when stopping, writer drains remaining entries
+    protected ByteBuffer writeBuffer; // reused by writer thread, not null while writing
+    protected CharBuffer charBuffer = CharBuffer.allocate(512); // reused, extended if long entry
+    protected CharsetEncoder encoder; // reused by writer thread
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param logFilePath The base path of the log file, rolled files are made in the same directory. (NotNull)
+     * @param option The option of access log. (NotNull)
+     * @param logger The callback to log the failures of writer thread e.g. info() of boot. (NotNull)
+     */
+    public AsyncRequestLog(String logFilePath, AccessLogOption option, Consumer<String> logger) {
+        this.option = option;
+        final List<AccessLogField> fieldList = option.getFieldList();
+        this.fields = fieldList.toArray(new AccessLogField[fieldList.size()]);
+        this.ringBuffer = new AccessLogRingBuffer(option.getBufferCapacity());
+        this.fileWriter = new RollingFileWriter(logFilePath, option.getMaxFileSize(), option.getRetainDays(), logger);
+        this.dateCache = new DateCache(TIME_FORMAT, Locale.US, TimeZone.getDefault());
+        this.logger = logger;
+    }
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    @Override
+    protected void doStart() throws Exception {
+        fileWriter.open();
+        writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        writing = true;
+        final Thread thread = new Thread(() -> writeLoop(), "jettyboot-access-log");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        writing = false; // the writer drains remaining entries and closes the file
+        final Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            writerThread = null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Request Log
+    //                                                                         ===========
+    @Override
+    public void log(Request request, Response response) {
+        if (WarmupConnector.isWarmupRequest(request)) { // not real traffic
+            return;
+        }
+        if (!writing) { // e.g. request completed while stopping
+            droppedCount.increment();
+            return;
+        }
+        final int status = extractStatus(response);
+        if (isSampledOut(status)) {
+            sampledOutCount.increment();
+            return;
+        }
+        long position = ringBuffer.claim();
+        if (position < 0) { // full
+            position = option.isBlockOnOverflow() ? claimBlocking() : -1L;
+            if (position < 0) {
+                droppedCount.increment();
+                return;
+            }
+        }
+        try {
+            formatEntry(ringBuffer.builderAt(position), request, response, status);
+        } catch (RuntimeException e) { // logging should not break the request
+            ringBuffer.builderAt(position); // cleared so skipped by writer
+        } finally {
+            ringBuffer.publish(position);
+        }
+        if (ringBuffer.size() > (ringBuffer.capacity() >> 1)) { // wake up before full
+            final Thread thread = writerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    protected int extractStatus(Response response) {
+        final MetaData.Response committed = response.getCommittedMetaData();
+        return committed != null ? committed.getStatus() : response.getStatus();
+    }
+
+    protected boolean isSampledOut(int status) {
+        final double samplingRate = option.getSamplingRate();
+        return status < 500 && samplingRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= samplingRate;
+    }
+
+    protected long claimBlocking() {
+        while (writing) {
+            final Thread thread = writerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+            LockSupport.parkNanos(OVERFLOW_PARK_NANOS);
+            if (Thread.currentThread().isInterrupted()) { // keep the flag for application
+                return -1L;
+            }
+            final long position = ringBuffer.claim();
+            if (position >= 0) {
+                return position;
+            }
+        }
+        return -1L;
+    }
+
+    // ===================================================================================
+    //                                                                              Format
+    //                                                                              ======
+    protected void formatEntry(StringBuilder sb, Request request, Response response, int status) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            formatField(sb, fields[i], request, response, status);
+        }
+    }
+
+    protected void formatField(StringBuilder sb, AccessLogField field, Request request, Response response, int status) {
+        switch (field) {
+        case REMOTE_ADDR:
+            appendOrHyphen(sb, request.getRemoteAddr());
+            break;
+        case TIME:
+            sb.append('[').append(dateCache.format(request.getTimeStamp())).append(']');
+            break;
+        case METHOD:
+            appendOrHyphen(sb, request.getMethod());
+            break;
+        case URI:
+            appendOrHyphen(sb, request.getOriginalURI());
+            break;
+        case PROTOCOL:
+            appendOrHyphen(sb, request.getProtocol());
+            break;
+        case STATUS:
+            sb.append(status);
+            break;
+        case BYTES:
+            sb.append(response.getHttpChannel().getBytesWritten());
+            break;
+        case ELAPSED_MILLIS:
+            sb.append(System.currentTimeMillis() - request.getTimeStamp());
+            break;
+        case REFERER:
+            appendQuoted(sb, request.getHeader("Referer"));
+            break;
+        case USER_AGENT:
+            appendQuoted(sb, request.getHeader("User-Agent"));
+            break;
+        case THREAD:
+            sb.append(Thread.currentThread().getName());
+            break;
+        default:
+            sb.append('-');
+        }
+    }
+
+    protected void appendOrHyphen(StringBuilder sb, String value) {
+        sb.append(value != null ? value : "-");
+    }
+
+    protected void appendQuoted(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("\"-\"");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') { // not to break the line format
+                sb.append('\\').append(ch);
+            } else if (ch < 0x20) { // e.g. CR/LF injection
+                sb.append(' ');
+            } else {
+                sb.append(ch);
+            }
+        }
+        sb.append('"');
+    }
+
+    // ===================================================================================
+    //                                                                       Writer Thread
+    //                                                                       =============
+    protected void writeLoop() {
+        final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(option.getFlushIntervalMillis());
+        try {
+            while (true) {
+                final int drained = drainBatch();
+                if (drained == 0) {
+                    if (!writing) {
+                        break; // drained after stopping
+                    }
+                    LockSupport.parkNanos(intervalNanos); // woken up early if busy
+                }
+            }
+        } finally {
+            try {
+                fileWriter.close();
+            } catch (IOException e) {
+                logger.accept("*Failed to close the access log: " + fileWriter.getCurrentFile() + ", " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write the published entries in batch, fully drained so that one write per busy period.
+     * @return The count of consumed entries.
+     */
+    protected int drainBatch() {
+        int count = 0;
+        StringBuilder entry;
+        while ((entry = ringBuffer.peek()) != null) {
+            if (entry.length() > 0) {
+                encodeEntry(entry);
+            }
+            ringBuffer.consume();
+            ++count;
+        }
+        flushBuffer(); // partial batch, the writer thread parks after this
+        return count;
+    }
+
+    protected void encodeEntry(StringBuilder entry) {
+        final int length = entry.length();
+        if (charBuffer.capacity() < length) {
+            charBuffer = CharBuffer.allocate(Math.max(length, charBuffer.capacity() * 2));
+        }
+        charBuffer.clear();
+        entry.getChars(0, length, charBuffer.array(), 0); // copied so that the slot can be released soon
+        charBuffer.limit(length);
+        encoder.reset();
+        while (true) {
+            final CoderResult result = encoder.encode(charBuffer, writeBuffer, true);
+            if (!result.isOverflow()) {
+                break;
+            }
+            flushBuffer(); // batch is full
+        }
+        if (!writeBuffer.hasRemaining()) {
+            flushBuffer();
+        }
+        writeBuffer.put((byte) '\n');
+        ++writtenCount;
+    }
+
+    protected void flushBuffer() {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        writeBuffer.flip();
+        try {
+            fileWriter.write(writeBuffer);
+        } catch (IOException | RuntimeException e) { // lost only the batch, continue for next batch
+            ++writeErrorCount;
+            logger.accept("*Failed to write the access log: " + fileWriter.getCurrentFile() + ", " + e.getMessage());
+        } finally {
+            writeBuffer.clear();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "accessLog:{written=" + writtenCount + ", dropped=" + droppedCount.sum() + ", sampledOut=" + sampledOutCount.sum()
+                + ", writeError=" + writeErrorCount + ", pending=" + ringBuffer.size() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public AccessLogOption getOption() {
+        return option;
+    }
+
+    /**
+     * @return The count of entries encoded to be written, including entries lost by write error.
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * @return The count of entries dropped by full buffer (or while stopping).
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.sum();
+    }
+
+    public long getWriteErrorCount() {
+        return writeErrorCount;
+    }
+
+    /**
+     * @return The count of entries in buffer waiting for the writer thread.
+     */
+    public int getPendingCount() {
+        return ringBuffer.size();
+    }
+}
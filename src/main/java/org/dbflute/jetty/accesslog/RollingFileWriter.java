@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The file writer rolling daily and by size, called by single writer thread only.
+ * <pre>
+ * e.g. base path is ./log/access.log
+ *  ./log/access.2026-10-17.log
+ *  ./log/access.2026-10-17.1.log (after max size)
+ *  ./log/access.2026-10-18.log
+ * </pre>
+ * @author jflute
+ */
+public class RollingFileWriter {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File logDir; // not null
+    protected final String prefix; // not null e.g. access
+    protected final String suffix; // not null, empty allowed e.g. .log
+    protected final long maxFileSize;
+    protected final int retainDays; // zero means no deletion
+    protected final Pattern rolledNamePattern; // not null, to find files to be deleted
+    protected final Consumer<String> logger; // not null e.g. info() of boot
+
+    // -----------------------------------------------------
+    //                                              Stateful
+    //                                              --------
+    protected FileChannel channel; // null allowed: before open or after close
+    protected File currentFile; // null allowed: same as channel
+    protected LocalDate currentDate; // null allowed: same as channel
+    protected int currentIndex;
+    protected long currentSize;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param basePath The base path of the log file e.g. /tmp/log/access.log (NotNull)
+     * @param maxFileSize The max size of one file, rolled to next index if over.
+     * @param retainDays The days to retain rolled files, zero means no deletion.
+     * @param logger The callback to log the failures of deletion e.g. info() of boot. (NotNull)
+     */
+    public RollingFileWriter(String basePath, long maxFileSize, int retainDays, Consumer<String> logger) {
+        final File baseFile = new File(basePath).getAbsoluteFile();
+        this.logDir = baseFile.getParentFile();
+        final String baseName = baseFile.getName();
+        final int dotIndex = baseName.lastIndexOf('.');
+        this.prefix = dotIndex > 0 ? baseName.substring(0, dotIndex) : baseName;
+        this.suffix = dotIndex > 0 ? baseName.substring(dotIndex) : "";
+        this.maxFileSize = maxFileSize;
+        this.retainDays = retainDays;
+        this.rolledNamePattern = Pattern.compile(Pattern.quote(prefix) + "\\.(\\d{4}-\\d{2}-\\d{2})(\\.\\d+)?" + Pattern.quote(suffix));
+        this.logger = logger;
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    public void open() throws IOException {
+        if (!logDir.exists() && !logDir.mkdirs()) {
+            throw new IOException("Cannot make the log directory: " + logDir);
+        }
+        roll(today(), 0);
+    }
+
+    /**
+     * @param buffer The buffer flipped for reading, fully written. (NotNull)
+     * @throws IOException When it fails to write or roll.
+     */
+    public void write(ByteBuffer buffer) throws IOException {
+        final LocalDate today = today();
+        if (channel == null || !today.equals(currentDate)) {
+            roll(today, 0);
+        } else if (currentSize > 0 && currentSize + buffer.remaining() > maxFileSize) {
+            roll(today, currentIndex + 1);
+        }
+        while (buffer.hasRemaining()) {
+            currentSize += channel.write(buffer);
+        }
+    }
+
+    public void close() throws IOException {
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Roll
+    //                                                                                ====
+    protected void roll(LocalDate date, int startIndex) throws IOException {
+        close();
+        int index = startIndex;
+        File file = buildFile(date, index);
+        while (file.exists() && file.length() >= maxFileSize) { // e.g. restarted in the same day
+            ++index;
+            file = buildFile(date, index);
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentFile = file;
+        currentDate = date;
+        currentIndex = index;
+        currentSize = channel.size();
+        if (retainDays > 0) {
+            deleteExpiredFiles(date.minusDays(retainDays));
+        }
+    }
+
+    protected File buildFile(LocalDate date, int index) {
+        return new File(logDir, prefix + "." + date + (index > 0 ? "." + index : "") + suffix);
+    }
+
+    protected void deleteExpiredFiles(LocalDate borderDate) {
+        final File[] files = logDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            final Matcher matcher = rolledNamePattern.matcher(file.getName());
+            if (!matcher.matches()) {
+                continue;
+            }
+            try {
+                if (LocalDate.parse(matcher.group(1)).isBefore(borderDate) && !file.delete()) {
+                    logger.accept("*Cannot delete the expired access log: " + file);
+                }
+            } catch (DateTimeParseException ignored) { // e.g. 2026-13-01, not our file
+            }
+        }
+    }
+
+    protected LocalDate today() {
+        return LocalDate.now(ZoneId.systemDefault());
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return The file written now. (NullAllowed: before open)
+     */
+    public File getCurrentFile() {
+        return currentFile;
+    }
+}
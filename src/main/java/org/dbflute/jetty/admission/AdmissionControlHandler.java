@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.admission;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.jetty.util.BoJtCompletionListener;
+import org.dbflute.jetty.warmup.WarmupConnector;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.HttpChannelState;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+/**
+ * The handler that admits requests within the concurrency limits of their path, and rejects the excess by 503. <br>
+ * Requests over the limit wait in the bounded queue (holding the thread) until a slot is released or timeout,
+ * so that the latency of admitted requests is kept instead of collapse at traffic spikes.
+ * @author jflute
+ */
+public class AdmissionControlHandler extends HandlerWrapper {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<AdmissionLimiter> limiterList; // not null, ordered
+    protected final List<String> priorityPatternList; // not null, empty allowed
+    protected final int retryAfterSeconds;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param option The option of admission control. (NotNull)
+     */
+    public AdmissionControlHandler(AdmissionOption option) {
+        final List<AdmissionLimiter> limiterList = new ArrayList<AdmissionLimiter>();
+        for (Map.Entry<String, Integer> entry : option.getLimitMap().entrySet()) {
+            limiterList.add(newAdmissionLimiter(entry.getKey(), entry.getValue(), option));
+        }
+        this.limiterList = limiterList;
+        this.priorityPatternList = new ArrayList<String>(option.getPriorityPatternList());
+        this.retryAfterSeconds = option.getRetryAfterSeconds();
+    }
+
+    protected AdmissionLimiter newAdmissionLimiter(String pathPattern, int maxConcurrent, AdmissionOption option) {
+        return new AdmissionLimiter(pathPattern, maxConcurrent, option.getMaxQueued(), option.getQueueTimeoutMillis());
+    }
+
+    // ===================================================================================
+    //                                                                              Handle
+    //                                                                              ======
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, ServletException {
+        final HttpChannelState state = baseRequest.getHttpChannelState();
+        if (!state.isInitial()) { // async dispatch, already admitted
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        final AdmissionLimiter limiter = findLimiter(target);
+        if (limiter == null || WarmupConnector.isWarmupRequest(baseRequest)) { // unlimited, or not real traffic
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        if (!acquire(limiter, isPriority(target))) {
+            reject(baseRequest, response);
+            return;
+        }
+        try {
+            super.handle(target, baseRequest, request, response);
+        } finally {
+            BoJtCompletionListener.whenCompleted(state, () -> limiter.release());
+        }
+    }
+
+    protected AdmissionLimiter findLimiter(String target) { // null allowed: unlimited
+        for (AdmissionLimiter limiter : limiterList) {
+            if (limiter.matches(target)) {
+                return limiter;
+            }
+        }
+        return null;
+    }
+
+    protected boolean isPriority(String target) {
+        return priorityPatternList.stream().anyMatch(pattern -> AdmissionOption.matchesPath(pattern, target));
+    }
+
+    protected boolean acquire(AdmissionLimiter limiter, boolean priority) {
+        try {
+            return limiter.acquire(priority);
+        } catch (InterruptedException e) { // e.g. server stop
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    protected void reject(Request baseRequest, HttpServletResponse response) throws IOException {
+        baseRequest.setHandled(true);
+        response.setHeader(HttpHeader.RETRY_AFTER.asString(), String.valueOf(retryAfterSeconds));
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    /**
+     * @return The list of current counters per limit, in registration order. (NotNull)
+     */
+    public List<AdmissionStats> toStatsList() {
+        return limiterList.stream().map(limiter -> limiter.toStats()).collect(Collectors.toList());
+    }
+}
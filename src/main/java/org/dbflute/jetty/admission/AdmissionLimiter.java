@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The limiter of concurrent requests for a path pattern, with bounded wait queue. <br>
+ * Prioritized requests are admitted before normal ones when a slot is released.
+ * @author jflute
+ */
+public class AdmissionLimiter {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String pathPattern; // not null
+    protected final int maxConcurrent;
+    protected final int maxQueued; // zero means immediate rejection
+    protected final long queueTimeoutNanos;
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Condition priorityCondition = lock.newCondition();
+    protected final Condition normalCondition = lock.newCondition();
+    protected int activeCount; // guarded by lock
+    protected int priorityQueuedCount; // guarded by lock
+    protected int normalQueuedCount; // guarded by lock
+    protected final LongAdder acceptedCount = new LongAdder(); // including after waiting
+    protected final LongAdder queuedCount = new LongAdder(); // waited at least once
+    protected final LongAdder rejectedCount = new LongAdder(); // queue full or timeout
+    protected final LongAdder timeoutCount = new LongAdder(); // part of rejected
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public AdmissionLimiter(String pathPattern, int maxConcurrent, int maxQueued, long queueTimeoutMillis) {
+        this.pathPattern = pathPattern;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+    }
+
+    // ===================================================================================
+    //                                                                             Acquire
+    //                                                                             =======
+    /**
+     * @param path The request path with context path. (NotNull)
+     * @return Does the path match with the pattern of this limiter?
+     */
+    public boolean matches(String path) {
+        return AdmissionOption.matchesPath(pathPattern, path);
+    }
+
+    /**
+     * Acquire a slot, waiting in the queue if needed. <br>
+     * You should call {@link #release()} after the request if true.
+     * @param priority Is it prioritized request?
+     * @return Is it admitted? (false if the queue is full or timeout)
+     * @throws InterruptedException When the waiting thread is interrupted.
+     */
+    public boolean acquire(boolean priority) throws InterruptedException {
+        lock.lock();
+        try {
+            if (canAdmit(priority)) {
+                ++activeCount;
+                acceptedCount.increment();
+                return true;
+            }
+            if (priorityQueuedCount + normalQueuedCount >= maxQueued) {
+                rejectedCount.increment();
+                return false;
+            }
+            return awaitSlot(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected boolean canAdmit(boolean priority) { // in lock
+        return activeCount < maxConcurrent && (priority || priorityQueuedCount == 0);
+    }
+
+    protected boolean awaitSlot(boolean priority) throws InterruptedException { // in lock
+        queuedCount.increment();
+        final Condition condition = priority ? priorityCondition : normalCondition;
+        if (priority) {
+            ++priorityQueuedCount;
+        } else {
+            ++normalQueuedCount;
+        }
+        try {
+            long remainingNanos = queueTimeoutNanos;
+            while (!canAdmit(priority)) {
+                if (remainingNanos <= 0L) {
+                    timeoutCount.increment();
+                    rejectedCount.increment();
+                    return false;
+                }
+                remainingNanos = condition.awaitNanos(remainingNanos);
+            }
+            ++activeCount;
+            acceptedCount.increment();
+            return true;
+        } finally {
+            if (priority) {
+                --priorityQueuedCount;
+            } else {
+                --normalQueuedCount;
+            }
+            signalNext(); // e.g. normal waiters after last priority one is gone
+        }
+    }
+
+    /**
+     * Release the slot acquired by {@link #acquire(boolean)}.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            --activeCount;
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected void signalNext() { // in lock
+        if (activeCount >= maxConcurrent) {
+            return;
+        }
+        if (priorityQueuedCount > 0) {
+            priorityCondition.signal();
+        } else if (normalQueuedCount > 0) {
+            normalCondition.signal();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    /**
+     * @return The snapshot of current counters. (NotNull)
+     */
+    public AdmissionStats toStats() {
+        final int active;
+        final int waiting;
+        lock.lock();
+        try {
+            active = activeCount;
+            waiting = priorityQueuedCount + normalQueuedCount;
+        } finally {
+            lock.unlock();
+        }
+        return new AdmissionStats(pathPattern, maxConcurrent, active, waiting, acceptedCount.sum(), queuedCount.sum(), rejectedCount.sum(),
+                timeoutCount.sum());
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getPathPattern() {
+        return pathPattern;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.admission;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The option of admission control, which limits concurrent requests per path pattern and sheds the excess by 503. <br>
+ * The path pattern is exact path, prefix with "/*" (e.g. "/harbor/api/*") or "/*" for all,
+ * and the first matched limit (in registration order) is applied to the request path (with context path).
+ * <pre>
+ * boot.useAdmissionControl(op -&gt; op.limit("/harbor/api/*", 50).limit("/*", 200)
+ *     .queue(100, 500).priority("/harbor/api/payment/*"));
+ * </pre>
+ * @author jflute
+ */
+public class AdmissionOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, Integer> limitMap = new LinkedHashMap<String, Integer>(); // ordered, path pattern to max concurrent
+    protected final List<String> priorityPatternList = new ArrayList<String>(); // empty allowed
+    protected int maxQueued; // per limit, zero means immediate rejection
+    protected long queueTimeoutMillis = 1000L; // valid if queued
+    protected int retryAfterSeconds = 1; // for rejected requests
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param pathPattern The pattern of request path: exact, prefix with "/*", or "/*" for all. (NotNull)
+     * @param maxConcurrent The maximum count of concurrent requests of the pattern. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AdmissionOption limit(String pathPattern, int maxConcurrent) {
+        assertPathPattern(pathPattern);
+        assertPositive("maxConcurrent", maxConcurrent);
+        if (limitMap.containsKey(pathPattern)) {
+            throw new IllegalArgumentException("The path pattern of limit already exists: " + pathPattern);
+        }
+        limitMap.put(pathPattern, maxConcurrent);
+        return this;
+    }
+
+    /**
+     * Wait for a slot in the bounded queue instead of immediate rejection when the limit is reached.
+     * @param maxQueued The maximum count of waiting requests per limit. (NotMinus)
+     * @param queueTimeoutMillis The maximum milliseconds to wait, rejected after it. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AdmissionOption queue(int maxQueued, long queueTimeoutMillis) {
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("The argument 'maxQueued' should not be minus: " + maxQueued);
+        }
+        if (queueTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'queueTimeoutMillis' should be positive: " + queueTimeoutMillis);
+        }
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Admit the requests of the paths before normal queued requests when a slot is released. <br>
+     * They are still counted in the matched limit.
+     * @param pathPatterns The patterns of prioritized request path, same format as limit. (NotNull)
+     * @return this. (NotNull)
+     */
+    public AdmissionOption priority(String... pathPatterns) {
+        if (pathPatterns == null || pathPatterns.length == 0) {
+            throw new IllegalArgumentException("The argument 'pathPatterns' should not be null or empty.");
+        }
+        for (String pathPattern : pathPatterns) {
+            assertPathPattern(pathPattern);
+            priorityPatternList.add(pathPattern);
+        }
+        return this;
+    }
+
+    /**
+     * @param retryAfterSeconds The seconds of Retry-After header for rejected requests. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AdmissionOption retryAfterSeconds(int retryAfterSeconds) {
+        assertPositive("retryAfterSeconds", retryAfterSeconds);
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    protected void assertPathPattern(String pathPattern) {
+        if (pathPattern == null || !pathPattern.startsWith("/")) {
+            throw new IllegalArgumentException("The path pattern should start with slash: " + pathPattern);
+        }
+    }
+
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Path Pattern
+    //                                                                        ============
+    /**
+     * @param pathPattern The pattern of request path: exact, prefix with "/*", or "/*" for all. (NotNull)
+     * @param path The request path with context path. (NotNull)
+     * @return Does the path match with the pattern?
+     */
+    public static boolean matchesPath(String pathPattern, String path) {
+        if (pathPattern.endsWith("/*")) {
+            final String prefix = pathPattern.substring(0, pathPattern.length() - 2); // empty if all
+            return path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+        }
+        return pathPattern.equals(path);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "admission:{limits=" + limitMap + ", queue=" + maxQueued + "/" + queueTimeoutMillis + "ms, priority=" + priorityPatternList
+                + ", retryAfter=" + retryAfterSeconds + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Map<String, Integer> getLimitMap() {
+        return limitMap;
+    }
+
+    public List<String> getPriorityPatternList() {
+        return priorityPatternList;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
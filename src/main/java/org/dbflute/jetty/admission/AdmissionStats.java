@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.admission;
+
+/**
+ * The snapshot of admission counters for a limit, immutable.
+ * @author jflute
+ */
+public class AdmissionStats {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String pathPattern; // not null
+    protected final int maxConcurrent;
+    protected final int activeCount; // running now
+    protected final int waitingCount; // in queue now
+    protected final long acceptedCount; // total admitted
+    protected final long queuedCount; // total waited in queue
+    protected final long rejectedCount; // total 503
+    protected final long timeoutCount; // total rejected by queue timeout
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public AdmissionStats(String pathPattern, int maxConcurrent, int activeCount, int waitingCount, long acceptedCount, long queuedCount,
+            long rejectedCount, long timeoutCount) {
+        this.pathPattern = pathPattern;
+        this.maxConcurrent = maxConcurrent;
+        this.activeCount = activeCount;
+        this.waitingCount = waitingCount;
+        this.acceptedCount = acceptedCount;
+        this.queuedCount = queuedCount;
+        this.rejectedCount = rejectedCount;
+        this.timeoutCount = timeoutCount;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "admission:{" + pathPattern + ", active=" + activeCount + "/" + maxConcurrent + ", waiting=" + waitingCount + ", accepted="
+                + acceptedCount + ", queued=" + queuedCount + ", rejected=" + rejectedCount + ", timeout=" + timeoutCount + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getPathPattern() {
+        return pathPattern;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getWaitingCount() {
+        return waitingCount;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.buffer;
+
+/**
+ * The option of byte buffer pool shared by all connectors. <br>
+ * Buffers are pooled in buckets by capacity (step of factor), separately for direct and heap.
+ * Not-specified attributes are treated as the jetty default.
+ * <pre>
+ * boot.useBufferPool(op -&gt; op.factor(4096).maxCapacity(256 * 1024).maxDirectMemory(512L * 1024 * 1024));
+ * </pre>
+ * @author jflute
+ */
+public class BufferPoolOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int minCapacity; // smaller buffers are not pooled
+    protected int factor = 4096; // capacity step of buckets
+    protected int maxCapacity = 64 * 1024; // larger buffers are not pooled
+    protected int maxQueueLength = -1; // per bucket, -1 means unbounded
+    protected long maxHeapMemory; // 0 means jetty heuristic (quarter of max heap), -1 means unlimited
+    protected long maxDirectMemory; // same as heap
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param minCapacity The minimum capacity of pooled buffer. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public BufferPoolOption minCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("The argument 'minCapacity' should not be minus: " + minCapacity);
+        }
+        this.minCapacity = minCapacity;
+        return this;
+    }
+
+    /**
+     * @param factor The capacity step of buckets, acquired capacity is rounded up to it. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public BufferPoolOption factor(int factor) {
+        assertPositive("factor", factor);
+        this.factor = factor;
+        return this;
+    }
+
+    /**
+     * @param maxCapacity The maximum capacity of pooled buffer, e.g. output buffer size of large response. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public BufferPoolOption maxCapacity(int maxCapacity) {
+        assertPositive("maxCapacity", maxCapacity);
+        this.maxCapacity = maxCapacity;
+        return this;
+    }
+
+    /**
+     * @param maxQueueLength The maximum count of buffers per bucket. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public BufferPoolOption maxQueueLength(int maxQueueLength) {
+        assertPositive("maxQueueLength", maxQueueLength);
+        this.maxQueueLength = maxQueueLength;
+        return this;
+    }
+
+    /**
+     * @param maxHeapMemory The maximum bytes of pooled heap buffers, released buffers over it are discarded. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public BufferPoolOption maxHeapMemory(long maxHeapMemory) {
+        assertPositive("maxHeapMemory", maxHeapMemory);
+        this.maxHeapMemory = maxHeapMemory;
+        return this;
+    }
+
+    /**
+     * @param maxDirectMemory The maximum bytes of pooled direct buffers, released buffers over it are discarded. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public BufferPoolOption maxDirectMemory(long maxDirectMemory) {
+        assertPositive("maxDirectMemory", maxDirectMemory);
+        this.maxDirectMemory = maxDirectMemory;
+        return this;
+    }
+
+    protected void assertPositive(String name, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "bufferPool:{capacity=" + minCapacity + "-" + maxCapacity + " by " + factor + ", maxQueue=" + maxQueueLength + ", maxHeap="
+                + maxHeapMemory + ", maxDirect=" + maxDirectMemory + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getMinCapacity() {
+        return minCapacity;
+    }
+
+    public int getFactor() {
+        return factor;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    public long getMaxHeapMemory() {
+        return maxHeapMemory;
+    }
+
+    public long getMaxDirectMemory() {
+        return maxDirectMemory;
+    }
+}
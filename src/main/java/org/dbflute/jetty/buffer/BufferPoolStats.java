@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.buffer;
+
+/**
+ * The snapshot of byte buffer pool counters and pooled memory, immutable.
+ * @author jflute
+ */
+public class BufferPoolStats {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long acquiredCount; // total
+    protected final long heapMissedCount; // total allocated heap buffers
+    protected final long directMissedCount; // total allocated direct buffers
+    protected final long releasedCount; // total
+    protected final long pooledHeapCount; // in pool now
+    protected final long pooledDirectCount; // in pool now
+    protected final long pooledHeapMemory; // bytes in pool now
+    protected final long pooledDirectMemory; // bytes in pool now
+    protected final long maxHeapMemory; // -1 means unlimited
+    protected final long maxDirectMemory; // same as heap
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public BufferPoolStats(long acquiredCount, long heapMissedCount, long directMissedCount, long releasedCount, long pooledHeapCount,
+            long pooledDirectCount, long pooledHeapMemory, long pooledDirectMemory, long maxHeapMemory, long maxDirectMemory) {
+        this.acquiredCount = acquiredCount;
+        this.heapMissedCount = heapMissedCount;
+        this.directMissedCount = directMissedCount;
+        this.releasedCount = releasedCount;
+        this.pooledHeapCount = pooledHeapCount;
+        this.pooledDirectCount = pooledDirectCount;
+        this.pooledHeapMemory = pooledHeapMemory;
+        this.pooledDirectMemory = pooledDirectMemory;
+        this.maxHeapMemory = maxHeapMemory;
+        this.maxDirectMemory = maxDirectMemory;
+    }
+
+    // ===================================================================================
+    //                                                                           Calculate
+    //                                                                           =========
+    public long getMissedCount() {
+        return heapMissedCount + directMissedCount;
+    }
+
+    public long getHitCount() {
+        return Math.max(0L, acquiredCount - getMissedCount());
+    }
+
+    /**
+     * @return The ratio of acquisitions served from pool, 0.0 if no acquisition.
+     */
+    public double getHitRatio() {
+        return acquiredCount > 0 ? (double) getHitCount() / acquiredCount : 0.0;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "bufferPool:{acquired=" + acquiredCount + ", hit=" + getHitCount() + String.format(" (%.1f%%)", getHitRatio() * 100)
+                + ", missed=heap:" + heapMissedCount + "/direct:" + directMissedCount + ", released=" + releasedCount + ", pooled=heap:"
+                + pooledHeapCount + "(" + pooledHeapMemory + "/" + maxHeapMemory + "B)/direct:" + pooledDirectCount + "("
+                + pooledDirectMemory + "/" + maxDirectMemory + "B)}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    public long getHeapMissedCount() {
+        return heapMissedCount;
+    }
+
+    public long getDirectMissedCount() {
+        return directMissedCount;
+    }
+
+    public long getReleasedCount() {
+        return releasedCount;
+    }
+
+    public long getPooledHeapCount() {
+        return pooledHeapCount;
+    }
+
+    public long getPooledDirectCount() {
+        return pooledDirectCount;
+    }
+
+    public long getPooledHeapMemory() {
+        return pooledHeapMemory;
+    }
+
+    public long getPooledDirectMemory() {
+        return pooledDirectMemory;
+    }
+
+    public long getMaxHeapMemory() {
+        return maxHeapMemory;
+    }
+
+    public long getMaxDirectMemory() {
+        return maxDirectMemory;
+    }
+}
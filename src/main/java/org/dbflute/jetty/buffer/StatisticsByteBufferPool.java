@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+
+/**
+ * The bucketed byte buffer pool with hit/miss counters. <br>
+ * A miss is an acquisition that allocates new buffer (empty bucket or out of pooled capacity).
+ * @author jflute
+ */
+public class StatisticsByteBufferPool extends ArrayByteBufferPool {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final LongAdder acquiredCount = new LongAdder();
+    protected final LongAdder heapMissedCount = new LongAdder();
+    protected final LongAdder directMissedCount = new LongAdder();
+    protected final LongAdder releasedCount = new LongAdder();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public StatisticsByteBufferPool(BufferPoolOption option) {
+        super(option.getMinCapacity(), option.getFactor(), option.getMaxCapacity(), option.getMaxQueueLength(), option.getMaxHeapMemory(),
+                option.getMaxDirectMemory());
+    }
+
+    // ===================================================================================
+    //                                                                         Buffer Pool
+    //                                                                         ===========
+    @Override
+    public ByteBuffer acquire(int size, boolean direct) {
+        acquiredCount.increment();
+        return super.acquire(size, direct);
+    }
+
+    @Override
+    public ByteBuffer newByteBuffer(int capacity, boolean direct) { // called only when not found in pool
+        if (direct) {
+            directMissedCount.increment();
+        } else {
+            heapMissedCount.increment();
+        }
+        return super.newByteBuffer(capacity, direct);
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        if (buffer != null) {
+            releasedCount.increment();
+        }
+        super.release(buffer);
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    /**
+     * @return The snapshot of current counters and pooled memory. (NotNull)
+     */
+    public BufferPoolStats toStats() {
+        return new BufferPoolStats(acquiredCount.sum(), heapMissedCount.sum(), directMissedCount.sum(), releasedCount.sum(),
+                getHeapByteBufferCount(), getDirectByteBufferCount(), getHeapMemory(), getDirectMemory(), getMaxHeapMemory(),
+                getMaxDirectMemory());
+    }
+}
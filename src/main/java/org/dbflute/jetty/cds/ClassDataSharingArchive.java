@@ -0,0 +1,198 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The archive of class data sharing (AppCDS) for the application classes e.g. jetty and web application. <br>
+ * The archive is used only when the JVM is launched with the option, so this detects it and tells the options.
+ * <pre>
+ * [dynamic archive] (Java13 or later)
+ * training: java -XX:ArchiveClassesAtExit=app.jsa -cp ... (trainClassDataSharing()) -&gt; written at JVM exit
+ * boot: java -XX:SharedArchiveFile=app.jsa -cp ... (same class path)
+ *
+ * [static archive] (Java10 or later)
+ * training: java -XX:DumpLoadedClassList=app.jsa.classlist -cp ... (trainClassDataSharing()) -&gt; dump process after close
+ * boot: java -XX:SharedArchiveFile=app.jsa -cp ... (same class path)
+ * </pre>
+ * @author jflute
+ */
+public class ClassDataSharingArchive {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String SHARED_ARCHIVE_FILE = "-XX:SharedArchiveFile=";
+    protected static final String ARCHIVE_CLASSES_AT_EXIT = "-XX:ArchiveClassesAtExit=";
+    protected static final String DUMP_LOADED_CLASS_LIST = "-XX:DumpLoadedClassList=";
+    protected static final String CLASS_LIST_SUFFIX = ".classlist";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File archiveFile;
+    protected final ClassDataSharingOption option;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param archiveFile The file of shared archive. (NotNull)
+     * @param option The option of class data sharing. (NotNull)
+     */
+    public ClassDataSharingArchive(File archiveFile, ClassDataSharingOption option) {
+        this.archiveFile = archiveFile;
+        this.option = option;
+    }
+
+    // ===================================================================================
+    //                                                                              Detect
+    //                                                                              ======
+    /**
+     * @return The status of class data sharing in current JVM. (NotNull)
+     */
+    public ClassDataSharingStatus detect() {
+        String sharedArchivePath = null;
+        String dynamicDumpPath = null;
+        String classListDumpPath = null;
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) { // last one wins like JVM
+            if (arg.startsWith(SHARED_ARCHIVE_FILE)) {
+                sharedArchivePath = arg.substring(SHARED_ARCHIVE_FILE.length());
+            } else if (arg.startsWith(ARCHIVE_CLASSES_AT_EXIT)) {
+                dynamicDumpPath = arg.substring(ARCHIVE_CLASSES_AT_EXIT.length());
+            } else if (arg.startsWith(DUMP_LOADED_CLASS_LIST)) {
+                classListDumpPath = arg.substring(DUMP_LOADED_CLASS_LIST.length());
+            }
+        }
+        final String vmInfo = System.getProperty("java.vm.info");
+        final boolean sharingEnabled = vmInfo != null && vmInfo.contains("sharing"); // e.g. mixed mode, sharing
+        return new ClassDataSharingStatus(getJavaVersion(), sharingEnabled, sharedArchivePath, dynamicDumpPath, classListDumpPath);
+    }
+
+    protected int getJavaVersion() {
+        final String version = System.getProperty("java.specification.version"); // e.g. 1.8, 11
+        try {
+            return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+        } catch (RuntimeException e) { // basically no way
+            throw new IllegalStateException("Unknown java specification version: " + version, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         JVM Options
+    //                                                                         ===========
+    /**
+     * @return The list of JVM options to launch the training. (NotNull, EmptyAllowed: not supported Java version)
+     */
+    public List<String> buildTrainingJvmOptionList() {
+        final List<String> optionList = new ArrayList<String>();
+        if (isDynamicArchive()) {
+            optionList.add(ARCHIVE_CLASSES_AT_EXIT + archiveFile.getPath());
+        } else if (getJavaVersion() >= 10) { // application class list since Java10 (open JDK)
+            optionList.add(DUMP_LOADED_CLASS_LIST + getClassListFile().getPath());
+        }
+        return optionList;
+    }
+
+    /**
+     * @return The list of JVM options to boot with the archive. (NotNull)
+     */
+    public List<String> buildBootJvmOptionList() {
+        final List<String> optionList = new ArrayList<String>();
+        optionList.add(SHARED_ARCHIVE_FILE + archiveFile.getPath());
+        return optionList;
+    }
+
+    protected boolean isDynamicArchive() {
+        return !option.isStaticArchive() && getJavaVersion() >= 13;
+    }
+
+    protected File getClassListFile() {
+        final String classListPath = option.getClassListPath();
+        return classListPath != null ? new File(classListPath) : new File(archiveFile.getPath() + CLASS_LIST_SUFFIX);
+    }
+
+    // ===================================================================================
+    //                                                                         Static Dump
+    //                                                                         ===========
+    /**
+     * Dump the static archive from the class list by other JVM process, replaced after completed.
+     * @param classListFile The file of class list written in training. (NotNull)
+     * @param classPath The class path of the application, should be same as boot. (NotNull)
+     */
+    public void dumpStaticArchive(File classListFile, String classPath) {
+        if (!classListFile.isFile()) {
+            throw new IllegalStateException("Not found the class list for class data sharing: " + classListFile);
+        }
+        final File workFile = new File(archiveFile.getPath() + ".tmp");
+        final List<String> commandList = new ArrayList<String>();
+        commandList.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+        commandList.add("-Xshare:dump");
+        commandList.add("-XX:SharedClassListFile=" + classListFile.getPath());
+        commandList.add(SHARED_ARCHIVE_FILE + workFile.getPath());
+        commandList.add("-cp");
+        commandList.add(classPath);
+        try {
+            final File parentDir = archiveFile.getAbsoluteFile().getParentFile();
+            if (parentDir != null) {
+                Files.createDirectories(parentDir.toPath());
+            }
+            final Process process = new ProcessBuilder(commandList).inheritIO().start();
+            if (!process.waitFor(option.getDumpTimeoutSeconds(), TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("The dump of class data sharing timed out: " + option.getDumpTimeoutSeconds() + "s");
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("Failed to dump the class data sharing archive: exit=" + process.exitValue());
+            }
+            Files.move(workFile.toPath(), archiveFile.toPath(), StandardCopyOption.REPLACE_EXISTING); // not to use half-written
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to dump the class data sharing archive: command=" + commandList, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted the dump of class data sharing.", e);
+        } finally {
+            workFile.delete(); // remains if failed
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "cdsArchive:{" + archiveFile + ", exists=" + archiveFile.isFile() + ", " + option + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getArchiveFile() {
+        return archiveFile;
+    }
+
+    public boolean exists() {
+        return archiveFile.isFile();
+    }
+}
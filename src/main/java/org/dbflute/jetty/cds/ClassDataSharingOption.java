@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.cds;
+
+/**
+ * The option of class data sharing (AppCDS) archive for training and boot.
+ * <pre>
+ * boot.useClassDataSharing("./work/jettyboot.jsa", op -&gt; op.trainingTimeoutSeconds(600));
+ * </pre>
+ * @author jflute
+ */
+public class ClassDataSharingOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected String classListPath; // null allowed: archive path + ".classlist"
+    protected boolean staticArchive; // class list and dump even if dynamic archive is supported
+    protected int trainingTimeoutSeconds = 300; // for readiness (background warm-up) in training
+    protected int dumpTimeoutSeconds = 300; // for dump process of static archive
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param classListPath The file path of class list written in training for static archive. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ClassDataSharingOption classListFile(String classListPath) {
+        if (classListPath == null) {
+            throw new IllegalArgumentException("The argument 'classListPath' should not be null.");
+        }
+        this.classListPath = classListPath;
+        return this;
+    }
+
+    /**
+     * Train by class list and dump process (Java10 or later) even if dynamic archive (Java13 or later) is supported. <br>
+     * The static archive can also contain classes loaded only by the dump process.
+     * @return this. (NotNull)
+     */
+    public ClassDataSharingOption asStaticArchive() {
+        staticArchive = true;
+        return this;
+    }
+
+    /**
+     * @param trainingTimeoutSeconds The seconds to wait for readiness (and warm-up) in training. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ClassDataSharingOption trainingTimeoutSeconds(int trainingTimeoutSeconds) {
+        assertPositive("trainingTimeoutSeconds", trainingTimeoutSeconds);
+        this.trainingTimeoutSeconds = trainingTimeoutSeconds;
+        return this;
+    }
+
+    /**
+     * @param dumpTimeoutSeconds The seconds to wait for dump process of static archive. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ClassDataSharingOption dumpTimeoutSeconds(int dumpTimeoutSeconds) {
+        assertPositive("dumpTimeoutSeconds", dumpTimeoutSeconds);
+        this.dumpTimeoutSeconds = dumpTimeoutSeconds;
+        return this;
+    }
+
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "cds:{classList=" + classListPath + ", static=" + staticArchive + ", trainingTimeout=" + trainingTimeoutSeconds
+                + "s, dumpTimeout=" + dumpTimeoutSeconds + "s}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getClassListPath() {
+        return classListPath;
+    }
+
+    public boolean isStaticArchive() {
+        return staticArchive;
+    }
+
+    public int getTrainingTimeoutSeconds() {
+        return trainingTimeoutSeconds;
+    }
+
+    public int getDumpTimeoutSeconds() {
+        return dumpTimeoutSeconds;
+    }
+}
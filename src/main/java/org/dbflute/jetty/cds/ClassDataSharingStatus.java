@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.cds;
+
+/**
+ * The status of class data sharing in current JVM, detected from JVM options, immutable.
+ * @author jflute
+ */
+public class ClassDataSharingStatus {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int javaVersion; // e.g. 8, 11, 17
+    protected final boolean sharingEnabled; // by java.vm.info, includes default JDK archive
+    protected final String sharedArchivePath; // null allowed: -XX:SharedArchiveFile not specified
+    protected final String dynamicDumpPath; // null allowed: -XX:ArchiveClassesAtExit not specified
+    protected final String classListDumpPath; // null allowed: -XX:DumpLoadedClassList not specified
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ClassDataSharingStatus(int javaVersion, boolean sharingEnabled, String sharedArchivePath, String dynamicDumpPath,
+            String classListDumpPath) {
+        this.javaVersion = javaVersion;
+        this.sharingEnabled = sharingEnabled;
+        this.sharedArchivePath = sharedArchivePath;
+        this.dynamicDumpPath = dynamicDumpPath;
+        this.classListDumpPath = classListDumpPath;
+    }
+
+    // ===================================================================================
+    //                                                                      Status Determine
+    //                                                                      ================
+    /**
+     * @return true if the JVM writes the archive at exit or the class list while running.
+     */
+    public boolean isTraining() {
+        return dynamicDumpPath != null || classListDumpPath != null;
+    }
+
+    /**
+     * @return true if the JVM is launched with the shared archive file and sharing is enabled.
+     */
+    public boolean isUsingArchive() {
+        return sharingEnabled && sharedArchivePath != null;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("cdsStatus:{java=").append(javaVersion).append(", sharing=").append(sharingEnabled);
+        if (sharedArchivePath != null) {
+            sb.append(", archive=").append(sharedArchivePath);
+        }
+        if (dynamicDumpPath != null) {
+            sb.append(", archiveAtExit=").append(dynamicDumpPath);
+        }
+        if (classListDumpPath != null) {
+            sb.append(", classList=").append(classListDumpPath);
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getJavaVersion() {
+        return javaVersion;
+    }
+
+    public boolean isSharingEnabled() {
+        return sharingEnabled;
+    }
+
+    public String getSharedArchivePath() {
+        return sharedArchivePath;
+    }
+
+    public String getDynamicDumpPath() {
+        return dynamicDumpPath;
+    }
+
+    public String getClassListDumpPath() {
+        return classListDumpPath;
+    }
+}
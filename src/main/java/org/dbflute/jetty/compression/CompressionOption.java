@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.compression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The option of response compression for the jetty server. <br>
+ * Dynamic responses are compressed by gzip on the fly,
+ * and static files are served from precompressed siblings (e.g. app.js.br, app.js.gz) if they exist.
+ * <pre>
+ * boot.useCompression(op -&gt; op.minCompressSize(1024).includeMimeTypes("application/json", "text/html"));
+ * </pre>
+ * @author jflute
+ */
+public class CompressionOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer minCompressSize; // null allowed: jetty default (32 bytes)
+    protected final List<String> includedMimeTypeList = new ArrayList<String>(); // empty means all compressible types
+    protected final List<String> includedPathList = new ArrayList<String>(); // empty means all paths
+    protected final List<String> excludedPathList = new ArrayList<String>();
+    protected final List<String> excludedAgentPatternList = new ArrayList<String>(); // empty means jetty default
+    protected Integer deflaterPoolCapacity; // null allowed: jetty default
+    protected Integer compressionLevel; // null allowed: deflater default
+    protected boolean suppressPrecompressed; // precompressed files are served as default
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param minCompressSize The minimum bytes of response to be compressed. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public CompressionOption minCompressSize(int minCompressSize) {
+        if (minCompressSize < 0) {
+            throw new IllegalArgumentException("The argument 'minCompressSize' should not be minus: " + minCompressSize);
+        }
+        this.minCompressSize = minCompressSize;
+        return this;
+    }
+
+    /**
+     * @param mimeTypes The MIME types to be compressed e.g. "application/json". (NotNull, NotEmpty)
+     * @return this. (NotNull)
+     */
+    public CompressionOption includeMimeTypes(String... mimeTypes) {
+        includedMimeTypeList.addAll(toVerifiedList("mimeTypes", mimeTypes));
+        return this;
+    }
+
+    /**
+     * @param pathSpecs The path specs to be compressed e.g. "/api/*", "^/assets/.*\.js$". (NotNull, NotEmpty)
+     * @return this. (NotNull)
+     */
+    public CompressionOption includePaths(String... pathSpecs) {
+        includedPathList.addAll(toVerifiedList("pathSpecs", pathSpecs));
+        return this;
+    }
+
+    /**
+     * @param pathSpecs The path specs not to be compressed e.g. "/download/*". (NotNull, NotEmpty)
+     * @return this. (NotNull)
+     */
+    public CompressionOption excludePaths(String... pathSpecs) {
+        excludedPathList.addAll(toVerifiedList("pathSpecs", pathSpecs));
+        return this;
+    }
+
+    /**
+     * @param agentPatterns The regular expressions of User-Agent not to be compressed. (NotNull, NotEmpty)
+     * @return this. (NotNull)
+     */
+    public CompressionOption excludeAgentPatterns(String... agentPatterns) {
+        excludedAgentPatternList.addAll(toVerifiedList("agentPatterns", agentPatterns));
+        return this;
+    }
+
+    /**
+     * @param deflaterPoolCapacity The count of pooled deflaters, -1 means unlimited. (NotZero)
+     * @return this. (NotNull)
+     */
+    public CompressionOption deflaterPoolCapacity(int deflaterPoolCapacity) {
+        if (deflaterPoolCapacity == 0 || deflaterPoolCapacity < -1) {
+            throw new IllegalArgumentException("The argument 'deflaterPoolCapacity' should be positive or -1: " + deflaterPoolCapacity);
+        }
+        this.deflaterPoolCapacity = deflaterPoolCapacity;
+        return this;
+    }
+
+    /**
+     * @param compressionLevel The level of deflater compression, 1 (fastest) to 9 (best).
+     * @return this. (NotNull)
+     */
+    public CompressionOption compressionLevel(int compressionLevel) {
+        if (compressionLevel < 1 || compressionLevel > 9) {
+            throw new IllegalArgumentException("The argument 'compressionLevel' should be 1 to 9: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
+        return this;
+    }
+
+    /**
+     * Suppress serving precompressed siblings (.br, .gz) of static files.
+     * @return this. (NotNull)
+     */
+    public CompressionOption suppressPrecompressed() {
+        suppressPrecompressed = true;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected List<String> toVerifiedList(String name, String[] values) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null or empty.");
+        }
+        for (String value : values) {
+            if (value == null || value.trim().isEmpty()) {
+                throw new IllegalArgumentException("The element of '" + name + "' should not be null or empty: " + Arrays.asList(values));
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "compression:{minSize=" + minCompressSize + ", mimeTypes=" + includedMimeTypeList + ", paths=" + includedPathList
+                + ", excludedPaths=" + excludedPathList + ", level=" + compressionLevel + ", precompressed=" + !suppressPrecompressed + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getMinCompressSize() {
+        return minCompressSize;
+    }
+
+    public List<String> getIncludedMimeTypeList() {
+        return Collections.unmodifiableList(includedMimeTypeList);
+    }
+
+    public List<String> getIncludedPathList() {
+        return Collections.unmodifiableList(includedPathList);
+    }
+
+    public List<String> getExcludedPathList() {
+        return Collections.unmodifiableList(excludedPathList);
+    }
+
+    public List<String> getExcludedAgentPatternList() {
+        return Collections.unmodifiableList(excludedAgentPatternList);
+    }
+
+    public Integer getDeflaterPoolCapacity() {
+        return deflaterPoolCapacity;
+    }
+
+    public Integer getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public boolean isSuppressPrecompressed() {
+        return suppressPrecompressed;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.connector;
+
+/**
+ * The option of server connector for the jetty server. <br>
+ * Not-specified attributes are treated as the jetty default.
+ * <pre>
+ * boot.useConnector(op -&gt; op.acceptors(2).selectors(4).acceptQueueSize(1024).idleTimeoutMillis(15000));
+ * </pre>
+ * @author jflute
+ */
+public class ConnectorOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer acceptors; // null allowed: heuristic of jetty (by cores)
+    protected Integer selectors; // null allowed: heuristic of jetty (by cores)
+    protected Integer acceptQueueSize; // null allowed: backlog of JVM default
+    protected Long idleTimeoutMillis; // null allowed: jetty default (30 seconds)
+    protected Boolean reuseAddress; // null allowed: jetty default (true)
+    protected boolean reusePort; // needs Java9 or later and OS support
+    protected Integer soLingerTime; // null allowed: jetty default (disabled)
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param acceptors The count of acceptor threads, 0 means accepting in selectors. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public ConnectorOption acceptors(int acceptors) {
+        assertNotMinus("acceptors", acceptors);
+        this.acceptors = acceptors;
+        return this;
+    }
+
+    /**
+     * @param selectors The count of selector threads. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ConnectorOption selectors(int selectors) {
+        assertPositive("selectors", selectors);
+        this.selectors = selectors;
+        return this;
+    }
+
+    /**
+     * @param acceptQueueSize The backlog of server socket for pending connections. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ConnectorOption acceptQueueSize(int acceptQueueSize) {
+        assertPositive("acceptQueueSize", acceptQueueSize);
+        this.acceptQueueSize = acceptQueueSize;
+        return this;
+    }
+
+    /**
+     * @param idleTimeoutMillis The milliseconds for idle (e.g. keep-alive) connection to be closed. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public ConnectorOption idleTimeoutMillis(long idleTimeoutMillis) {
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("The argument 'idleTimeoutMillis' should not be minus: " + idleTimeoutMillis);
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @param reuseAddress Does it set SO_REUSEADDR to the server socket?
+     * @return this. (NotNull)
+     */
+    public ConnectorOption reuseAddress(boolean reuseAddress) {
+        this.reuseAddress = reuseAddress;
+        return this;
+    }
+
+    /**
+     * Set SO_REUSEPORT to the server socket if the JVM and OS support it (ignored if unsupported).
+     * @return this. (NotNull)
+     */
+    public ConnectorOption reusePort() {
+        reusePort = true;
+        return this;
+    }
+
+    /**
+     * @param soLingerTime The seconds of SO_LINGER for accepted sockets, -1 means disabled.
+     * @return this. (NotNull)
+     */
+    public ConnectorOption soLingerTime(int soLingerTime) {
+        this.soLingerTime = soLingerTime;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void assertNotMinus(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be minus: " + value);
+        }
+    }
+
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "connector:{acceptors=" + acceptors + ", selectors=" + selectors + ", acceptQueue=" + acceptQueueSize + ", idleTimeout="
+                + idleTimeoutMillis + ", reuseAddress=" + reuseAddress + ", reusePort=" + reusePort + ", soLinger=" + soLingerTime + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getAcceptors() {
+        return acceptors;
+    }
+
+    public Integer getSelectors() {
+        return selectors;
+    }
+
+    public Integer getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    public Long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public Boolean getReuseAddress() {
+        return reuseAddress;
+    }
+
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    public Integer getSoLingerTime() {
+        return soLingerTime;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.connector;
+
+/**
+ * The option of HTTP configuration shared by all connectors (also TLS and warm-up). <br>
+ * Not-specified attributes are treated as the jetty default.
+ * <pre>
+ * boot.useHttpConfig(op -&gt; op.outputBufferSize(64 * 1024).outputAggregationSize(16 * 1024).suppressServerVersion());
+ * </pre>
+ * @author jflute
+ */
+public class HttpConfigOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer outputBufferSize; // null allowed: jetty default (32KB)
+    protected Integer outputAggregationSize; // null allowed: jetty default (quarter of output buffer)
+    protected Integer requestHeaderSize; // null allowed: jetty default (8KB)
+    protected Integer responseHeaderSize; // null allowed: jetty default (8KB)
+    protected Integer headerCacheSize; // null allowed: jetty default (1KB)
+    protected boolean suppressDateHeader; // sent as default
+    protected boolean suppressServerVersion; // sent as default
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param outputBufferSize The bytes of response buffer, committed (chunked) when it is full. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public HttpConfigOption outputBufferSize(int outputBufferSize) {
+        assertPositive("outputBufferSize", outputBufferSize);
+        this.outputBufferSize = outputBufferSize;
+        return this;
+    }
+
+    /**
+     * @param outputAggregationSize The bytes under which small writes are aggregated into the buffer. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public HttpConfigOption outputAggregationSize(int outputAggregationSize) {
+        assertPositive("outputAggregationSize", outputAggregationSize);
+        this.outputAggregationSize = outputAggregationSize;
+        return this;
+    }
+
+    /**
+     * @param requestHeaderSize The maximum bytes of request line and headers, 431 if over. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public HttpConfigOption requestHeaderSize(int requestHeaderSize) {
+        assertPositive("requestHeaderSize", requestHeaderSize);
+        this.requestHeaderSize = requestHeaderSize;
+        return this;
+    }
+
+    /**
+     * @param responseHeaderSize The maximum bytes of response headers. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public HttpConfigOption responseHeaderSize(int responseHeaderSize) {
+        assertPositive("responseHeaderSize", responseHeaderSize);
+        this.responseHeaderSize = responseHeaderSize;
+        return this;
+    }
+
+    /**
+     * @param headerCacheSize The bytes of cache for parsed header fields per connection. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public HttpConfigOption headerCacheSize(int headerCacheSize) {
+        if (headerCacheSize < 0) {
+            throw new IllegalArgumentException("The argument 'headerCacheSize' should not be minus: " + headerCacheSize);
+        }
+        this.headerCacheSize = headerCacheSize;
+        return this;
+    }
+
+    /**
+     * Not send Date header in responses.
+     * @return this. (NotNull)
+     */
+    public HttpConfigOption suppressDateHeader() {
+        suppressDateHeader = true;
+        return this;
+    }
+
+    /**
+     * Not send Server header (with jetty version) in responses.
+     * @return this. (NotNull)
+     */
+    public HttpConfigOption suppressServerVersion() {
+        suppressServerVersion = true;
+        return this;
+    }
+
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "httpConfig:{outputBuffer=" + outputBufferSize + ", outputAggregation=" + outputAggregationSize + ", requestHeader="
+                + requestHeaderSize + ", responseHeader=" + responseHeaderSize + ", headerCache=" + headerCacheSize + ", date="
+                + !suppressDateHeader + ", serverVersion=" + !suppressServerVersion + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    public Integer getOutputAggregationSize() {
+        return outputAggregationSize;
+    }
+
+    public Integer getRequestHeaderSize() {
+        return requestHeaderSize;
+    }
+
+    public Integer getResponseHeaderSize() {
+        return responseHeaderSize;
+    }
+
+    public Integer getHeaderCacheSize() {
+        return headerCacheSize;
+    }
+
+    public boolean isSuppressDateHeader() {
+        return suppressDateHeader;
+    }
+
+    public boolean isSuppressServerVersion() {
+        return suppressServerVersion;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.connector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The option of additional connector e.g. internal management port on loopback. <br>
+ * The connector can have own thread pool, so that its requests (e.g. health checks) do not queue
+ * behind public traffic, and contexts bound to it are served only by it.
+ * <pre>
+ * boot.addConnector("admin", 8081, op -&gt; op.host("127.0.0.1").maxThreads(8).bindContext("/admin").selectors(1));
+ * </pre>
+ * @author jflute
+ */
+public class NamedConnectorOption extends ConnectorOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String name; // not null, used as virtual host e.g. @admin
+    protected final int port;
+    protected String host; // null allowed: all network interfaces
+    protected Integer maxThreads; // null allowed: shared thread pool of server
+    protected final List<String> boundContextPathList = new ArrayList<String>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param name The unique name of connector. (NotNull)
+     * @param port The port number of connector.
+     */
+    public NamedConnectorOption(String name, int port) {
+        this.name = name;
+        this.port = port;
+    }
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param host The host (network interface) to bind e.g. 127.0.0.1 for local only. (NotNull)
+     * @return this. (NotNull)
+     */
+    public NamedConnectorOption host(String host) {
+        assertNotEmpty("host", host);
+        this.host = host;
+        return this;
+    }
+
+    /**
+     * Use the dedicated thread pool for the connector (selectors and requests), not shared with the server.
+     * @param maxThreads The maximum count of threads in the dedicated pool, including selectors and acceptors. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public NamedConnectorOption maxThreads(int maxThreads) {
+        assertPositive("maxThreads", maxThreads);
+        this.maxThreads = maxThreads;
+        return this;
+    }
+
+    /**
+     * Bind the web application to this connector, so the application is served only by this connector. <br>
+     * (the others are not bound so served by all connectors)
+     * @param contextPath The context path of the main or additional web application. (NotNull, EmptyAllowed)
+     * @return this. (NotNull)
+     */
+    public NamedConnectorOption bindContext(String contextPath) {
+        if (contextPath == null) {
+            throw new IllegalArgumentException("The argument 'contextPath' should not be null.");
+        }
+        boundContextPathList.add(contextPath);
+        return this;
+    }
+
+    protected void assertNotEmpty(String name, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null or empty.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "namedConnector:{" + name + ", port=" + port + ", host=" + host + ", maxThreads=" + maxThreads + ", bound="
+                + boundContextPathList + ", " + super.toString() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getName() {
+        return name;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public Integer getMaxThreads() {
+        return maxThreads;
+    }
+
+    public List<String> getBoundContextPathList() {
+        return Collections.unmodifiableList(boundContextPathList);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.connector;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+
+/**
+ * The server connector that can set SO_REUSEPORT before binding. <br>
+ * The other socket options are same as the plain server connector.
+ * @author jflute
+ */
+public class TunableServerConnector extends ServerConnector {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected boolean reusePort;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param server The jetty server for the connector. (NotNull)
+     * @param acceptors The count of acceptor threads, -1 means jetty heuristic.
+     * @param selectors The count of selector threads, -1 means jetty heuristic.
+     */
+    public TunableServerConnector(Server server, int acceptors, int selectors) {
+        super(server, acceptors, selectors); // HTTP/1.1 only
+    }
+
+    /**
+     * @param server The jetty server for the connector. (NotNull)
+     * @param acceptors The count of acceptor threads, -1 means jetty heuristic.
+     * @param selectors The count of selector threads, -1 means jetty heuristic.
+     * @param factories The connection factories e.g. HTTP/1.1, HTTP/2. (NotNull, NotEmpty)
+     */
+    public TunableServerConnector(Server server, int acceptors, int selectors, ConnectionFactory... factories) {
+        super(server, acceptors, selectors, factories);
+    }
+
+    /**
+     * @param server The jetty server for the connector. (NotNull)
+     * @param executor The dedicated executor for the connector. (NullAllowed: thread pool of server)
+     * @param acceptors The count of acceptor threads, -1 means jetty heuristic.
+     * @param selectors The count of selector threads, -1 means jetty heuristic.
+     * @param factories The connection factories e.g. HTTP/1.1, HTTP/2. (NotNull, NotEmpty)
+     */
+    public TunableServerConnector(Server server, Executor executor, int acceptors, int selectors, ConnectionFactory... factories) {
+        super(server, executor, null, null, acceptors, selectors, factories); // scheduler and buffer pool are default
+    }
+
+    // ===================================================================================
+    //                                                                      Accept Channel
+    //                                                                      ==============
+    @Override
+    protected ServerSocketChannel openAcceptChannel() throws IOException {
+        if (!reusePort || isInheritChannel()) {
+            return super.openAcceptChannel();
+        }
+        final ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            final SocketOption<Boolean> reusePortOption = findReusePortOption();
+            if (reusePortOption != null && channel.supportedOptions().contains(reusePortOption)) {
+                channel.setOption(reusePortOption, true);
+            }
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, getReuseAddress());
+            final String host = getHost();
+            final InetSocketAddress address = host != null ? new InetSocketAddress(host, getPort()) : new InetSocketAddress(getPort());
+            channel.bind(address, getAcceptQueueSize());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected SocketOption<Boolean> findReusePortOption() { // null allowed: Java8
+        try {
+            return (SocketOption<Boolean>) StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    public void setReusePort(boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.context;
+
+/**
+ * The option of additional web application hosted in the same server (same port and thread pool). <br>
+ * Either war or resource base is required.
+ * <pre>
+ * boot.addWebApp("/admin", op -&gt; op.war("./apps/admin.war"));
+ * boot.addWebApp("/docs", op -&gt; op.resourceBase("./apps/docs"));
+ * </pre>
+ * @author jflute
+ */
+public class WebAppOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String contextPath; // not null
+    protected String warPath; // null allowed: when resource base
+    protected String resourceBase; // null allowed: when war
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param contextPath The context path of the web application, basically has slash prefix. (NotNull, EmptyAllowed)
+     */
+    public WebAppOption(String contextPath) {
+        this.contextPath = contextPath;
+    }
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param warPath The path of war file or exploded war directory. (NotNull)
+     * @return this. (NotNull)
+     */
+    public WebAppOption war(String warPath) {
+        assertNotEmpty("warPath", warPath);
+        this.warPath = warPath;
+        this.resourceBase = null;
+        return this;
+    }
+
+    /**
+     * @param resourceBase The path or URI of webapp directory (classes are from the boot classpath). (NotNull)
+     * @return this. (NotNull)
+     */
+    public WebAppOption resourceBase(String resourceBase) {
+        assertNotEmpty("resourceBase", resourceBase);
+        this.resourceBase = resourceBase;
+        this.warPath = null;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void assertNotEmpty(String name, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null or empty.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "webApp:{" + contextPath + ", war=" + warPath + ", resourceBase=" + resourceBase + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    public String getWarPath() {
+        return warPath;
+    }
+
+    public String getResourceBase() {
+        return resourceBase;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.http2;
+
+/**
+ * The option of HTTP/2 for the jetty server. <br>
+ * Not-specified attributes are treated as the jetty default.
+ * <pre>
+ * boot.useHttp2(op -&gt; op.maxConcurrentStreams(256).initialStreamRecvWindow(1024 * 1024));
+ * </pre>
+ * @author jflute
+ */
+public class Http2Option {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer maxConcurrentStreams; // null allowed: jetty default (128)
+    protected Integer initialStreamRecvWindow; // null allowed: jetty default (512KB)
+    protected Integer initialSessionRecvWindow; // null allowed: jetty default (1MB)
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param maxConcurrentStreams The maximum count of concurrent streams per connection. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public Http2Option maxConcurrentStreams(int maxConcurrentStreams) {
+        assertPositive("maxConcurrentStreams", maxConcurrentStreams);
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        return this;
+    }
+
+    /**
+     * @param initialStreamRecvWindow The initial flow-control window bytes of each stream. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public Http2Option initialStreamRecvWindow(int initialStreamRecvWindow) {
+        assertPositive("initialStreamRecvWindow", initialStreamRecvWindow);
+        this.initialStreamRecvWindow = initialStreamRecvWindow;
+        return this;
+    }
+
+    /**
+     * @param initialSessionRecvWindow The initial flow-control window bytes of each connection. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public Http2Option initialSessionRecvWindow(int initialSessionRecvWindow) {
+        assertPositive("initialSessionRecvWindow", initialSessionRecvWindow);
+        this.initialSessionRecvWindow = initialSessionRecvWindow;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "http2:{maxStreams=" + maxConcurrentStreams + ", streamWindow=" + initialStreamRecvWindow + ", sessionWindow="
+                + initialSessionRecvWindow + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    public Integer getInitialStreamRecvWindow() {
+        return initialStreamRecvWindow;
+    }
+
+    public Integer getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+}
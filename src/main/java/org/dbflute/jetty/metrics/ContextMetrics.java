@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The request metrics of one web application context, updated by {@link RequestMetricsHandler}.
+ * @author jflute
+ */
+public class ContextMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String contextPath;
+    protected final LongAdder requestCount = new LongAdder();
+    protected final AtomicInteger activeRequests = new AtomicInteger();
+    protected final AtomicInteger maxActiveRequests = new AtomicInteger();
+    protected final LongAdder[] statusClassCounts = new LongAdder[6]; // index is e.g. 2 for 2xx, 0 for unknown
+    protected final LongAdder bytesIn = new LongAdder();
+    protected final LongAdder bytesOut = new LongAdder();
+    protected final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param contextPath The context path of web application e.g. /harbor. (NotNull)
+     */
+    public ContextMetrics(String contextPath) {
+        this.contextPath = contextPath;
+        for (int i = 0; i < statusClassCounts.length; i++) {
+            statusClassCounts[i] = new LongAdder();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void begin() {
+        final int active = activeRequests.incrementAndGet();
+        int currentMax;
+        while (active > (currentMax = maxActiveRequests.get()) && !maxActiveRequests.compareAndSet(currentMax, active)) {
+            // retry
+        }
+    }
+
+    /**
+     * @param status The HTTP status of response e.g. 200.
+     * @param received The bytes of request content.
+     * @param written The bytes of response content written by the context (before compression).
+     * @param elapsedNanos The nanoseconds from request begin to complete.
+     */
+    public void complete(int status, long received, long written, long elapsedNanos) {
+        activeRequests.decrementAndGet();
+        requestCount.increment();
+        final int statusClass = status / 100;
+        statusClassCounts[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+        bytesIn.add(Math.max(0L, received));
+        bytesOut.add(Math.max(0L, written));
+        latencyHistogram.record(elapsedNanos / 1000L);
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    public ContextMetricsSnapshot toSnapshot() {
+        final long[] statusCounts = new long[statusClassCounts.length];
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] = statusClassCounts[i].sum();
+        }
+        final LatencyHistogram histogram = latencyHistogram;
+        return new ContextMetricsSnapshot(contextPath, requestCount.sum(), activeRequests.get(), maxActiveRequests.get(), statusCounts,
+                bytesIn.sum(), bytesOut.sum(), histogram.getMeanMicros(), histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(90.0), histogram.getValueAtPercentile(99.0), histogram.getValueAtPercentile(99.9),
+                histogram.getMaxMicros());
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+}
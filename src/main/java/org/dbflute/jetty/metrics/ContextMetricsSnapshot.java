@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+/**
+ * The immutable snapshot of request metrics of one context, latencies are in microseconds.
+ * @author jflute
+ */
+public class ContextMetricsSnapshot {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String contextPath;
+    protected final long requestCount; // completed requests
+    protected final int activeRequests;
+    protected final int maxActiveRequests;
+    protected final long[] statusClassCounts; // index is e.g. 2 for 2xx, 0 for unknown
+    protected final long bytesIn;
+    protected final long bytesOut;
+    protected final double latencyMean;
+    protected final long latencyP50;
+    protected final long latencyP90;
+    protected final long latencyP99;
+    protected final long latencyP999;
+    protected final long latencyMax;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ContextMetricsSnapshot(String contextPath, long requestCount, int activeRequests, int maxActiveRequests,
+            long[] statusClassCounts, long bytesIn, long bytesOut, double latencyMean, long latencyP50, long latencyP90,
+            long latencyP99, long latencyP999, long latencyMax) {
+        this.contextPath = contextPath;
+        this.requestCount = requestCount;
+        this.activeRequests = activeRequests;
+        this.maxActiveRequests = maxActiveRequests;
+        this.statusClassCounts = statusClassCounts;
+        this.bytesIn = bytesIn;
+        this.bytesOut = bytesOut;
+        this.latencyMean = latencyMean;
+        this.latencyP50 = latencyP50;
+        this.latencyP90 = latencyP90;
+        this.latencyP99 = latencyP99;
+        this.latencyP999 = latencyP999;
+        this.latencyMax = latencyMax;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public String toDisplayString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(contextPath).append(": requests=").append(requestCount);
+        sb.append(", active=").append(activeRequests).append(" (max ").append(maxActiveRequests).append(")");
+        sb.append(", status={1xx=").append(statusClassCounts[1]).append(", 2xx=").append(statusClassCounts[2]);
+        sb.append(", 3xx=").append(statusClassCounts[3]).append(", 4xx=").append(statusClassCounts[4]);
+        sb.append(", 5xx=").append(statusClassCounts[5]).append("}");
+        sb.append(", bytes={in=").append(bytesIn).append(", out=").append(bytesOut).append("}");
+        sb.append(", latency={mean=").append(formatMillis(latencyMean)).append(", p50=").append(formatMillis(latencyP50));
+        sb.append(", p90=").append(formatMillis(latencyP90)).append(", p99=").append(formatMillis(latencyP99));
+        sb.append(", p99.9=").append(formatMillis(latencyP999)).append(", max=").append(formatMillis(latencyMax)).append("}");
+        return sb.toString();
+    }
+
+    protected String formatMillis(double micros) {
+        return String.format("%.3fms", micros / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return toDisplayString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public int getActiveRequests() {
+        return activeRequests;
+    }
+
+    public int getMaxActiveRequests() {
+        return maxActiveRequests;
+    }
+
+    /**
+     * @param statusClass The class of HTTP status e.g. 2 for 2xx, 5 for 5xx. (1 to 5)
+     * @return The count of completed requests with the status class.
+     */
+    public long getStatusClassCount(int statusClass) {
+        if (statusClass < 1 || statusClass > 5) {
+            throw new IllegalArgumentException("The argument 'statusClass' should be 1 to 5: " + statusClass);
+        }
+        return statusClassCounts[statusClass];
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    public double getLatencyMean() {
+        return latencyMean;
+    }
+
+    public long getLatencyP50() {
+        return latencyP50;
+    }
+
+    public long getLatencyP90() {
+        return latencyP90;
+    }
+
+    public long getLatencyP99() {
+        return latencyP99;
+    }
+
+    public long getLatencyP999() {
+        return latencyP999;
+    }
+
+    public long getLatencyMax() {
+        return latencyMax;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The lock-free histogram of latencies in microseconds, with log-linear buckets like HdrHistogram. <br>
+ * Each power of two is split into 16 linear sub-buckets, so recorded values have about 6% precision
+ * with fixed memory (no allocation on record).
+ * @author jflute
+ */
+public class LatencyHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int SUB_BUCKET_BITS = 4;
+    protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 16
+    protected static final int MAX_EXPONENT = 40; // about 12 days in microseconds, larger is clamped
+    protected static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final AtomicLongArray bucketArray = new AtomicLongArray(BUCKET_COUNT);
+    protected final LongAdder totalCount = new LongAdder();
+    protected final LongAdder totalMicros = new LongAdder();
+    protected final AtomicLong maxMicros = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param micros The latency in microseconds. (NotMinus: minus is treated as zero)
+     */
+    public void record(long micros) {
+        final long value = Math.max(0L, micros);
+        bucketArray.incrementAndGet(toBucketIndex(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        long currentMax;
+        while (value > (currentMax = maxMicros.get()) && !maxMicros.compareAndSet(currentMax, value)) {
+            // retry
+        }
+    }
+
+    protected int toBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        final int sub = (int) ((Math.min(value, (1L << (MAX_EXPONENT + 1)) - 1) >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + sub;
+    }
+
+    protected long toBucketUpperValue(int index) { // inclusive highest value in the bucket
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+        final int sub = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKET_COUNT + sub + 1) << shift) - 1;
+    }
+
+    // ===================================================================================
+    //                                                                          Percentile
+    //                                                                          ==========
+    /**
+     * @param percentile The percentile e.g. 99.9 (0 to 100)
+     * @return The upper value of the bucket that contains the percentile in microseconds, 0 if no record.
+     */
+    public long getValueAtPercentile(double percentile) {
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) { // copy first for consistent total
+            counts[i] = bucketArray.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += counts[i];
+            if (accumulated >= rank) {
+                return Math.min(toBucketUpperValue(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        final long count = totalCount.sum();
+        return count > 0 ? (double) totalMicros.sum() / count : 0.0;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The immutable snapshot of request metrics per context and thread pool utilization. <br>
+ * Thread pool attributes are -1 if unknown e.g. no queue for virtual threads.
+ * <pre>
+ * MetricsSnapshot snapshot = boot.getMetricsSnapshot();
+ * System.out.println(snapshot.toDisplayString());
+ * </pre>
+ * @author jflute
+ */
+public class MetricsSnapshot {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<ContextMetricsSnapshot> contextList;
+    protected final long uptimeMillis; // since metrics began
+    protected final int threads;
+    protected final int idleThreads;
+    protected final int busyThreads;
+    protected final int maxThreads;
+    protected final int queueSize; // jobs waiting for thread
+    protected final double utilization; // 0.0 to 1.0
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public MetricsSnapshot(List<ContextMetricsSnapshot> contextList, long uptimeMillis, int threads, int idleThreads, int busyThreads,
+            int maxThreads, int queueSize, double utilization) {
+        this.contextList = Collections.unmodifiableList(contextList);
+        this.uptimeMillis = uptimeMillis;
+        this.threads = threads;
+        this.idleThreads = idleThreads;
+        this.busyThreads = busyThreads;
+        this.maxThreads = maxThreads;
+        this.queueSize = queueSize;
+        this.utilization = utilization;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public String toDisplayString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Metrics] uptime=").append(uptimeMillis).append("ms");
+        sb.append("\n  (threadPool) threads=").append(threads).append(", idle=").append(idleThreads);
+        sb.append(", busy=").append(busyThreads).append(", max=").append(maxThreads);
+        sb.append(", queue=").append(queueSize).append(", utilization=").append(String.format("%.2f", utilization));
+        for (ContextMetricsSnapshot context : contextList) {
+            sb.append("\n  ").append(context.toDisplayString());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toDisplayString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<ContextMetricsSnapshot> getContextList() {
+        return contextList;
+    }
+
+    /**
+     * @param contextPath The context path of web application e.g. /harbor. (NotNull)
+     * @return The snapshot of the context. (NullAllowed: if not found)
+     */
+    public ContextMetricsSnapshot findContext(String contextPath) {
+        return contextList.stream().filter(context -> context.getContextPath().equals(contextPath)).findFirst().orElse(null);
+    }
+
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getIdleThreads() {
+        return idleThreads;
+    }
+
+    public int getBusyThreads() {
+        return busyThreads;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * The registry of request metrics per context path, with the thread pool of the server.
+ * @author jflute
+ */
+public class RequestMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, ContextMetrics> contextMetricsMap = new ConcurrentHashMap<String, ContextMetrics>();
+    protected final long beginMillis = System.currentTimeMillis();
+    protected volatile ThreadPool threadPool; // null allowed: before server created
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * @param contextPath The context path of web application e.g. /harbor. (NotNull)
+     * @return The metrics of the context, registered if not yet. (NotNull)
+     */
+    public ContextMetrics findOrRegister(String contextPath) {
+        return contextMetricsMap.computeIfAbsent(contextPath, key -> new ContextMetrics(key));
+    }
+
+    /**
+     * @param threadPool The thread pool of the server to observe its utilization. (NotNull)
+     */
+    public void observeThreadPool(ThreadPool threadPool) {
+        this.threadPool = threadPool;
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    /**
+     * @return The snapshot of current metrics. (NotNull)
+     */
+    public MetricsSnapshot toSnapshot() {
+        final List<ContextMetricsSnapshot> contextList = new ArrayList<ContextMetricsSnapshot>();
+        contextMetricsMap.values().forEach(metrics -> contextList.add(metrics.toSnapshot()));
+        contextList.sort((o1, o2) -> o1.getContextPath().compareTo(o2.getContextPath()));
+        final ThreadPool pool = threadPool;
+        int threads = -1, idleThreads = -1, busyThreads = -1, maxThreads = -1, queueSize = -1;
+        double utilization = -1.0;
+        if (pool != null) {
+            threads = pool.getThreads();
+            idleThreads = pool.getIdleThreads();
+            if (pool instanceof QueuedThreadPool) {
+                final QueuedThreadPool qtp = (QueuedThreadPool) pool;
+                busyThreads = qtp.getBusyThreads();
+                maxThreads = qtp.getMaxThreads();
+                queueSize = qtp.getQueueSize();
+                utilization = qtp.getUtilizationRate();
+            } else { // e.g. virtual threads, no queue
+                busyThreads = threads - idleThreads;
+            }
+        }
+        final long uptimeMillis = System.currentTimeMillis() - beginMillis;
+        return new MetricsSnapshot(contextList, uptimeMillis, threads, idleThreads, busyThreads, maxThreads, queueSize, utilization);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.UnavailableException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.jetty.util.BoJtCompletionListener;
+import org.dbflute.jetty.warmup.WarmupConnector;
+import org.eclipse.jetty.http.BadMessageException;
+import org.eclipse.jetty.server.HttpChannelState;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+/**
+ * The handler that records request metrics of the wrapped context. <br>
+ * Asynchronous requests are recorded when they are completed, not when the first dispatch returns.
+ * The exception thrown by the application is recorded as the error status that jetty will send.
+ * Requests replayed by warm-up are not recorded.
+ * @author jflute
+ */
+public class RequestMetricsHandler extends HandlerWrapper {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ContextMetrics metrics;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param metrics The metrics of the wrapped context. (NotNull)
+     */
+    public RequestMetricsHandler(ContextMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // ===================================================================================
+    //                                                                              Handle
+    //                                                                              ======
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, ServletException {
+        final HttpChannelState state = baseRequest.getHttpChannelState();
+        if (!state.isInitial()) { // async dispatch, recorded by listener
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        if (WarmupConnector.isWarmupRequest(baseRequest)) { // not real traffic, cold latencies are not recorded
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        final long beginNanos = System.nanoTime();
+        metrics.begin();
+        Throwable failure = null;
+        try {
+            super.handle(target, baseRequest, request, response);
+        } catch (IOException | ServletException | RuntimeException | Error e) { // status is not set yet
+            failure = e;
+            throw e;
+        } finally {
+            final Throwable thrown = failure; // committed by error dispatch if async
+            BoJtCompletionListener.whenCompleted(state, () -> complete(baseRequest, beginNanos, thrown));
+        }
+    }
+
+    protected void complete(Request baseRequest, long beginNanos, Throwable failure) {
+        final long elapsedNanos = System.nanoTime() - beginNanos;
+        final int status = deriveStatus(baseRequest, failure);
+        final long received = baseRequest.getHttpInput().getContentReceived();
+        final long written = baseRequest.getResponse().getHttpOutput().getWritten(); // also buffered (not flushed yet)
+        metrics.complete(status, received, written, elapsedNanos);
+    }
+
+    protected int deriveStatus(Request baseRequest, Throwable failure) { // same as jetty's handling of thrown exception
+        if (failure == null || baseRequest.getResponse().isCommitted()) { // committed status is sent as it is
+            return baseRequest.getResponse().getStatus();
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) { // e.g. wrapped by ServletException
+            if (cause instanceof BadMessageException) {
+                return ((BadMessageException) cause).getCode();
+            }
+            if (cause instanceof UnavailableException) {
+                return ((UnavailableException) cause).isPermanent() ? HttpServletResponse.SC_NOT_FOUND
+                        : HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+            }
+        }
+        return HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ContextMetrics getMetrics() {
+        return metrics;
+    }
+}
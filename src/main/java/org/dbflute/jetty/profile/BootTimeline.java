@@ -0,0 +1,209 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.profile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The timeline of boot phases, to find which phase makes the boot slow.
+ * <pre>
+ * JettyBoot boot = new JettyBoot(8151, "/fortress").useBootProfiler().go();
+ * BootTimeline timeline = boot.getBootTimeline();
+ * </pre>
+ * @author jflute
+ */
+public class BootTimeline {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long beginNanos = System.nanoTime();
+    protected final List<BootPhase> phaseList = new ArrayList<BootPhase>(); // in begin order
+    protected final Map<String, AtomicLong> configurationNanosMap = new LinkedHashMap<String, AtomicLong>(); // key is simple name
+    protected final AtomicLong annotationScannedJarCount = new AtomicLong();
+    protected final AtomicLong inspectedClassCount = new AtomicLong(); // parsed concurrently
+    protected int metaInfScannedJarCount;
+    protected int currentDepth;
+    protected Long totalNanos; // null allowed: until finished
+
+    // ===================================================================================
+    //                                                                               Phase
+    //                                                                               =====
+    /**
+     * Begin the phase, which is nested in the current phase if exists.
+     * @param name The name of phase e.g. prepareServer. (NotNull)
+     * @return The begun phase to be finished. (NotNull)
+     */
+    public synchronized BootPhase beginPhase(String name) {
+        final BootPhase phase = new BootPhase(name, currentDepth, System.nanoTime());
+        phaseList.add(phase);
+        ++currentDepth;
+        return phase;
+    }
+
+    /**
+     * @param phase The phase begun by {@link #beginPhase(String)}. (NotNull)
+     */
+    public synchronized void finishPhase(BootPhase phase) {
+        phase.finish(System.nanoTime());
+        --currentDepth;
+    }
+
+    public synchronized void finish() {
+        totalNanos = System.nanoTime() - beginNanos;
+    }
+
+    // ===================================================================================
+    //                                                                       Configuration
+    //                                                                       =============
+    /**
+     * @param configurationName The simple name of jetty configuration e.g. WebInfConfiguration. (NotNull)
+     * @param elapsedNanos The elapsed nanoseconds of one configuration step.
+     */
+    public void addConfigurationNanos(String configurationName, long elapsedNanos) {
+        final AtomicLong nanos;
+        synchronized (configurationNanosMap) {
+            nanos = configurationNanosMap.computeIfAbsent(configurationName, key -> new AtomicLong());
+        }
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    // ===================================================================================
+    //                                                                             Counter
+    //                                                                             =======
+    public void addAnnotationScannedJarCount(long count) {
+        annotationScannedJarCount.addAndGet(count);
+    }
+
+    public void incrementInspectedClassCount() {
+        inspectedClassCount.incrementAndGet();
+    }
+
+    public synchronized void setMetaInfScannedJarCount(int metaInfScannedJarCount) {
+        this.metaInfScannedJarCount = metaInfScannedJarCount;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public synchronized String toDisplayString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Boot Timeline] total=").append(formatMillis(totalNanos != null ? totalNanos : System.nanoTime() - beginNanos));
+        for (BootPhase phase : phaseList) {
+            sb.append("\n  ");
+            for (int i = 0; i < phase.getDepth(); i++) {
+                sb.append("  ");
+            }
+            sb.append(phase.getName()).append(": ").append(phase.isFinished() ? formatMillis(phase.getElapsedNanos()) : "(unfinished)");
+        }
+        synchronized (configurationNanosMap) {
+            for (Map.Entry<String, AtomicLong> entry : configurationNanosMap.entrySet()) {
+                sb.append("\n  (configuration) ").append(entry.getKey()).append(": ").append(formatMillis(entry.getValue().get()));
+            }
+        }
+        sb.append("\n  (scan) metaInfJars=").append(metaInfScannedJarCount);
+        sb.append(", annotationJars=").append(annotationScannedJarCount.get());
+        sb.append(", inspectedClasses=").append(inspectedClassCount.get());
+        return sb.toString();
+    }
+
+    protected String formatMillis(long nanos) {
+        return String.format("%.3fms", nanos / 1000000.0);
+    }
+
+    @Override
+    public String toString() {
+        return toDisplayString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public synchronized List<BootPhase> getPhaseList() {
+        return Collections.unmodifiableList(new ArrayList<BootPhase>(phaseList));
+    }
+
+    public Map<String, Long> getConfigurationNanosMap() {
+        final Map<String, Long> map = new LinkedHashMap<String, Long>();
+        synchronized (configurationNanosMap) {
+            configurationNanosMap.forEach((key, value) -> map.put(key, value.get()));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    public long getAnnotationScannedJarCount() {
+        return annotationScannedJarCount.get();
+    }
+
+    public long getInspectedClassCount() {
+        return inspectedClassCount.get();
+    }
+
+    public synchronized int getMetaInfScannedJarCount() {
+        return metaInfScannedJarCount;
+    }
+
+    public synchronized Long getTotalNanos() {
+        return totalNanos;
+    }
+
+    // ===================================================================================
+    //                                                                          Boot Phase
+    //                                                                          ==========
+    public static class BootPhase {
+
+        protected final String name;
+        protected final int depth; // 0 origin
+        protected final long beginNanos;
+        protected volatile long elapsedNanos = -1; // minus means unfinished
+
+        public BootPhase(String name, int depth, long beginNanos) {
+            this.name = name;
+            this.depth = depth;
+            this.beginNanos = beginNanos;
+        }
+
+        protected void finish(long endNanos) {
+            elapsedNanos = endNanos - beginNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public boolean isFinished() {
+            return elapsedNanos >= 0;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "phase:{" + name + ", depth=" + depth + ", elapsed=" + elapsedNanos + "ns}";
+        }
+    }
+}
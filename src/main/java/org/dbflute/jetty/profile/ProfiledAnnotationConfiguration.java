@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.profile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import org.eclipse.jetty.annotations.AnnotationConfiguration;
+import org.eclipse.jetty.annotations.AnnotationParser;
+import org.eclipse.jetty.util.resource.Resource;
+
+/**
+ * The annotation configuration that counts scanned jars and inspected classes.
+ * @author jflute
+ */
+public class ProfiledAnnotationConfiguration extends AnnotationConfiguration {
+
+    protected final BootTimeline bootTimeline;
+
+    /**
+     * @param bootTimeline The timeline to record counts. (NotNull)
+     */
+    public ProfiledAnnotationConfiguration(BootTimeline bootTimeline) {
+        this.bootTimeline = bootTimeline;
+    }
+
+    @Override
+    protected AnnotationParser createAnnotationParser(int javaPlatform) {
+        return new AnnotationParser(javaPlatform) {
+            @Override
+            protected void parseJar(Set<? extends Handler> handlers, Resource jarResource) throws Exception {
+                bootTimeline.addAnnotationScannedJarCount(1); // jetty statistics are only when debug enabled
+                super.parseJar(handlers, jarResource);
+            }
+
+            @Override
+            protected void scanClass(Set<? extends Handler> handlers, Resource containingResource, InputStream is) throws IOException {
+                bootTimeline.incrementInspectedClassCount();
+                super.scanClass(handlers, containingResource, is);
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.profile;
+
+import org.eclipse.jetty.webapp.Configuration;
+import org.eclipse.jetty.webapp.WebAppContext;
+
+/**
+ * The configuration wrapper that measures the elapsed time of each step of the delegate.
+ * @author jflute
+ */
+public class ProfiledConfiguration implements Configuration {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Configuration delegate;
+    protected final BootTimeline bootTimeline;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param delegate The actual configuration of jetty. (NotNull)
+     * @param bootTimeline The timeline to record elapsed time. (NotNull)
+     */
+    public ProfiledConfiguration(Configuration delegate, BootTimeline bootTimeline) {
+        this.delegate = delegate;
+        this.bootTimeline = bootTimeline;
+    }
+
+    // ===================================================================================
+    //                                                                           Configure
+    //                                                                           =========
+    @Override
+    public void preConfigure(WebAppContext context) throws Exception {
+        final long before = System.nanoTime();
+        try {
+            delegate.preConfigure(context);
+        } finally {
+            record(before);
+        }
+    }
+
+    @Override
+    public void configure(WebAppContext context) throws Exception {
+        final long before = System.nanoTime();
+        try {
+            delegate.configure(context);
+        } finally {
+            record(before);
+        }
+    }
+
+    @Override
+    public void postConfigure(WebAppContext context) throws Exception {
+        final long before = System.nanoTime();
+        try {
+            delegate.postConfigure(context);
+        } finally {
+            record(before);
+        }
+    }
+
+    protected void record(long before) {
+        bootTimeline.addConfigurationNanos(deriveConfigurationName(), System.nanoTime() - before);
+    }
+
+    protected String deriveConfigurationName() { // e.g. AnnotationConfiguration even if extended
+        Class<?> type = delegate.getClass();
+        while (!type.getName().startsWith("org.eclipse.jetty.") && type.getSuperclass() != null) {
+            type = type.getSuperclass();
+        }
+        return type.getName().startsWith("org.eclipse.jetty.") ? type.getSimpleName() : delegate.getClass().getName();
+    }
+
+    // ===================================================================================
+    //                                                                         Deconfigure
+    //                                                                         ===========
+    @Override
+    public void deconfigure(WebAppContext context) throws Exception {
+        delegate.deconfigure(context);
+    }
+
+    @Override
+    public void destroy(WebAppContext context) throws Exception {
+        delegate.destroy(context);
+    }
+
+    @Override
+    public void cloneConfigure(WebAppContext template, WebAppContext context) throws Exception {
+        delegate.cloneConfigure(template, context);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Configuration getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return "profiled:" + delegate;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.quickstart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.jetty.quickstart.QuickStartDescriptorGenerator;
+import org.eclipse.jetty.webapp.WebAppContext;
+
+/**
+ * The precomputed web descriptor (quickstart-web.xml) with the fingerprint of the application. <br>
+ * The descriptor contains all discovered servlets, filters, listeners, fragments, TLDs and META-INF resources,
+ * so scanning can be skipped when it is available.
+ * @author jflute
+ */
+public class QuickstartDescriptor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File descriptorFile;
+    protected final String fingerprint; // to detect stale descriptor
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param descriptorFile The file of quickstart descriptor. (NotNull)
+     * @param fingerprint The fingerprint of current application e.g. war path and size. (NotNull)
+     */
+    public QuickstartDescriptor(File descriptorFile, String fingerprint) {
+        this.descriptorFile = descriptorFile;
+        this.fingerprint = fingerprint;
+    }
+
+    // ===================================================================================
+    //                                                                        Availability
+    //                                                                        ============
+    /**
+     * @return Is the descriptor generated for the current application?
+     */
+    public boolean isAvailable() {
+        final File fingerprintFile = getFingerprintFile();
+        if (!descriptorFile.exists() || !fingerprintFile.exists()) {
+            return false;
+        }
+        try {
+            final String existing = new String(Files.readAllBytes(fingerprintFile.toPath()), StandardCharsets.UTF_8);
+            return fingerprint.equals(existing);
+        } catch (IOException continued) { // regenerate it
+            return false;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Generate
+    //                                                                            ========
+    /**
+     * Generate the descriptor from the configured (scanned) context. <br>
+     * The file is replaced atomically as possible, so the other booting process does not read broken file.
+     * @param context The web application context configured by scanning, before web application started. (NotNull)
+     */
+    public void generate(WebAppContext context) {
+        final File parentDir = descriptorFile.getAbsoluteFile().getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        final File tmpFile = new File(descriptorFile.getPath() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmpFile.toPath())) {
+                createGenerator(context).generateQuickStartWebXml(out);
+            }
+            Files.move(tmpFile.toPath(), descriptorFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.write(getFingerprintFile().toPath(), fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to generate the quickstart descriptor: " + descriptorFile, e);
+        } finally {
+            tmpFile.delete(); // if failed
+        }
+    }
+
+    protected QuickStartDescriptorGenerator createGenerator(WebAppContext context) {
+        final String originAttribute = QuickStartDescriptorGenerator.DEFAULT_ORIGIN_ATTRIBUTE_NAME;
+        return new QuickStartDescriptorGenerator(context, null, originAttribute, false);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getDescriptorFile() {
+        return descriptorFile;
+    }
+
+    public File getFingerprintFile() {
+        return new File(descriptorFile.getPath() + FINGERPRINT_SUFFIX);
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public String toString() {
+        return "quickstart:{" + descriptorFile + "}";
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.quickstart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.stream.Stream;
+
+/**
+ * The builder of quickstart fingerprint, from options and contents of the application. <br>
+ * Directories are digested by file count, total size and newest modified time of their files,
+ * because the directory entry itself is not changed when e.g. a class file is updated.
+ * <pre>
+ * e.g. war=/.../app.war,contextPath=/harbor,annotation=true,...,contents=3f9a0c...
+ * </pre>
+ * @author jflute
+ */
+public class QuickstartFingerprint {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final StringBuilder optionSb = new StringBuilder(); // readable part
+    protected final StringBuilder contentsSb = new StringBuilder(); // digested part
+
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * @param name The name of the option. (NotNull)
+     * @param value The value of the option. (NullAllowed)
+     * @return this. (NotNull)
+     */
+    public QuickstartFingerprint option(String name, Object value) {
+        if (optionSb.length() > 0) {
+            optionSb.append(",");
+        }
+        optionSb.append(name).append("=").append(value);
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                            Contents
+    //                                                                            ========
+    /**
+     * @param file The file or directory of the application contents. (NotNull, NotRequiredExisting)
+     * @return this. (NotNull)
+     */
+    public QuickstartFingerprint contents(File file) {
+        contentsSb.append(file.getAbsolutePath()).append("|");
+        if (file.isDirectory()) {
+            appendDirectory(file.toPath());
+        } else if (file.exists()) {
+            contentsSb.append(file.length()).append("|").append(file.lastModified());
+        } else {
+            contentsSb.append("none");
+        }
+        contentsSb.append("\n");
+        return this;
+    }
+
+    protected void appendDirectory(Path dir) { // only file metadata, not to read contents
+        final long[] summary = new long[3]; // count, size, newest
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.forEach(path -> {
+                final BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (attrs.isRegularFile()) {
+                    ++summary[0];
+                    summary[1] += attrs.size();
+                    summary[2] = Math.max(summary[2], attrs.lastModifiedTime().toMillis());
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Failed to walk the directory for quickstart fingerprint: " + dir, e);
+        }
+        contentsSb.append(summary[0]).append("|").append(summary[1]).append("|").append(summary[2]);
+    }
+
+    // ===================================================================================
+    //                                                                               Build
+    //                                                                               =====
+    /**
+     * @return The fingerprint string to be compared with previous one. (NotNull)
+     */
+    public String build() {
+        return optionSb.toString() + ",contents=" + digest(contentsSb.toString());
+    }
+
+    protected String digest(String contents) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Not found the SHA-256 algorithm.", e);
+        }
+        final byte[] hash = digest.digest(contents.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : hash) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
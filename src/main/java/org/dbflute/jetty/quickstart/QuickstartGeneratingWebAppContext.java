@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.quickstart;
+
+import org.eclipse.jetty.webapp.WebAppContext;
+
+/**
+ * The web application context that generates the quickstart descriptor
+ * after configurations (scanning) and before servlets are initialized.
+ * @author jflute
+ */
+public class QuickstartGeneratingWebAppContext extends WebAppContext {
+
+    protected final QuickstartDescriptor quickstartDescriptor;
+
+    /**
+     * @param quickstartDescriptor The descriptor to be generated. (NotNull)
+     */
+    public QuickstartGeneratingWebAppContext(QuickstartDescriptor quickstartDescriptor) {
+        this.quickstartDescriptor = quickstartDescriptor;
+    }
+
+    @Override
+    protected void startWebapp() throws Exception {
+        quickstartDescriptor.generate(this); // initializers are still registered here
+        super.startWebapp();
+    }
+
+    public QuickstartDescriptor getQuickstartDescriptor() {
+        return quickstartDescriptor;
+    }
+}
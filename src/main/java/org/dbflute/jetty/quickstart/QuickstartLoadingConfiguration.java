@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.quickstart;
+
+import org.eclipse.jetty.quickstart.QuickStartConfiguration;
+import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.webapp.WebAppContext;
+
+/**
+ * The quickstart configuration that loads the descriptor from the specified file
+ * instead of 'WEB-INF/quickstart-web.xml' (e.g. embedded webroot may have no WEB-INF).
+ * @author jflute
+ */
+public class QuickstartLoadingConfiguration extends QuickStartConfiguration {
+
+    protected final QuickstartDescriptor quickstartDescriptor;
+
+    /**
+     * @param quickstartDescriptor The available descriptor to be loaded. (NotNull)
+     */
+    public QuickstartLoadingConfiguration(QuickstartDescriptor quickstartDescriptor) {
+        this.quickstartDescriptor = quickstartDescriptor;
+    }
+
+    @Override
+    public Resource getQuickStartWebXml(WebAppContext context) throws Exception {
+        return Resource.newResource(quickstartDescriptor.getDescriptorFile());
+    }
+}
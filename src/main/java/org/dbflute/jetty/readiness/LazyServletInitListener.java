@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.readiness;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.webapp.WebAppContext;
+
+/**
+ * The listener that makes all servlets of the context initialized at their first request. <br>
+ * Listeners are notified after web.xml is resolved and before servlets are initialized,
+ * so load-on-startup of the servlets can be cleared here.
+ * @author jflute
+ */
+public class LazyServletInitListener implements ServletContextListener {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final WebAppContext context; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param context The web application context whose servlets are lazily initialized. (NotNull)
+     */
+    public LazyServletInitListener(WebAppContext context) {
+        this.context = context;
+    }
+
+    // ===================================================================================
+    //                                                                            Listener
+    //                                                                            ========
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        final ServletHandler servletHandler = context.getServletHandler();
+        if (servletHandler == null || servletHandler.getServlets() == null) {
+            return;
+        }
+        for (ServletHolder holder : servletHandler.getServlets()) {
+            if (holder.getInitOrder() >= 0) {
+                holder.setInitOrder(-1); // initialized by first handle()
+            }
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.readiness;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.jetty.warmup.WarmupConnector;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.webapp.WebAppContext;
+
+/**
+ * The handler that starts the wrapped handlers (web applications) in background after the server is started. <br>
+ * So connectors are bound without waiting for the applications, and requests are rejected by 503 until ready.
+ * The readiness endpoint answers 200 when all contexts are available, or 503 while starting (or failed). <br>
+ * If warm-up is set, it runs before ready and only requests from warm-up connector are handled while warming.
+ * @author jflute
+ */
+public class ReadinessGateHandler extends HandlerWrapper {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public enum ReadinessState {
+        STARTING, WARMING, READY, FAILED
+    }
+
+    /** The milliseconds to wait for the initialization after interrupted at stop. */
+    protected static final long INTERRUPTED_INIT_WAIT_MILLIS = 1000L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String readinessPath; // not null
+    protected final int retryAfterSeconds;
+    protected volatile ReadinessState state = ReadinessState.STARTING;
+    protected volatile Throwable failureCause; // null allowed: when not failed
+    protected volatile long readyMillis = -1L; // from server start to ready, valid after ready
+    protected volatile CountDownLatch initLatch = new CountDownLatch(1);
+    protected Thread initThread; // null allowed: before start
+    protected Runnable warmupCall; // null allowed: no warm-up
+    protected Consumer<String> logger = msg -> System.out.println(msg); // not null, console as default
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param readinessPath The request path of readiness endpoint. (NotNull)
+     * @param retryAfterSeconds The seconds of Retry-After header for rejected requests.
+     */
+    public ReadinessGateHandler(String readinessPath, int retryAfterSeconds) {
+        this.readinessPath = readinessPath;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    @Override
+    protected void doStart() throws Exception {
+        final Handler handler = getHandler();
+        if (handler == null) {
+            throw new IllegalStateException("Not found the wrapped handler of readiness gate: " + this);
+        }
+        initThread = null;
+        state = ReadinessState.STARTING;
+        failureCause = null;
+        initLatch = new CountDownLatch(1);
+        unmanage(handler); // started in background
+        super.doStart();
+        final long beginMillis = System.currentTimeMillis();
+        initThread = new Thread(() -> initializeHandler(handler, beginMillis), "jettyboot-lazy-init");
+        initThread.setDaemon(true); // not to block JVM exit
+        initThread.start();
+    }
+
+    protected void initializeHandler(Handler handler, long beginMillis) {
+        try {
+            handler.start();
+            final Throwable unavailable = findUnavailableCause();
+            if (unavailable != null) {
+                fail(unavailable);
+            } else {
+                warmupIfNeeds();
+                readyMillis = System.currentTimeMillis() - beginMillis;
+                state = ReadinessState.READY;
+                logger.accept("Ready to serve: readiness=" + readinessPath + ", initialized in " + readyMillis + "ms");
+            }
+        } catch (Throwable cause) {
+            fail(cause);
+        } finally {
+            manage(handler); // stopped and destroyed as usual
+            initLatch.countDown();
+        }
+    }
+
+    protected void warmupIfNeeds() {
+        if (warmupCall == null) {
+            return;
+        }
+        state = ReadinessState.WARMING;
+        try {
+            warmupCall.run();
+        } catch (RuntimeException e) { // application is available so ready anyway
+            logger.accept("*Failed to warm up the web application: " + e);
+        }
+    }
+
+    protected Throwable findUnavailableCause() { // null allowed: all available
+        for (Handler handler : getChildHandlersByClass(ContextHandler.class)) {
+            final ContextHandler context = (ContextHandler) handler;
+            if (!context.isAvailable()) {
+                if (context instanceof WebAppContext && ((WebAppContext) context).getUnavailableException() != null) {
+                    return ((WebAppContext) context).getUnavailableException();
+                }
+                return new IllegalStateException("The context is unavailable: " + context.getContextPath());
+            }
+        }
+        return null;
+    }
+
+    protected void fail(Throwable cause) {
+        failureCause = cause;
+        state = ReadinessState.FAILED;
+        logger.accept("*Failed to initialize the web application in background: " + cause);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        final Thread thread = initThread;
+        if (thread != null) { // web application cannot be stopped while starting
+            awaitInitializationAtStop(thread);
+        }
+        super.doStop();
+    }
+
+    protected void awaitInitializationAtStop(Thread thread) throws InterruptedException {
+        final long timeoutMillis = getInitStopTimeoutMillis();
+        if (initLatch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        // e.g. listener waiting for slow database, the application is left (unmanaged) not to hang the stop
+        logger.accept("*The background initialization did not finish in " + timeoutMillis + "ms, interrupting: " + thread);
+        thread.interrupt();
+        if (!initLatch.await(INTERRUPTED_INIT_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+            fail(new IllegalStateException("The background initialization was abandoned at stop: " + thread));
+        }
+    }
+
+    protected long getInitStopTimeoutMillis() {
+        final long serverTimeout = getServer() != null ? getServer().getStopTimeout() : 0L; // e.g. graceful drain timeout
+        return serverTimeout > 0 ? serverTimeout : getStopTimeout();
+    }
+
+    // ===================================================================================
+    //                                                                              Handle
+    //                                                                              ======
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, ServletException {
+        if (readinessPath.equals(target)) {
+            handleReadiness(baseRequest, response);
+            return;
+        }
+        if (state != ReadinessState.READY && !isWarmupRequest(baseRequest)) {
+            baseRequest.setHandled(true);
+            response.setHeader(HttpHeader.RETRY_AFTER.asString(), String.valueOf(retryAfterSeconds));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        super.handle(target, baseRequest, request, response);
+    }
+
+    protected boolean isWarmupRequest(Request baseRequest) {
+        return state == ReadinessState.WARMING && WarmupConnector.isWarmupRequest(baseRequest);
+    }
+
+    protected void handleReadiness(Request baseRequest, HttpServletResponse response) throws IOException {
+        baseRequest.setHandled(true);
+        final ReadinessState current = state;
+        response.setStatus(current == ReadinessState.READY ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeader.CACHE_CONTROL.asString(), "no-store");
+        response.setContentType("text/plain; charset=UTF-8");
+        response.getWriter().print(current.name());
+    }
+
+    // ===================================================================================
+    //                                                                               Await
+    //                                                                               =====
+    /**
+     * @param timeoutMillis The maximum milliseconds to wait for the initialization.
+     * @return Is it ready? (false if failed or timeout)
+     * @throws InterruptedException When the waiting thread is interrupted.
+     */
+    public boolean awaitReady(long timeoutMillis) throws InterruptedException {
+        initLatch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        return isReady();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ReadinessState getReadinessState() {
+        return state;
+    }
+
+    public boolean isReady() {
+        return state == ReadinessState.READY;
+    }
+
+    /**
+     * @param warmupCall The callback of warm-up executed after started and before ready. (NullAllowed: no warm-up)
+     */
+    public void setWarmupCall(Runnable warmupCall) {
+        this.warmupCall = warmupCall;
+    }
+
+    /**
+     * @param logger The callback to log the messages of background initialization e.g. info() of boot. (NotNull)
+     */
+    public void setLogger(Consumer<String> logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * @return The cause of initialization failure. (NullAllowed: when not failed)
+     */
+    public Throwable getFailureCause() {
+        return failureCause;
+    }
+
+    /**
+     * @return The milliseconds from server start to ready, including warm-up. (minus if not ready yet)
+     */
+    public long getReadyMillis() {
+        return readyMillis;
+    }
+}
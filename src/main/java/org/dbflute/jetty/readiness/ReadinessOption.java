@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.readiness;
+
+/**
+ * The option of readiness gate, which binds the port first and initializes web applications in background.
+ * <pre>
+ * boot.useReadinessGate(op -&gt; op.readinessPath("/health/ready").lazyServletInit());
+ * </pre>
+ * @author jflute
+ */
+public class ReadinessOption {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String DEFAULT_READINESS_PATH = "/health/ready";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected String readinessPath = DEFAULT_READINESS_PATH; // not null, answered by the gate itself
+    protected int retryAfterSeconds = 1; // for requests before ready
+    protected boolean lazyServletInit; // load-on-startup is ignored if true
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param readinessPath The request path of readiness endpoint, which is not routed to applications. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ReadinessOption readinessPath(String readinessPath) {
+        if (readinessPath == null || !readinessPath.startsWith("/")) {
+            throw new IllegalArgumentException("The argument 'readinessPath' should start with slash: " + readinessPath);
+        }
+        this.readinessPath = readinessPath;
+        return this;
+    }
+
+    /**
+     * @param retryAfterSeconds The seconds of Retry-After header for requests rejected before ready. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ReadinessOption retryAfterSeconds(int retryAfterSeconds) {
+        if (retryAfterSeconds <= 0) {
+            throw new IllegalArgumentException("The argument 'retryAfterSeconds' should be positive: " + retryAfterSeconds);
+        }
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    /**
+     * Initialize servlets at their first request instead of context start (load-on-startup is ignored). <br>
+     * Filters and listeners are still initialized at context start.
+     * @return this. (NotNull)
+     */
+    public ReadinessOption lazyServletInit() {
+        lazyServletInit = true;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "readiness:{path=" + readinessPath + ", retryAfter=" + retryAfterSeconds + ", lazyServlet=" + lazyServletInit + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getReadinessPath() {
+        return readinessPath;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public boolean isLazyServletInit() {
+        return lazyServletInit;
+    }
+}
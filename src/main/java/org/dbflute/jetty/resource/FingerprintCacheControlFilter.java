@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.resource;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+
+/**
+ * The filter that sets far-future Cache-Control to fingerprinted resources (e.g. /assets/app.3f2a9c1e.js). <br>
+ * It should be mapped to the default servlet only, so outputs of application servlets are not affected.
+ * <pre>
+ * set before the default servlet -&gt; also sent with 304
+ * error status (e.g. 404) -&gt; removed, not to cache the error for a long time
+ * default servlet's cache control for other resources -&gt; ignored
+ * other Cache-Control (e.g. by filter) -&gt; used as it is
+ * </pre>
+ * @author jflute
+ */
+public class FingerprintCacheControlFilter implements Filter {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Pattern fingerprintPattern;
+    protected final String cacheControl; // for fingerprinted
+    protected final String defaultCacheControl; // null allowed: default servlet sets no Cache-Control
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param fingerprintPattern The pattern of fingerprinted path in context. (NotNull)
+     * @param cacheControl The value of Cache-Control for fingerprinted resources. (NotNull)
+     * @param defaultCacheControl The value of Cache-Control set by default servlet. (NullAllowed: not set)
+     */
+    public FingerprintCacheControlFilter(Pattern fingerprintPattern, String cacheControl, String defaultCacheControl) {
+        this.fingerprintPattern = fingerprintPattern;
+        this.cacheControl = cacheControl;
+        this.defaultCacheControl = defaultCacheControl;
+    }
+
+    // ===================================================================================
+    //                                                                              Filter
+    //                                                                              ======
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest) || !isFingerprintTarget((HttpServletRequest) request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setHeader(HttpHeader.CACHE_CONTROL.asString(), cacheControl);
+        final FingerprintResponse wrapper = new FingerprintResponse(httpResponse);
+        chain.doFilter(request, wrapper);
+        wrapper.removeIfNotSuccess(httpResponse.getStatus()); // e.g. status without sendError()
+    }
+
+    protected boolean isFingerprintTarget(HttpServletRequest request) {
+        final String method = request.getMethod();
+        if (!HttpMethod.GET.is(method) && !HttpMethod.HEAD.is(method)) {
+            return false;
+        }
+        final String servletPath = request.getServletPath();
+        final String pathInfo = request.getPathInfo();
+        final String path = (servletPath != null ? servletPath : "") + (pathInfo != null ? pathInfo : ""); // in context
+        return fingerprintPattern.matcher(path).matches();
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    // ===================================================================================
+    //                                                                            Response
+    //                                                                            ========
+    /**
+     * The response that keeps the fingerprint Cache-Control only for success (2xx, 304). <br>
+     * Output stream is still jetty's one so static contents are written without copy.
+     */
+    protected class FingerprintResponse extends HttpServletResponseWrapper {
+
+        protected boolean overridden; // Cache-Control is set by others
+
+        public FingerprintResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (isDefaultCacheControl(name, value)) {
+                return; // keep fingerprint one
+            }
+            overridden = overridden || HttpHeader.CACHE_CONTROL.is(name);
+            super.setHeader(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (isDefaultCacheControl(name, value)) {
+                return; // keep fingerprint one
+            }
+            if (HttpHeader.CACHE_CONTROL.is(name) && !overridden) { // replace fingerprint one
+                overridden = true;
+                super.setHeader(name, value);
+                return;
+            }
+            super.addHeader(name, value);
+        }
+
+        protected boolean isDefaultCacheControl(String name, String value) {
+            return HttpHeader.CACHE_CONTROL.is(name) && !overridden && value != null && value.equals(defaultCacheControl);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            removeIfNotSuccess(sc);
+            super.setStatus(sc);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            removeIfNotSuccess(sc);
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            removeIfNotSuccess(sc);
+            super.sendError(sc, msg);
+        }
+
+        protected void removeIfNotSuccess(int sc) {
+            final boolean success = (sc >= 200 && sc < 300) || sc == HttpServletResponse.SC_NOT_MODIFIED;
+            if (!success && !overridden && !isCommitted()) {
+                super.setHeader(HttpHeader.CACHE_CONTROL.asString(), null); // removed
+            }
+        }
+    }
+}
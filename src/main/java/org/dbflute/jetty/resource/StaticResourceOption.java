@@ -0,0 +1,201 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.resource;
+
+import java.util.regex.Pattern;
+
+/**
+ * The option of static resources served by the default servlet. <br>
+ * Resources are cached in memory (direct or memory-mapped buffers) and written without copy to heap,
+ * with ETag and Last-Modified for conditional requests (304).
+ * <pre>
+ * boot.useStaticResource(op -&gt; op.maxCacheSize(256 * 1024 * 1024).maxCachedFileSize(16 * 1024 * 1024));
+ * boot.useStaticResource(op -&gt; op.fingerprint("^/assets/.*$", "public, max-age=31536000, immutable"));
+ * </pre>
+ * @author jflute
+ */
+public class StaticResourceOption {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default pattern of fingerprinted path e.g. /assets/app.3f2a9c1e.js, /assets/app-3f2a9c1e8b.css */
+    public static final String DEFAULT_FINGERPRINT_PATTERN = ".*[.\\-][0-9a-fA-F]{8,}\\.[a-zA-Z0-9]+$";
+
+    /** The default cache control of fingerprinted path, never changed so cached for a year. */
+    public static final String DEFAULT_FINGERPRINT_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected long maxCacheSize = 256L * 1024L * 1024L; // total bytes in memory
+    protected int maxCachedFileSize = 16 * 1024 * 1024; // larger file is not cached
+    protected int maxCachedFiles = 4096;
+    protected boolean suppressFileMappedBuffer; // memory-mapped as default
+    protected boolean suppressEtags; // ETag as default
+    protected String cacheControl; // null allowed: no Cache-Control for not-fingerprinted resources
+    protected Pattern fingerprintPattern; // null allowed: no far-future Cache-Control
+    protected String fingerprintCacheControl; // null allowed: same as pattern
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param maxCacheSize The maximum bytes of all cached resources. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption maxCacheSize(long maxCacheSize) {
+        if (maxCacheSize <= 0 || maxCacheSize > Integer.MAX_VALUE) { // int at jetty
+            throw new IllegalArgumentException("The argument 'maxCacheSize' should be positive int: " + maxCacheSize);
+        }
+        this.maxCacheSize = maxCacheSize;
+        return this;
+    }
+
+    /**
+     * @param maxCachedFileSize The maximum bytes of one cached file. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption maxCachedFileSize(int maxCachedFileSize) {
+        assertPositive("maxCachedFileSize", maxCachedFileSize);
+        this.maxCachedFileSize = maxCachedFileSize;
+        return this;
+    }
+
+    /**
+     * @param maxCachedFiles The maximum count of cached files. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption maxCachedFiles(int maxCachedFiles) {
+        assertPositive("maxCachedFiles", maxCachedFiles);
+        this.maxCachedFiles = maxCachedFiles;
+        return this;
+    }
+
+    /**
+     * Use direct buffers instead of memory-mapped buffers for files. <br>
+     * e.g. on Windows, mapped files are locked so cannot be edited while running.
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption suppressFileMappedBuffer() {
+        suppressFileMappedBuffer = true;
+        return this;
+    }
+
+    /**
+     * Suppress ETag, only Last-Modified is used for conditional requests.
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption suppressEtags() {
+        suppressEtags = true;
+        return this;
+    }
+
+    /**
+     * @param cacheControl The value of Cache-Control for not-fingerprinted resources e.g. "no-cache". (NotNull)
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption cacheControl(String cacheControl) {
+        assertNotEmpty("cacheControl", cacheControl);
+        this.cacheControl = cacheControl;
+        return this;
+    }
+
+    /**
+     * Set far-future Cache-Control to fingerprinted resources of the default servlet
+     * by the default pattern e.g. /assets/app.3f2a9c1e.js, /assets/app-3f2a9c1e8b.css. <br>
+     * Be careful that it also matches e.g. /report-20240101.csv if served by the default servlet.
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption fingerprint() {
+        return fingerprint(DEFAULT_FINGERPRINT_PATTERN, DEFAULT_FINGERPRINT_CACHE_CONTROL);
+    }
+
+    /**
+     * Set the Cache-Control to fingerprinted resources of the default servlet (not to servlet outputs),
+     * only when the response is success (2xx, 304).
+     * @param fingerprintRegex The regular expression of fingerprinted path (in context) e.g. ^/assets/.*$. (NotNull)
+     * @param fingerprintCacheControl The value of Cache-Control for the fingerprinted resources. (NotNull)
+     * @return this. (NotNull)
+     */
+    public StaticResourceOption fingerprint(String fingerprintRegex, String fingerprintCacheControl) {
+        assertNotEmpty("fingerprintRegex", fingerprintRegex);
+        assertNotEmpty("fingerprintCacheControl", fingerprintCacheControl);
+        this.fingerprintPattern = Pattern.compile(fingerprintRegex);
+        this.fingerprintCacheControl = fingerprintCacheControl;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    protected void assertNotEmpty(String name, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null or empty.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "staticResource:{maxCache=" + maxCacheSize + ", maxFile=" + maxCachedFileSize + ", maxFiles=" + maxCachedFiles
+                + ", mapped=" + !suppressFileMappedBuffer + ", etags=" + !suppressEtags + ", cacheControl=" + cacheControl
+                + ", fingerprint=" + fingerprintPattern + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
+    public int getMaxCachedFileSize() {
+        return maxCachedFileSize;
+    }
+
+    public int getMaxCachedFiles() {
+        return maxCachedFiles;
+    }
+
+    public boolean isSuppressFileMappedBuffer() {
+        return suppressFileMappedBuffer;
+    }
+
+    public boolean isSuppressEtags() {
+        return suppressEtags;
+    }
+
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    public Pattern getFingerprintPattern() {
+        return fingerprintPattern;
+    }
+
+    public String getFingerprintCacheControl() {
+        return fingerprintCacheControl;
+    }
+}
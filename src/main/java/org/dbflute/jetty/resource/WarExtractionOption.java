@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.resource;
+
+/**
+ * The option of extraction cache for war (or war-able jar). <br>
+ * The extracted directory is keyed by hash of the archive contents, so it is reused across restarts
+ * (and instances sharing the cache directory) while the archive is not changed.
+ * <pre>
+ * boot.useWarExtractionCache("/var/cache/maihama", op -&gt; op.parallelism(4).keepGenerations(2));
+ * </pre>
+ * @author jflute
+ */
+public class WarExtractionOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), 8); // disk bound if more
+    protected int keepGenerations = 3; // including current, for instances of other versions and rollback
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param parallelism The count of threads to extract entries. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WarExtractionOption parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The argument 'parallelism' should be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Keep the recently used extracted directories, and delete the older ones at boot. <br>
+     * <span style="color: #CC4747">Set enough count if instances of different versions share the cache directory.</span>
+     * @param keepGenerations The count of kept directories including current one. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WarExtractionOption keepGenerations(int keepGenerations) {
+        if (keepGenerations <= 0) {
+            throw new IllegalArgumentException("The argument 'keepGenerations' should be positive: " + keepGenerations);
+        }
+        this.keepGenerations = keepGenerations;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "warExtraction:{parallelism=" + parallelism + ", keepGenerations=" + keepGenerations + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getKeepGenerations() {
+        return keepGenerations;
+    }
+}
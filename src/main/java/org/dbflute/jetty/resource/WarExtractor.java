@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The extractor of war (or war-able jar) to the cache directory keyed by hash of the contents. <br>
+ * Entries are extracted in parallel (larger first for balance), and older generations are deleted.
+ * <pre>
+ * e.g. base directory is /var/cache/maihama
+ *  /var/cache/maihama/war-3f2a9c1e8b7d6a5f/ (current, reused at next boot)
+ *  /var/cache/maihama/war-0c1d2e3f4a5b6c7d/ (previous generation, deleted if over keep count)
+ * </pre>
+ * @author jflute
+ */
+public class WarExtractor extends WebrootExtractor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String WAR_DIR_PREFIX = "war-";
+    protected static final long ABANDONED_WORK_MILLIS = 60L * 60L * 1000L; // work directory of crashed extraction
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final WarExtractionOption option; // not null
+    protected final Consumer<String> logger; // not null e.g. info() of boot
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param baseDir The base directory to extract in, created if not exists. (NotNull)
+     * @param option The option of extraction. (NotNull)
+     * @param logger The callback to log the maintenance of generations e.g. info() of boot. (NotNull)
+     */
+    public WarExtractor(File baseDir, WarExtractionOption option, Consumer<String> logger) {
+        super(baseDir);
+        this.option = option;
+        this.logger = logger;
+    }
+
+    // ===================================================================================
+    //                                                                             Extract
+    //                                                                             =======
+    /**
+     * Extract all entries of the war file if not extracted yet, and delete older generations.
+     * @param warFilePath The path of war (or war-able jar) file. (NotNull)
+     * @return The directory of extracted war, used as war of web application context. (NotNull)
+     */
+    public File extractWar(String warFilePath) {
+        final File warDir = extract(warFilePath, "");
+        if (!warDir.setLastModified(System.currentTimeMillis())) { // as recently used generation
+            logger.accept("*Cannot touch the extracted war: " + warDir);
+        }
+        deleteOldGenerations(warDir);
+        return warDir;
+    }
+
+    @Override
+    protected String getDirPrefix() {
+        return WAR_DIR_PREFIX;
+    }
+
+    @Override
+    protected void extractEntries(JarFile jarFile, List<JarEntry> entryList, String entryPrefix, Path workDir) throws IOException {
+        final List<JarEntry> fileEntryList = new ArrayList<JarEntry>(entryList.size());
+        for (JarEntry entry : entryList) {
+            final Path target = resolveSafely(workDir, entry.getName().substring(entryPrefix.length()));
+            if (entry.isDirectory()) { // beforehand to avoid contention of directory creation
+                Files.createDirectories(target);
+            } else {
+                fileEntryList.add(entry);
+            }
+        }
+        fileEntryList.sort(Comparator.comparingLong(JarEntry::getSize).reversed()); // e.g. jar files in WEB-INF/lib first
+        final int threadCount = Math.min(option.getParallelism(), Math.max(1, fileEntryList.size()));
+        if (threadCount <= 1) {
+            for (JarEntry entry : fileEntryList) {
+                extractEntry(jarFile, entry, resolveSafely(workDir, entry.getName().substring(entryPrefix.length())));
+            }
+            return;
+        }
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "jettyboot-war-extract-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Void>> futureList = new ArrayList<Future<Void>>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                futureList.add(executor.submit(() -> { // zip file can be read concurrently
+                    int index;
+                    while ((index = nextIndex.getAndIncrement()) < fileEntryList.size()) {
+                        final JarEntry entry = fileEntryList.get(index);
+                        extractEntry(jarFile, entry, resolveSafely(workDir, entry.getName().substring(entryPrefix.length())));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futureList) {
+                awaitExtraction(future, nextIndex, fileEntryList.size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected void awaitExtraction(Future<Void> future, AtomicInteger nextIndex, int entryCount) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted the extraction.", e);
+        } catch (ExecutionException e) {
+            nextIndex.set(entryCount); // stop other threads
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IllegalStateException("Failed to extract the entry.", cause);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Generations
+    //                                                                         ===========
+    protected void deleteOldGenerations(File currentDir) {
+        final long abandonedBorder = System.currentTimeMillis() - ABANDONED_WORK_MILLIS;
+        final File[] workDirs = baseDir.listFiles(file -> {
+            return isWarWorkDir(file) && file.lastModified() < abandonedBorder; // extracting now if recent
+        });
+        if (workDirs != null) {
+            for (File workDir : workDirs) {
+                deleteQuietly(workDir.toPath());
+            }
+        }
+        final File[] dirs = baseDir.listFiles(file -> {
+            return file.isDirectory() && file.getName().startsWith(WAR_DIR_PREFIX) && !isWarWorkDir(file);
+        });
+        if (dirs == null || dirs.length <= option.getKeepGenerations()) {
+            return;
+        }
+        Arrays.sort(dirs, Comparator.comparingLong(File::lastModified).reversed()); // recently used first
+        for (int i = option.getKeepGenerations(); i < dirs.length; i++) {
+            final File dir = dirs[i];
+            if (dir.equals(currentDir)) { // basically no way, just in case
+                continue;
+            }
+            logger.accept("...Deleting the old generation of extracted war: " + dir);
+            deleteQuietly(dir.toPath());
+        }
+    }
+
+    protected boolean isWarWorkDir(File file) {
+        return file.isDirectory() && file.getName().startsWith(WAR_DIR_PREFIX) && file.getName().contains(".tmp");
+    }
+
+    @Override
+    public String toString() {
+        return "warExtractor:{" + baseDir + ", " + option + "}";
+    }
+}
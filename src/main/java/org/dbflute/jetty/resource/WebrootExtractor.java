@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.dbflute.jetty.util.BoJtJarFileCache;
+import org.dbflute.jetty.util.BoJtResourceUtil;
+
+/**
+ * The extractor of embedded webroot in jar file to local directory. <br>
+ * The directory name has hash of the webroot contents (entry names, sizes and CRCs from jar directory),
+ * so extraction is skipped if the same contents have been already extracted e.g. at previous boot.
+ * @author jflute
+ */
+public class WebrootExtractor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String DIR_PREFIX = "webroot-";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File baseDir; // parent of hashed directories
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param baseDir The base directory to extract in, created if not exists. (NotNull)
+     */
+    public WebrootExtractor(File baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    // ===================================================================================
+    //                                                                             Extract
+    //                                                                             =======
+    /**
+     * Extract the entries under the webroot in the jar file if not extracted yet.
+     * @param jarFilePath The path of jar file that has the webroot. (NotNull)
+     * @param entryPrefix The prefix of webroot entries in the jar file e.g. "webroot/". (NotNull)
+     * @return The directory of extracted webroot. (NotNull)
+     */
+    public File extract(String jarFilePath, String entryPrefix) {
+        try (JarFile jarFile = BoJtJarFileCache.acquire(new File(jarFilePath))) { // shared with e.g. war cache
+            final List<JarEntry> entryList = findWebrootEntryList(jarFile, entryPrefix);
+            final File webrootDir = new File(baseDir, getDirPrefix() + hashEntries(entryList));
+            if (webrootDir.isDirectory()) { // completed directory only (renamed after extraction)
+                return webrootDir;
+            }
+            Files.createDirectories(baseDir.toPath());
+            final Path workDir = Files.createTempDirectory(baseDir.toPath(), webrootDir.getName() + ".tmp");
+            try {
+                extractEntries(jarFile, entryList, entryPrefix, workDir);
+                moveCompletedDir(workDir, webrootDir.toPath());
+            } finally {
+                deleteQuietly(workDir); // remains if failed or other process won
+            }
+            return webrootDir;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to extract the webroot: jar=" + jarFilePath + ", baseDir=" + baseDir, e);
+        }
+    }
+
+    protected String getDirPrefix() {
+        return DIR_PREFIX;
+    }
+
+    protected List<JarEntry> findWebrootEntryList(JarFile jarFile, String entryPrefix) {
+        final List<JarEntry> entryList = new ArrayList<JarEntry>();
+        final Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            final JarEntry entry = entries.nextElement();
+            final String name = entry.getName();
+            if (name.startsWith(entryPrefix) && name.length() > entryPrefix.length()) {
+                entryList.add(entry);
+            }
+        }
+        Collections.sort(entryList, Comparator.comparing(JarEntry::getName)); // for stable hash
+        return entryList;
+    }
+
+    protected String hashEntries(List<JarEntry> entryList) { // without inflating contents
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Not found the SHA-256 algorithm.", e);
+        }
+        for (JarEntry entry : entryList) {
+            final String line = entry.getName() + "|" + entry.getSize() + "|" + entry.getCrc() + "\n";
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+        final StringBuilder sb = new StringBuilder();
+        final byte[] hash = digest.digest();
+        for (int i = 0; i < 8; i++) { // enough to distinguish versions
+            sb.append(String.format("%02x", hash[i]));
+        }
+        return sb.toString();
+    }
+
+    protected void extractEntries(JarFile jarFile, List<JarEntry> entryList, String entryPrefix, Path workDir) throws IOException {
+        for (JarEntry entry : entryList) {
+            extractEntry(jarFile, entry, resolveSafely(workDir, entry.getName().substring(entryPrefix.length())));
+        }
+    }
+
+    protected Path resolveSafely(Path workDir, String entryName) throws IOException {
+        final Path extractionDir = workDir.toAbsolutePath().normalize(); // e.g. ./work/war/... is relative
+        final Path target = extractionDir.resolve(entryName).normalize();
+        if (!target.startsWith(extractionDir)) { // e.g. ../../etc/passwd
+            throw new IOException("Illegal entry outside of extraction directory: " + entryName);
+        }
+        return target;
+    }
+
+    protected void extractEntry(JarFile jarFile, JarEntry entry, Path target) throws IOException {
+        if (entry.isDirectory()) {
+            Files.createDirectories(target);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try (InputStream ins = jarFile.getInputStream(entry);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            BoJtResourceUtil.transfer(ins, out); // streaming by reusable buffer
+        }
+        if (entry.getTime() > 0) {
+            target.toFile().setLastModified(entry.getTime()); // for Last-Modified of static resources
+        }
+    }
+
+    protected void moveCompletedDir(Path workDir, Path webrootDir) throws IOException {
+        try {
+            Files.move(workDir, webrootDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException continued) { // other process extracted it
+        }
+    }
+
+    protected void deleteQuietly(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignored) {}
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getBaseDir() {
+        return baseDir;
+    }
+
+    @Override
+    public String toString() {
+        return "webrootExtractor:{" + baseDir + "}";
+    }
+}
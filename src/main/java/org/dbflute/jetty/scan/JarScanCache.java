@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The persistent cache of jar scan results. <br>
+ * The key is canonical path of jar, and the result is valid while size and modified time are same.
+ * <pre>
+ * e.g. /.../swagger-ui-3.x.jar=1234567|1700000000000|true|false|META-INF/x.tld,META-INF/y.tld
+ * </pre>
+ * @author jflute
+ */
+public class JarScanCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String DELIMITER = "|";
+    protected static final String TLD_DELIMITER = ",";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File cacheFile;
+    protected final Properties cacheMap = new Properties(); // synchronized
+    protected volatile boolean dirty;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param cacheFile The file of cache, may not exist yet. (NotNull)
+     */
+    public JarScanCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    // ===================================================================================
+    //                                                                        Load or Save
+    //                                                                        ============
+    public void load() {
+        if (!cacheFile.exists()) {
+            return;
+        }
+        try (InputStream ins = Files.newInputStream(cacheFile.toPath())) {
+            cacheMap.load(ins);
+        } catch (IOException | IllegalArgumentException continued) { // broken cache is rebuilt
+            cacheMap.clear();
+        }
+    }
+
+    public void saveIfNeeds() {
+        if (!dirty) {
+            return;
+        }
+        final File parentDir = cacheFile.getAbsoluteFile().getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        final File tmpFile = new File(cacheFile.getPath() + ".tmp");
+        try {
+            try (OutputStream ous = Files.newOutputStream(tmpFile.toPath())) {
+                cacheMap.store(ous, "jar scan cache of JettyBoot: path=size|modified|resources|fragment|tlds");
+            }
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to save the jar scan cache: " + cacheFile, e);
+        } finally {
+            tmpFile.delete(); // if failed
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Get or Put
+    //                                                                        ============
+    /**
+     * @param jarFile The jar file to be scanned. (NotNull)
+     * @return The cached result. (NullAllowed: not cached or the jar is changed)
+     */
+    public JarScanResult find(File jarFile) {
+        final String value = cacheMap.getProperty(jarFile.getPath());
+        if (value == null) {
+            return null;
+        }
+        final List<String> elementList = Arrays.asList(value.split("\\" + DELIMITER, -1));
+        if (elementList.size() != 5) { // broken
+            return null;
+        }
+        if (!String.valueOf(jarFile.length()).equals(elementList.get(0))) {
+            return null;
+        }
+        if (!String.valueOf(jarFile.lastModified()).equals(elementList.get(1))) {
+            return null;
+        }
+        final String tldExp = elementList.get(4);
+        final List<String> tldEntryList;
+        if (tldExp.isEmpty()) {
+            tldEntryList = Collections.emptyList();
+        } else {
+            tldEntryList = new ArrayList<String>(Arrays.asList(tldExp.split(TLD_DELIMITER)));
+        }
+        return new JarScanResult(Boolean.parseBoolean(elementList.get(2)), Boolean.parseBoolean(elementList.get(3)), tldEntryList);
+    }
+
+    /**
+     * @param jarFile The scanned jar file. (NotNull)
+     * @param result The result of the scan. (NotNull)
+     */
+    public void put(File jarFile, JarScanResult result) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(jarFile.length()).append(DELIMITER).append(jarFile.lastModified());
+        sb.append(DELIMITER).append(result.hasMetaInfResources()).append(DELIMITER).append(result.hasWebFragment());
+        sb.append(DELIMITER).append(String.join(TLD_DELIMITER, result.getTldEntryList()));
+        cacheMap.setProperty(jarFile.getPath(), sb.toString());
+        dirty = true;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getCacheFile() {
+        return cacheFile;
+    }
+}
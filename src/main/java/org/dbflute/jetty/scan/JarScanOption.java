@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.scan;
+
+/**
+ * The option of classpath jar scanning for 'META-INF' resources, web fragments and TLDs.
+ * <pre>
+ * boot.useWebFragmentsDetect(...).useJarScan(op -&gt; op.parallelism(4).cacheFile("./target/jettyboot-jarscan.properties"));
+ * </pre>
+ * @author jflute
+ */
+public class JarScanOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int parallelism = Runtime.getRuntime().availableProcessors();
+    protected String cacheFilePath; // null allowed: no persistent cache
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param parallelism The count of threads to scan jars, 1 means sequential. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public JarScanOption parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The argument 'parallelism' should be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Persist scan results keyed by jar fingerprint (path, size, modified time),
+     * so unchanged jars are not opened at the next boot.
+     * @param cacheFilePath The path of cache file, should be writable. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JarScanOption cacheFile(String cacheFilePath) {
+        if (cacheFilePath == null || cacheFilePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'cacheFilePath' should not be null or empty.");
+        }
+        this.cacheFilePath = cacheFilePath;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "jarScan:{parallelism=" + parallelism + ", cacheFile=" + cacheFilePath + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public String getCacheFilePath() {
+        return cacheFilePath;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.scan;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of scanning one jar file, which does not depend on the web application.
+ * @author jflute
+ */
+public class JarScanResult {
+
+    protected final boolean metaInfResources; // has META-INF/resources/
+    protected final boolean webFragment; // has META-INF/web-fragment.xml
+    protected final List<String> tldEntryList; // e.g. META-INF/c.tld (NotNull, EmptyAllowed)
+
+    public JarScanResult(boolean metaInfResources, boolean webFragment, List<String> tldEntryList) {
+        this.metaInfResources = metaInfResources;
+        this.webFragment = webFragment;
+        this.tldEntryList = Collections.unmodifiableList(tldEntryList);
+    }
+
+    public boolean hasMetaInfResources() {
+        return metaInfResources;
+    }
+
+    public boolean hasWebFragment() {
+        return webFragment;
+    }
+
+    public List<String> getTldEntryList() {
+        return tldEntryList;
+    }
+
+    @Override
+    public String toString() {
+        return "jarScanResult:{resources=" + metaInfResources + ", fragment=" + webFragment + ", tlds=" + tldEntryList + "}";
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The scanner of jar files on fork-join pool, which opens each jar only once
+ * and checks 'META-INF' resources, web fragment and TLDs at the same time.
+ * @author jflute
+ */
+public class ParallelJarScanner {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String META_INF_RESOURCES = "META-INF/resources/";
+    protected static final String WEB_FRAGMENT = "META-INF/web-fragment.xml";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final JarScanOption option;
+    protected final JarScanCache cache; // null allowed: no persistent cache
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param option The option of jar scan. (NotNull)
+     */
+    public ParallelJarScanner(JarScanOption option) {
+        this.option = option;
+        final String cacheFilePath = option.getCacheFilePath();
+        if (cacheFilePath != null) {
+            cache = new JarScanCache(new File(cacheFilePath));
+            cache.load();
+        } else {
+            cache = null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    /**
+     * @param jarFileList The list of jar files to be scanned. (NotNull, EmptyAllowed)
+     * @return The map of scan results keyed by the jar file. (NotNull: not contains unreadable jar)
+     */
+    public Map<File, JarScanResult> scan(Collection<File> jarFileList) {
+        final Map<File, JarScanResult> resultMap = new ConcurrentHashMap<File, JarScanResult>();
+        final List<File> unknownList = new ArrayList<File>();
+        for (File jarFile : jarFileList) {
+            final JarScanResult cached = cache != null ? cache.find(jarFile) : null;
+            if (cached != null) {
+                resultMap.put(jarFile, cached);
+            } else {
+                unknownList.add(jarFile);
+            }
+        }
+        if (!unknownList.isEmpty()) {
+            scanUnknownJars(unknownList, resultMap);
+        }
+        if (cache != null) {
+            cache.saveIfNeeds();
+        }
+        return resultMap;
+    }
+
+    protected void scanUnknownJars(List<File> unknownList, Map<File, JarScanResult> resultMap) {
+        if (option.getParallelism() <= 1 || unknownList.size() == 1) {
+            unknownList.forEach(jarFile -> scanAndStore(jarFile, resultMap));
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(option.getParallelism()); // parallel stream runs in this pool
+        try {
+            pool.submit(() -> unknownList.parallelStream().forEach(jarFile -> scanAndStore(jarFile, resultMap))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted the jar scanning: jars=" + unknownList.size(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to scan the jars: jars=" + unknownList.size(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    protected void scanAndStore(File jarFile, Map<File, JarScanResult> resultMap) {
+        final JarScanResult result = scanJar(jarFile);
+        if (result != null) {
+            resultMap.put(jarFile, result);
+            if (cache != null) {
+                cache.put(jarFile, result);
+            }
+        }
+    }
+
+    protected JarScanResult scanJar(File jarFile) { // null allowed: unreadable
+        boolean metaInfResources = false;
+        boolean webFragment = false;
+        final List<String> tldEntryList = new ArrayList<String>();
+        try (JarFile jar = new JarFile(jarFile)) {
+            final Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                final String name = entries.nextElement().getName();
+                if (!name.startsWith("META-INF/")) {
+                    continue;
+                }
+                if (name.startsWith(META_INF_RESOURCES)) {
+                    metaInfResources = true;
+                } else if (name.equals(WEB_FRAGMENT)) {
+                    webFragment = true;
+                }
+                if (name.endsWith(".tld")) { // same as jetty (under META-INF)
+                    tldEntryList.add(name);
+                }
+            }
+        } catch (IOException continued) { // same as jetty, ignore broken jar
+            return null;
+        }
+        return new JarScanResult(metaInfResources, webFragment, tldEntryList);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public JarScanOption getOption() {
+        return option;
+    }
+}
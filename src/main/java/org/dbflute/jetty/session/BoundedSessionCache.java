@@ -0,0 +1,233 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.session;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.jetty.server.session.DefaultSessionCache;
+import org.eclipse.jetty.server.session.Session;
+import org.eclipse.jetty.server.session.SessionData;
+import org.eclipse.jetty.server.session.SessionDataStore;
+import org.eclipse.jetty.server.session.SessionHandler;
+import org.eclipse.jetty.util.thread.Locker;
+
+/**
+ * The session cache bounded by count of resident sessions, least recently used ones are passivated to the store. <br>
+ * Idle eviction is by jetty (eviction policy), and counted here too.
+ * <pre>
+ * over max at put: sort by last access -&gt; lock -&gt; store (passivate) -&gt; remove from heap
+ * requested again: load from store (activate) -&gt; resident
+ * </pre>
+ * @author jflute
+ */
+public class BoundedSessionCache extends DefaultSessionCache {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int maxResidentSessions; // zero means unbounded
+    protected final AtomicBoolean evicting = new AtomicBoolean(); // one eviction at a time, others skip
+
+    // -----------------------------------------------------
+    //                                              Counter
+    //                                              -------
+    protected final LongAdder hitCount = new LongAdder(); // resident at request
+    protected final LongAdder activationCount = new LongAdder(); // loaded from store at request
+    protected final LongAdder notFoundCount = new LongAdder(); // neither resident nor stored
+    protected final LongAdder capacityEvictionCount = new LongAdder();
+    protected final LongAdder idleEvictionCount = new LongAdder();
+    protected final LongAdder passivationFailureCount = new LongAdder(); // stays in heap
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param handler The session handler of the context. (NotNull)
+     * @param maxResidentSessions The maximum count of sessions in heap, zero means unbounded.
+     */
+    public BoundedSessionCache(SessionHandler handler, int maxResidentSessions) {
+        super(handler);
+        this.maxResidentSessions = maxResidentSessions;
+    }
+
+    // ===================================================================================
+    //                                                                         New Session
+    //                                                                         ===========
+    @Override
+    public Session newSession(HttpServletRequest request, SessionData data) {
+        return new EvictableSession(getSessionHandler(), request, data);
+    }
+
+    @Override
+    public Session newSession(SessionData data) {
+        return new EvictableSession(getSessionHandler(), data);
+    }
+
+    // ===================================================================================
+    //                                                                          Get Facade
+    //                                                                          ==========
+    @Override
+    public Session get(String id) throws Exception {
+        final boolean resident = doGet(id) != null;
+        final Session session = super.get(id);
+        if (resident) {
+            hitCount.increment();
+        } else if (session != null) {
+            activationCount.increment();
+        } else {
+            notFoundCount.increment();
+        }
+        return session;
+    }
+
+    // ===================================================================================
+    //                                                                          Put Facade
+    //                                                                          ==========
+    @Override
+    public Session doPutIfAbsent(String id, Session session) {
+        final Session existing = super.doPutIfAbsent(id, session);
+        evictExcessIfNeeds();
+        return existing;
+    }
+
+    @Override
+    protected Session doComputeIfAbsent(String id, Function<String, Session> mappingFunction) {
+        final Session session = super.doComputeIfAbsent(id, mappingFunction);
+        evictExcessIfNeeds();
+        return session;
+    }
+
+    // ===================================================================================
+    //                                                                      Capacity Evict
+    //                                                                      ==============
+    protected void evictExcessIfNeeds() {
+        if (maxResidentSessions <= 0 || _sessions.size() <= maxResidentSessions) {
+            return;
+        }
+        if (!evicting.compareAndSet(false, true)) { // other thread is evicting
+            return;
+        }
+        try {
+            evictExcess();
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    protected void evictExcess() {
+        // evict down to 90% to avoid sorting per put
+        final int target = maxResidentSessions - Math.max(1, maxResidentSessions / 10);
+        final List<EvictionCandidate> candidateList = new ArrayList<EvictionCandidate>(_sessions.size());
+        for (Session session : _sessions.values()) {
+            if (session instanceof EvictableSession) {
+                try {
+                    candidateList.add(new EvictionCandidate((EvictableSession) session, session.getLastAccessedTime()));
+                } catch (IllegalStateException invalidated) { // removed soon by jetty
+                }
+            }
+        }
+        candidateList.sort(Comparator.comparingLong(candidate -> candidate.lastAccessedTime)); // least recently used first
+        for (EvictionCandidate candidate : candidateList) {
+            if (_sessions.size() <= target) {
+                break;
+            }
+            evictSession(candidate.session);
+        }
+    }
+
+    protected static class EvictionCandidate { // snapshot not to lock sessions while sorting
+
+        protected final EvictableSession session;
+        protected final long lastAccessedTime;
+
+        public EvictionCandidate(EvictableSession session, long lastAccessedTime) {
+            this.session = session;
+            this.lastAccessedTime = lastAccessedTime;
+        }
+    }
+
+    @SuppressWarnings("try") // lock is used only for scope
+    protected void evictSession(EvictableSession session) {
+        try (Locker.Lock lock = session.lock()) {
+            if (!session.isResident() || !session.isValid() || session.getRequests() > 0) { // in use
+                return;
+            }
+            if (!passivate(session)) {
+                return; // stays in heap not to lose the session
+            }
+            doDelete(session.getId());
+            session.setResident(false);
+            capacityEvictionCount.increment();
+        }
+    }
+
+    protected boolean passivate(EvictableSession session) {
+        final SessionDataStore store = getSessionDataStore();
+        if (store == null) {
+            return false;
+        }
+        try {
+            if (store.isPassivating()) {
+                session.willPassivate();
+            }
+            final SessionData data = session.getDataForPassivation();
+            data.setDirty(true); // to be written even if not changed since last save
+            store.store(session.getId(), data);
+            return true;
+        } catch (Exception e) {
+            passivationFailureCount.increment();
+            return false;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Idle Evict
+    //                                                                          ==========
+    @Override
+    public void checkInactiveSession(Session session) { // called by inactivity timer of session
+        final boolean residentBefore = session != null && session.isResident();
+        super.checkInactiveSession(session);
+        if (residentBefore && !session.isResident()) {
+            idleEvictionCount.increment();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    /**
+     * @return The snapshot of current counters. (NotNull)
+     */
+    public SessionStoreStats toStats() {
+        final SessionDataStore store = getSessionDataStore();
+        final OffHeapSessionDataStore offHeap = store instanceof OffHeapSessionDataStore ? (OffHeapSessionDataStore) store : null;
+        return new SessionStoreStats(_sessions.size(), hitCount.sum(), activationCount.sum(), notFoundCount.sum(),
+                capacityEvictionCount.sum(), idleEvictionCount.sum(), passivationFailureCount.sum(),
+                offHeap != null ? offHeap.getStoredCount() : -1L, offHeap != null ? offHeap.getStoredBytes() : -1L);
+    }
+
+    @Override
+    public String toString() {
+        return "boundedSessionCache:{maxResident=" + maxResidentSessions + ", " + super.toString() + "}";
+    }
+}
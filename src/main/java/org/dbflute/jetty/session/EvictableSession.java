@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.session;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.jetty.server.session.Session;
+import org.eclipse.jetty.server.session.SessionData;
+import org.eclipse.jetty.server.session.SessionHandler;
+
+/**
+ * The session that exposes its data for eviction by {@link BoundedSessionCache}.
+ * @author jflute
+ */
+public class EvictableSession extends Session {
+
+    public EvictableSession(SessionHandler handler, HttpServletRequest request, SessionData data) {
+        super(handler, request, data);
+    }
+
+    public EvictableSession(SessionHandler handler, SessionData data) {
+        super(handler, data);
+    }
+
+    /**
+     * @return The data of the session to be stored at passivation, should be called in lock. (NotNull)
+     */
+    public SessionData getDataForPassivation() {
+        return getSessionData(); // protected at jetty
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jetty.server.session.AbstractSessionDataStore;
+import org.eclipse.jetty.server.session.SessionData;
+import org.eclipse.jetty.util.ClassLoadingObjectInputStream;
+
+/**
+ * The session data store that keeps serialized sessions in direct memory (outside of heap). <br>
+ * Heap has only small entries (buffer reference and expiry), so passivated sessions do not grow old generation.
+ * The buffer of session is reused by next store if it has enough capacity, and the max bytes is for held capacity.
+ * Sessions are lost at JVM exit, so use file store if they should survive restart.
+ * @author jflute
+ */
+public class OffHeapSessionDataStore extends AbstractSessionDataStore {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The minimum capacity of allocated buffer, small session may grow a little. */
+    protected static final int MIN_BUFFER_CAPACITY = 256;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long maxBytes;
+    protected final Map<String, StoredEntry> entryMap = new ConcurrentHashMap<String, StoredEntry>();
+    protected final AtomicLong storedBytes = new AtomicLong();
+
+    protected static class StoredEntry {
+
+        protected final ByteBuffer buffer; // direct, reused by next store so access it in compute() of the session
+        protected final int length; // of serialized data, not over capacity of buffer
+        protected final long expiry; // 0 means never
+
+        public StoredEntry(ByteBuffer buffer, int length, long expiry) {
+            this.buffer = buffer;
+            this.length = length;
+            this.expiry = expiry;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param maxBytes The maximum bytes of serialized sessions, storing over it fails.
+     */
+    public OffHeapSessionDataStore(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    // ===================================================================================
+    //                                                                               Store
+    //                                                                               =====
+    @Override
+    public void doStore(String id, SessionData data, long lastSaveTime) throws Exception {
+        final byte[] bytes = serialize(data);
+        final StoredEntry existing = entryMap.get(id);
+        if (existing == null || !isReusable(existing.buffer, bytes.length)) {
+            final long freed = existing != null ? existing.buffer.capacity() : 0L;
+            final long held = storedBytes.get(); // approximately, not strict under contention
+            if (held - freed + calculateCapacity(bytes.length) > maxBytes) {
+                throw new IOException("The off-heap session store is full: id=" + id + ", stored=" + held + ", max=" + maxBytes);
+            }
+        }
+        final long expiry = data.getExpiry();
+        entryMap.compute(id, (key, previous) -> writeEntry(previous, bytes, expiry)); // serialized per session
+    }
+
+    protected StoredEntry writeEntry(StoredEntry previous, byte[] bytes, long expiry) { // in compute() of the session
+        final ByteBuffer buffer;
+        if (previous != null && isReusable(previous.buffer, bytes.length)) {
+            buffer = previous.buffer; // no allocation, same capacity held
+        } else {
+            buffer = ByteBuffer.allocateDirect(calculateCapacity(bytes.length));
+            storedBytes.addAndGet(buffer.capacity() - (previous != null ? previous.buffer.capacity() : 0));
+        }
+        buffer.clear();
+        buffer.put(bytes);
+        return new StoredEntry(buffer, bytes.length, expiry);
+    }
+
+    protected boolean isReusable(ByteBuffer buffer, int length) {
+        final int capacity = buffer.capacity();
+        return capacity >= length && capacity <= calculateCapacity(length) * 2L; // not to keep too large for shrunk session
+    }
+
+    protected int calculateCapacity(int length) {
+        return Math.max(length + (length >> 2), MIN_BUFFER_CAPACITY); // headroom for growing session
+    }
+
+    protected byte[] serialize(SessionData data) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(baos)) {
+            out.writeUTF(nullToEmpty(data.getContextPath()));
+            out.writeUTF(nullToEmpty(data.getVhost()));
+            out.writeUTF(nullToEmpty(data.getLastNode()));
+            out.writeLong(data.getCreated());
+            out.writeLong(data.getAccessed());
+            out.writeLong(data.getLastAccessed());
+            out.writeLong(data.getCookieSet());
+            out.writeLong(data.getExpiry());
+            out.writeLong(data.getMaxInactiveMs());
+            final ObjectOutputStream oos = new ObjectOutputStream(out);
+            SessionData.serializeAttributes(data, oos);
+            oos.flush();
+        }
+        return baos.toByteArray();
+    }
+
+    protected String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    // ===================================================================================
+    //                                                                                Load
+    //                                                                                ====
+    @Override
+    public SessionData doLoad(String id) throws Exception { // in context class loader by jetty
+        final byte[][] copied = new byte[1][];
+        entryMap.computeIfPresent(id, (key, entry) -> { // serialized with store that may reuse the buffer
+            copied[0] = readEntry(entry);
+            return entry;
+        });
+        final byte[] bytes = copied[0];
+        if (bytes == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final String contextPath = in.readUTF();
+            final String vhost = in.readUTF();
+            final String lastNode = in.readUTF();
+            final long created = in.readLong();
+            final long accessed = in.readLong();
+            final long lastAccessed = in.readLong();
+            final long cookieSet = in.readLong();
+            final long expiry = in.readLong();
+            final long maxInactiveMs = in.readLong();
+            final SessionData data = newSessionData(id, created, accessed, lastAccessed, maxInactiveMs);
+            data.setContextPath(contextPath);
+            data.setVhost(vhost);
+            data.setLastNode(lastNode);
+            data.setCookieSet(cookieSet);
+            data.setExpiry(expiry);
+            SessionData.deserializeAttributes(data, new ClassLoadingObjectInputStream(in));
+            return data;
+        }
+    }
+
+    protected byte[] readEntry(StoredEntry entry) { // in compute() of the session
+        final byte[] bytes = new byte[entry.length]; // short-lived copy in young generation
+        final ByteBuffer view = entry.buffer.duplicate();
+        view.clear();
+        view.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public boolean exists(String id) throws Exception {
+        final StoredEntry entry = entryMap.get(id);
+        return entry != null && (entry.expiry <= 0 || entry.expiry > System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean delete(String id) throws Exception {
+        final boolean[] removed = new boolean[1];
+        entryMap.computeIfPresent(id, (key, entry) -> { // serialized with store of the session
+            storedBytes.addAndGet(-entry.buffer.capacity()); // freed by GC of the buffer
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    // ===================================================================================
+    //                                                                              Expire
+    //                                                                              ======
+    @Override
+    public Set<String> doGetExpired(Set<String> candidates) {
+        final long now = System.currentTimeMillis();
+        final Set<String> expiredSet = new HashSet<String>();
+        for (String id : candidates) {
+            final StoredEntry entry = entryMap.get(id);
+            if (entry == null || (entry.expiry > 0 && entry.expiry <= now)) {
+                expiredSet.add(id); // not stored also means expired for jetty
+            }
+        }
+        for (Map.Entry<String, StoredEntry> mapEntry : entryMap.entrySet()) { // passivated ones are not candidates
+            final long expiry = mapEntry.getValue().expiry;
+            if (expiry > 0 && expiry <= now) {
+                expiredSet.add(mapEntry.getKey());
+            }
+        }
+        return expiredSet;
+    }
+
+    @Override
+    public boolean isPassivating() {
+        return true; // serialized
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "offHeapSessionDataStore:{stored=" + entryMap.size() + ", bytes=" + storedBytes.get() + "/" + maxBytes + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getStoredCount() {
+        return entryMap.size();
+    }
+
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.session;
+
+/**
+ * The option of session store, bounded session cache in heap with passivation to the store. <br>
+ * Evicted sessions (least recently used over max, or idle) are passivated to the store,
+ * and activated again when requested.
+ * <pre>
+ * boot.useSessionStore(op -&gt; op.maxResidentSessions(10000).idleEvictionSeconds(300).fileStore("./work/sessions"));
+ * boot.useSessionStore(op -&gt; op.maxResidentSessions(10000).offHeapStore(512L * 1024 * 1024));
+ * </pre>
+ * @author jflute
+ */
+public class SessionStoreOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer maxResidentSessions; // null allowed: unbounded count
+    protected Integer idleEvictionSeconds; // null allowed: no idle eviction
+    protected String fileStoreDirPath; // null allowed: not file store
+    protected Long offHeapMaxBytes; // null allowed: not off-heap store
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param maxResidentSessions The maximum count of sessions in heap, least recently used ones are evicted over it. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public SessionStoreOption maxResidentSessions(int maxResidentSessions) {
+        assertPositive("maxResidentSessions", maxResidentSessions);
+        this.maxResidentSessions = maxResidentSessions;
+        return this;
+    }
+
+    /**
+     * @param idleEvictionSeconds The seconds for idle session to be evicted from heap (not invalidated). (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public SessionStoreOption idleEvictionSeconds(int idleEvictionSeconds) {
+        assertPositive("idleEvictionSeconds", idleEvictionSeconds);
+        this.idleEvictionSeconds = idleEvictionSeconds;
+        return this;
+    }
+
+    /**
+     * Passivate sessions to files in the directory, file per session (also restored after restart).
+     * @param dirPath The path of directory for session files, created if not exists. (NotNull)
+     * @return this. (NotNull)
+     */
+    public SessionStoreOption fileStore(String dirPath) {
+        if (dirPath == null) {
+            throw new IllegalArgumentException("The argument 'dirPath' should not be null.");
+        }
+        this.fileStoreDirPath = dirPath;
+        this.offHeapMaxBytes = null;
+        return this;
+    }
+
+    /**
+     * Passivate sessions serialized to direct memory (outside of heap, lost at JVM exit). <br>
+     * Sessions stay in heap if the store is full.
+     * @param maxBytes The maximum bytes of serialized sessions. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public SessionStoreOption offHeapStore(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The argument 'maxBytes' should be positive: " + maxBytes);
+        }
+        this.offHeapMaxBytes = maxBytes;
+        this.fileStoreDirPath = null;
+        return this;
+    }
+
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String store = fileStoreDirPath != null ? "file:" + fileStoreDirPath : (offHeapMaxBytes != null ? "offHeap:" + offHeapMaxBytes : null);
+        final String idleEviction = idleEvictionSeconds != null ? idleEvictionSeconds + "s" : null;
+        return "sessionStore:{maxResident=" + maxResidentSessions + ", idleEviction=" + idleEviction + ", store=" + store + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getMaxResidentSessions() {
+        return maxResidentSessions;
+    }
+
+    public Integer getIdleEvictionSeconds() {
+        return idleEvictionSeconds;
+    }
+
+    public String getFileStoreDirPath() {
+        return fileStoreDirPath;
+    }
+
+    public Long getOffHeapMaxBytes() {
+        return offHeapMaxBytes;
+    }
+}
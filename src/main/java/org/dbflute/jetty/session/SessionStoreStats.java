@@ -0,0 +1,121 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.session;
+
+/**
+ * The snapshot of session cache counters, immutable.
+ * @author jflute
+ */
+public class SessionStoreStats {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int residentCount; // in heap now
+    protected final long hitCount; // total resident at request
+    protected final long activationCount; // total loaded from store at request
+    protected final long notFoundCount; // total unknown (or expired) session ID
+    protected final long capacityEvictionCount; // total passivated by max resident
+    protected final long idleEvictionCount; // total evicted by idle
+    protected final long passivationFailureCount; // total failed to store, stayed in heap
+    protected final long offHeapStoredCount; // -1 if not off-heap store
+    protected final long offHeapStoredBytes; // -1 if not off-heap store
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public SessionStoreStats(int residentCount, long hitCount, long activationCount, long notFoundCount, long capacityEvictionCount,
+            long idleEvictionCount, long passivationFailureCount, long offHeapStoredCount, long offHeapStoredBytes) {
+        this.residentCount = residentCount;
+        this.hitCount = hitCount;
+        this.activationCount = activationCount;
+        this.notFoundCount = notFoundCount;
+        this.capacityEvictionCount = capacityEvictionCount;
+        this.idleEvictionCount = idleEvictionCount;
+        this.passivationFailureCount = passivationFailureCount;
+        this.offHeapStoredCount = offHeapStoredCount;
+        this.offHeapStoredBytes = offHeapStoredBytes;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("sessionStore:{resident=").append(residentCount);
+        sb.append(", hit=").append(hitCount).append(", activation=").append(activationCount).append(", notFound=").append(notFoundCount);
+        sb.append(", eviction=capacity:").append(capacityEvictionCount).append("/idle:").append(idleEvictionCount);
+        sb.append(", passivationFailure=").append(passivationFailureCount);
+        if (offHeapStoredCount >= 0) {
+            sb.append(", offHeap=").append(offHeapStoredCount).append("(").append(offHeapStoredBytes).append("B)");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getResidentCount() {
+        return residentCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getActivationCount() {
+        return activationCount;
+    }
+
+    public long getNotFoundCount() {
+        return notFoundCount;
+    }
+
+    public long getCapacityEvictionCount() {
+        return capacityEvictionCount;
+    }
+
+    public long getIdleEvictionCount() {
+        return idleEvictionCount;
+    }
+
+    /**
+     * @return The total count of passivated sessions by capacity or idle.
+     */
+    public long getEvictionCount() {
+        return capacityEvictionCount + idleEvictionCount;
+    }
+
+    public long getPassivationFailureCount() {
+        return passivationFailureCount;
+    }
+
+    /**
+     * @return The count of sessions in off-heap store. (-1 if not off-heap store)
+     */
+    public long getOffHeapStoredCount() {
+        return offHeapStoredCount;
+    }
+
+    /**
+     * @return The bytes of sessions in off-heap store. (-1 if not off-heap store)
+     */
+    public long getOffHeapStoredBytes() {
+        return offHeapStoredBytes;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.shutdown;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.jetty.util.BoJtCompletionListener;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpHeaderValue;
+import org.eclipse.jetty.server.HttpChannelState;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.FutureCallback;
+import org.eclipse.jetty.util.component.Graceful;
+
+/**
+ * The handler that tracks in-flight requests to drain them at server stop. <br>
+ * The server waits for the shutdown future within its stop timeout (after connectors stop accepting),
+ * and requests arriving on kept-alive connections during draining are rejected by 503 with connection close.
+ * @author jflute
+ */
+public class GracefulShutdownHandler extends HandlerWrapper implements Graceful {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long drainTimeoutMillis;
+    protected final AtomicInteger inFlightCount = new AtomicInteger();
+    protected final AtomicInteger drainedCount = new AtomicInteger();
+    protected final LongAdder rejectedCount = new LongAdder();
+    protected final AtomicReference<FutureCallback> shutdownFuture = new AtomicReference<FutureCallback>();
+    protected volatile long shutdownBeginNanos; // valid after shutdown
+    protected volatile int inFlightAtShutdown; // valid after shutdown
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param drainTimeoutMillis The milliseconds to wait for in-flight requests, same as stop timeout of server.
+     */
+    public GracefulShutdownHandler(long drainTimeoutMillis) {
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    // ===================================================================================
+    //                                                                              Handle
+    //                                                                              ======
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, ServletException {
+        final HttpChannelState state = baseRequest.getHttpChannelState();
+        if (!state.isInitial()) { // async dispatch, tracked by listener
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        inFlightCount.incrementAndGet(); // before shutdown check, so shutdown() cannot miss this request
+        if (isShutdown()) {
+            try {
+                rejectedCount.increment();
+                baseRequest.setHandled(true);
+                response.setHeader(HttpHeader.CONNECTION.asString(), HttpHeaderValue.CLOSE.asString());
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            } finally {
+                complete(); // may be counted as in-flight by shutdown()
+            }
+            return;
+        }
+        try {
+            super.handle(target, baseRequest, request, response);
+        } finally {
+            BoJtCompletionListener.whenCompleted(state, () -> complete());
+        }
+    }
+
+    protected void complete() {
+        final int remaining = inFlightCount.decrementAndGet();
+        final FutureCallback future = shutdownFuture.get();
+        if (future != null) { // draining
+            if (System.nanoTime() - shutdownBeginNanos <= TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis)) {
+                drainedCount.incrementAndGet();
+            }
+            if (remaining == 0) {
+                future.succeeded();
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Graceful
+    //                                                                            ========
+    @Override
+    public synchronized Future<Void> shutdown() { // synchronized for begin time before the future is published
+        final FutureCallback existing = shutdownFuture.get();
+        if (existing != null) { // already shutdown
+            return existing;
+        }
+        shutdownBeginNanos = System.nanoTime(); // read by complete() after the future is found
+        final FutureCallback created = new FutureCallback(false);
+        shutdownFuture.set(created);
+        final int inFlight = inFlightCount.get();
+        inFlightAtShutdown = inFlight;
+        if (inFlight == 0) {
+            created.succeeded();
+        }
+        return created;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdownFuture.get() != null;
+    }
+
+    /**
+     * @return The report of draining. (NullAllowed: when not shutdown yet)
+     */
+    public ShutdownReport toReport() {
+        if (!isShutdown()) {
+            return null;
+        }
+        final int drained = Math.min(drainedCount.get(), inFlightAtShutdown);
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - shutdownBeginNanos);
+        return new ShutdownReport(inFlightAtShutdown, drained, inFlightAtShutdown - drained, rejectedCount.sum(), elapsedMillis);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getInFlightCount() {
+        return inFlightCount.get();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.shutdown;
+
+/**
+ * The option of graceful shutdown, which drains in-flight requests before stopping.
+ * <pre>
+ * boot.useGracefulShutdown(op -&gt; op.drainTimeoutMillis(20000));
+ * </pre>
+ * @author jflute
+ */
+public class GracefulShutdownOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected long drainTimeoutMillis = 30000L; // should be shorter than termination grace of platform
+    protected boolean suppressJvmShutdownHook; // registered as default e.g. for SIGTERM
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param drainTimeoutMillis The maximum milliseconds to wait for in-flight requests. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public GracefulShutdownOption drainTimeoutMillis(long drainTimeoutMillis) {
+        if (drainTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'drainTimeoutMillis' should be positive: " + drainTimeoutMillis);
+        }
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Suppress the JVM shutdown hook that closes the server gracefully when the process is terminated. <br>
+     * e.g. when the application closes it by itself.
+     * @return this. (NotNull)
+     */
+    public GracefulShutdownOption suppressJvmShutdownHook() {
+        suppressJvmShutdownHook = true;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "gracefulShutdown:{drainTimeout=" + drainTimeoutMillis + ", jvmHook=" + !suppressJvmShutdownHook + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getDrainTimeoutMillis() {
+        return drainTimeoutMillis;
+    }
+
+    public boolean isSuppressJvmShutdownHook() {
+        return suppressJvmShutdownHook;
+    }
+}
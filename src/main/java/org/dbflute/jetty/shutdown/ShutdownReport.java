@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.shutdown;
+
+/**
+ * The result of graceful shutdown: how many in-flight requests were drained or aborted.
+ * @author jflute
+ */
+public class ShutdownReport {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int inFlightAtShutdown; // requests running when shutdown began
+    protected final int drainedCount; // completed within drain timeout
+    protected final int abortedCount; // not completed within drain timeout
+    protected final long rejectedCount; // arrived after shutdown began (503)
+    protected final long elapsedMillis; // from shutdown begin to report
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ShutdownReport(int inFlightAtShutdown, int drainedCount, int abortedCount, long rejectedCount, long elapsedMillis) {
+        this.inFlightAtShutdown = inFlightAtShutdown;
+        this.drainedCount = drainedCount;
+        this.abortedCount = abortedCount;
+        this.rejectedCount = rejectedCount;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "shutdown:{inFlight=" + inFlightAtShutdown + ", drained=" + drainedCount + ", aborted=" + abortedCount + ", rejected="
+                + rejectedCount + ", elapsed=" + elapsedMillis + "ms}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getInFlightAtShutdown() {
+        return inFlightAtShutdown;
+    }
+
+    public int getDrainedCount() {
+        return drainedCount;
+    }
+
+    public int getAbortedCount() {
+        return abortedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
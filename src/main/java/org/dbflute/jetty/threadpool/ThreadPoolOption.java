@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.threadpool;
+
+/**
+ * The option of thread pool for the jetty server. <br>
+ * Not-specified attributes are treated as the jetty default (e.g. min 8, max 200, unbounded queue).
+ * <pre>
+ * boot.useThreadPool(op -&gt; op.minThreads(16).maxThreads(400).queueCapacity(2000));
+ * boot.useThreadPool(op -&gt; op.useVirtualThreads()); // platform pool if Java8
+ * </pre>
+ * @author jflute
+ */
+public class ThreadPoolOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer minThreads; // null allowed: jetty default
+    protected Integer maxThreads; // null allowed: jetty default
+    protected Integer idleTimeoutMillis; // null allowed: jetty default
+    protected Integer queueCapacity; // null allowed: unbounded queue
+    protected Integer reservedThreads; // null allowed: heuristic of jetty
+    protected String threadNamePrefix; // null allowed: jetty default
+    protected boolean useVirtualThreads; // falls back to platform pool if unsupported
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param minThreads The minimum count of threads kept in the pool. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public ThreadPoolOption minThreads(int minThreads) {
+        assertNotMinus("minThreads", minThreads);
+        this.minThreads = minThreads;
+        return this;
+    }
+
+    /**
+     * @param maxThreads The maximum count of threads in the pool, including selectors and acceptors. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ThreadPoolOption maxThreads(int maxThreads) {
+        assertPositive("maxThreads", maxThreads);
+        this.maxThreads = maxThreads;
+        return this;
+    }
+
+    /**
+     * @param idleTimeoutMillis The milliseconds for idle thread to be released. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public ThreadPoolOption idleTimeoutMillis(int idleTimeoutMillis) {
+        assertNotMinus("idleTimeoutMillis", idleTimeoutMillis);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Bound the job queue of the pool. <br>
+     * Jobs are rejected (connection is closed) when the queue is full,
+     * so it should be large enough for selector tasks at traffic peaks.
+     * @param queueCapacity The maximum count of queued jobs. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ThreadPoolOption queueCapacity(int queueCapacity) {
+        assertPositive("queueCapacity", queueCapacity);
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * @param reservedThreads The count of reserved threads for non-blocking dispatch, 0 means disabled. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public ThreadPoolOption reservedThreads(int reservedThreads) {
+        assertNotMinus("reservedThreads", reservedThreads);
+        this.reservedThreads = reservedThreads;
+        return this;
+    }
+
+    /**
+     * @param threadNamePrefix The prefix of thread name e.g. "harbor-qtp". (NotNull)
+     * @return this. (NotNull)
+     */
+    public ThreadPoolOption threadNamePrefix(String threadNamePrefix) {
+        if (threadNamePrefix == null || threadNamePrefix.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'threadNamePrefix' should not be null or empty.");
+        }
+        this.threadNamePrefix = threadNamePrefix;
+        return this;
+    }
+
+    /**
+     * Run all jobs of the server on virtual threads if the JVM supports them (Java21 or later). <br>
+     * The platform thread pool built by the other attributes is used if unsupported e.g. Java8. <br>
+     * <span style="color: #CC4747">queue capacity and reserved threads are ignored by virtual threads.</span>
+     * @return this. (NotNull)
+     */
+    public ThreadPoolOption useVirtualThreads() {
+        useVirtualThreads = true;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void assertNotMinus(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be minus: " + value);
+        }
+    }
+
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "threadPool:{min=" + minThreads + ", max=" + maxThreads + ", idleTimeout=" + idleTimeoutMillis + ", queue="
+                + queueCapacity + ", reserved=" + reservedThreads + ", virtual=" + useVirtualThreads + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Integer getMinThreads() {
+        return minThreads;
+    }
+
+    public Integer getMaxThreads() {
+        return maxThreads;
+    }
+
+    public Integer getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Integer getReservedThreads() {
+        return reservedThreads;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+}
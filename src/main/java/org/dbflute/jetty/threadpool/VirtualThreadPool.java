@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.threadpool;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jetty.util.component.ContainerLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * The thread pool that runs every job on a new virtual thread. <br>
+ * Virtual threads are looked up by reflection because this library is compiled by Java8,
+ * so use {@link #isSupported()} before creating it.
+ * @author jflute
+ */
+public class VirtualThreadPool extends ContainerLifeCycle implements ThreadPool {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String threadNamePrefix; // not null
+    protected final AtomicInteger activeCount = new AtomicInteger();
+    protected volatile ExecutorService executor; // not null after start
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param threadNamePrefix The prefix of virtual thread name. (NotNull)
+     */
+    public VirtualThreadPool(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    // ===================================================================================
+    //                                                                         Environment
+    //                                                                         ===========
+    /**
+     * @return Does the JVM support virtual threads? (Java21 or later, or preview enabled)
+     */
+    public static boolean isSupported() {
+        return SupportHolder.SUPPORTED;
+    }
+
+    protected static class SupportHolder { // probed once
+
+        protected static final boolean SUPPORTED = probeSupported();
+
+        protected static boolean probeSupported() {
+            try { // Java19/20 have the methods but throw if preview is not enabled
+                createExecutor(createThreadFactory("jettyboot-probe")).shutdown(); // no thread started yet
+                return true;
+            } catch (ReflectiveOperationException | UnsupportedOperationException | LinkageError e) {
+                return false;
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    @Override
+    protected void doStart() throws Exception {
+        executor = createVirtualExecutor();
+        super.doStart();
+    }
+
+    protected ExecutorService createVirtualExecutor() {
+        try {
+            return createExecutor(createThreadFactory(threadNamePrefix));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create the virtual thread executor: prefix=" + threadNamePrefix, e);
+        }
+    }
+
+    protected static ThreadFactory createThreadFactory(String prefix) throws ReflectiveOperationException {
+        // Thread.ofVirtual().name(prefix, 0).factory()
+        final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+        final Object namedBuilder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 0L);
+        return (ThreadFactory) builderType.getMethod("factory").invoke(namedBuilder);
+    }
+
+    protected static ExecutorService createExecutor(ThreadFactory factory) throws ReflectiveOperationException {
+        // Executors.newThreadPerTaskExecutor(factory)
+        final Method executorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        return (ExecutorService) executorMethod.invoke(null, factory);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        final ExecutorService stopped = executor;
+        if (stopped != null) {
+            stopped.shutdown();
+            if (!stopped.awaitTermination(getStopTimeout(), TimeUnit.MILLISECONDS)) {
+                stopped.shutdownNow();
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Execute
+    //                                                                             =======
+    @Override
+    public void execute(Runnable job) {
+        final ExecutorService current = executor;
+        if (current == null) {
+            throw new IllegalStateException("The virtual thread pool has not been started: " + this);
+        }
+        current.execute(() -> {
+            activeCount.incrementAndGet();
+            try {
+                job.run();
+            } finally {
+                activeCount.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+        final ExecutorService current = executor;
+        if (current != null) {
+            current.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Status
+    //                                                                              ======
+    @Override
+    public int getThreads() {
+        return activeCount.get();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return 0; // no pooled thread
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return false; // unlimited
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadPool@" + Integer.toHexString(hashCode()) + "{" + threadNamePrefix + ", active=" + activeCount.get() + "}";
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.tls;
+
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+import javax.net.ssl.SSLEngine;
+
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
+
+/**
+ * The support of ALPN (protocol negotiation in TLS handshake) to offer HTTP/2 over TLS. <br>
+ * ALPN server is optional dependency (jetty-alpn-server and its processor for the JVM),
+ * so this class is separated not to load ALPN classes when they are not on the classpath.
+ * <pre>
+ * Java9 or later: jetty-alpn-java-server (JDK9ServerALPNProcessor)
+ * Java8u252 or later: jetty-alpn-openjdk8-server (OpenJDK8ServerALPNProcessor)
+ * </pre>
+ * @author jflute
+ */
+public class AlpnSupport {
+
+    protected static final String ALPN_FACTORY_CLASS = "org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory";
+    protected static final String ALPN_JAVA_PROCESSOR_CLASS = "org.eclipse.jetty.alpn.java.server.JDK9ServerALPNProcessor";
+    protected static final String ALPN_OPENJDK8_PROCESSOR_CLASS = "org.eclipse.jetty.alpn.openjdk8.server.OpenJDK8ServerALPNProcessor";
+
+    /**
+     * @return Is ALPN server usable? (ALPN server and its processor for the JVM are on the classpath)
+     */
+    public static boolean isAvailable() {
+        try {
+            Class.forName(ALPN_FACTORY_CLASS);
+            if (isJava8()) { // JDK9 processor cannot work even if Java8u252
+                Class.forName(ALPN_OPENJDK8_PROCESSOR_CLASS);
+                SSLEngine.class.getMethod("setHandshakeApplicationProtocolSelector", BiFunction.class); // since Java8u252
+            } else {
+                Class.forName(ALPN_JAVA_PROCESSOR_CLASS);
+            }
+            return true;
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return false;
+        }
+    }
+
+    protected static boolean isJava8() {
+        return System.getProperty("java.specification.version", "").startsWith("1."); // e.g. 1.8
+    }
+
+    /**
+     * @param protocols The negotiated protocols in preference order e.g. h2, HTTP/1.1. (NotNull, NotEmpty)
+     * @return The new-created connection factory of ALPN, default protocol is the last. (NotNull)
+     */
+    public static ConnectionFactory createConnectionFactory(String... protocols) {
+        final String[] alpnProtocols = new String[protocols.length];
+        for (int i = 0; i < protocols.length; i++) {
+            alpnProtocols[i] = protocols[i].toLowerCase(Locale.ENGLISH); // ALPN identifiers are lower case e.g. http/1.1
+        }
+        final ALPNServerConnectionFactory factory = new ALPNServerConnectionFactory(alpnProtocols);
+        factory.setDefaultProtocol(alpnProtocols[alpnProtocols.length - 1]); // for clients without ALPN
+        return factory;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.tls;
+
+import java.io.File;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.jetty.util.Scanner;
+import org.eclipse.jetty.util.component.ContainerLifeCycle;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+
+/**
+ * The reloader of TLS certificate when its files are changed. <br>
+ * New handshakes use the new certificate, established connections are not affected.
+ * @author jflute
+ */
+public class CertificateReloader extends ContainerLifeCycle implements Scanner.BulkListener {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final SslContextFactory sslContextFactory;
+    protected final Consumer<SslContextFactory> reloader; // e.g. set key store loaded from PEM
+    protected final Consumer<String> logger; // e.g. info() of boot
+    protected final Scanner scanner = new Scanner();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param sslContextFactory The SSL context factory of the TLS connector. (NotNull)
+     * @param watchedFileList The list of certificate files to be watched. (NotNull, NotEmpty)
+     * @param intervalSeconds The interval seconds to check the files.
+     * @param reloader The callback to reset key source in the factory, nothing if key store path. (NotNull)
+     * @param logger The callback to log the message of reloading. (NotNull)
+     */
+    public CertificateReloader(SslContextFactory sslContextFactory, List<File> watchedFileList, int intervalSeconds,
+            Consumer<SslContextFactory> reloader, Consumer<String> logger) {
+        this.sslContextFactory = sslContextFactory;
+        this.reloader = reloader;
+        this.logger = logger;
+        try {
+            for (File file : watchedFileList) {
+                scanner.addFile(file.getAbsoluteFile().toPath());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to watch the certificate files: " + watchedFileList, e);
+        }
+        scanner.setScanInterval(intervalSeconds);
+        scanner.setReportExistingFilesOnStartup(false);
+        scanner.addListener(this);
+        addBean(scanner);
+    }
+
+    // ===================================================================================
+    //                                                                              Reload
+    //                                                                              ======
+    @Override
+    public void filesChanged(List<String> filenames) throws Exception {
+        try {
+            sslContextFactory.reload(reloader);
+            logger.accept("...Reloaded the TLS certificate: " + filenames);
+        } catch (Exception e) { // keep current certificate e.g. files are being written
+            logger.accept("*Failed to reload the TLS certificate, will retry at next change: " + filenames + ", " + e);
+        }
+    }
+}
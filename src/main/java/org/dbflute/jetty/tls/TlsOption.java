@@ -0,0 +1,258 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.tls;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The option of TLS (HTTPS) connector. <br>
+ * Either key store or PEM files is required. HTTP/2 is offered by ALPN if HTTP/2 is used
+ * and ALPN server (jetty-alpn-server and jetty-alpn-java-server, or openjdk8 one for Java8) is on the classpath.
+ * <pre>
+ * boot.useTls(8443, op -&gt; op.pem("/etc/tls/fullchain.pem", "/etc/tls/privkey.pem")
+ *     .includeProtocols("TLSv1.3", "TLSv1.2").sessionCacheSize(20000).sessionTimeoutSeconds(3600).reloadIntervalSeconds(60));
+ * </pre>
+ * @author jflute
+ */
+public class TlsOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected String keyStorePath; // null allowed: when PEM
+    protected String keyStorePassword; // null allowed: when PEM
+    protected String keyStoreType = "PKCS12";
+    protected String keyManagerPassword; // null allowed: same as key store password
+    protected String pemCertificatePath; // null allowed: when key store
+    protected String pemPrivateKeyPath; // null allowed: when key store
+    protected final List<String> includedProtocolList = new ArrayList<String>(); // empty allowed: JVM default
+    protected final List<String> includedCipherSuiteList = new ArrayList<String>(); // empty allowed: JVM default
+    protected Integer sessionCacheSize; // null allowed: JVM default
+    protected Integer sessionTimeoutSeconds; // null allowed: JVM default
+    protected boolean useOcspStapling;
+    protected Integer reloadIntervalSeconds; // null allowed: no hot reload
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param keyStorePath The path of key store file e.g. keystore.p12. (NotNull)
+     * @param keyStorePassword The password of key store. (NotNull)
+     * @return this. (NotNull)
+     */
+    public TlsOption keyStore(String keyStorePath, String keyStorePassword) {
+        assertNotEmpty("keyStorePath", keyStorePath);
+        assertNotNull("keyStorePassword", keyStorePassword);
+        this.keyStorePath = keyStorePath;
+        this.keyStorePassword = keyStorePassword;
+        this.pemCertificatePath = null;
+        this.pemPrivateKeyPath = null;
+        return this;
+    }
+
+    /**
+     * @param keyStoreType The type of key store e.g. JKS. (NotNull)
+     * @return this. (NotNull)
+     */
+    public TlsOption keyStoreType(String keyStoreType) {
+        assertNotEmpty("keyStoreType", keyStoreType);
+        this.keyStoreType = keyStoreType;
+        return this;
+    }
+
+    /**
+     * @param keyManagerPassword The password of private key if different from key store password. (NotNull)
+     * @return this. (NotNull)
+     */
+    public TlsOption keyManagerPassword(String keyManagerPassword) {
+        assertNotNull("keyManagerPassword", keyManagerPassword);
+        this.keyManagerPassword = keyManagerPassword;
+        return this;
+    }
+
+    /**
+     * @param certificatePath The path of PEM certificate chain e.g. fullchain.pem. (NotNull)
+     * @param privateKeyPath The path of PEM private key (unencrypted PKCS#8) e.g. privkey.pem. (NotNull)
+     * @return this. (NotNull)
+     */
+    public TlsOption pem(String certificatePath, String privateKeyPath) {
+        assertNotEmpty("certificatePath", certificatePath);
+        assertNotEmpty("privateKeyPath", privateKeyPath);
+        this.pemCertificatePath = certificatePath;
+        this.pemPrivateKeyPath = privateKeyPath;
+        this.keyStorePath = null;
+        this.keyStorePassword = null;
+        return this;
+    }
+
+    /**
+     * @param protocols The enabled protocols e.g. "TLSv1.3", "TLSv1.2". (NotNull, NotEmpty)
+     * @return this. (NotNull)
+     */
+    public TlsOption includeProtocols(String... protocols) {
+        includedProtocolList.addAll(toVerifiedList("protocols", protocols));
+        return this;
+    }
+
+    /**
+     * @param cipherSuites The enabled cipher suites (regular expressions allowed) e.g. "TLS_AES_.*". (NotNull, NotEmpty)
+     * @return this. (NotNull)
+     */
+    public TlsOption includeCipherSuites(String... cipherSuites) {
+        includedCipherSuiteList.addAll(toVerifiedList("cipherSuites", cipherSuites));
+        return this;
+    }
+
+    /**
+     * @param sessionCacheSize The maximum count of cached TLS sessions for resumption, 0 means unlimited. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public TlsOption sessionCacheSize(int sessionCacheSize) {
+        assertNotMinus("sessionCacheSize", sessionCacheSize);
+        this.sessionCacheSize = sessionCacheSize;
+        return this;
+    }
+
+    /**
+     * @param sessionTimeoutSeconds The seconds for cached TLS session to be expired, 0 means unlimited. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public TlsOption sessionTimeoutSeconds(int sessionTimeoutSeconds) {
+        assertNotMinus("sessionTimeoutSeconds", sessionTimeoutSeconds);
+        this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+        return this;
+    }
+
+    /**
+     * Staple OCSP responses in TLS handshake, so clients do not ask the CA. <br>
+     * <span style="color: #CC4747">It needs the JVM launch option -Djdk.tls.server.enableStatusRequestExtension=true (JVM-wide),
+     * the boot only warns if it is not specified.</span>
+     * @return this. (NotNull)
+     */
+    public TlsOption useOcspStapling() {
+        useOcspStapling = true;
+        return this;
+    }
+
+    /**
+     * Reload the certificate when the key store (or PEM) files are changed, without restart.
+     * @param reloadIntervalSeconds The interval seconds to check the files. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public TlsOption reloadIntervalSeconds(int reloadIntervalSeconds) {
+        if (reloadIntervalSeconds <= 0) {
+            throw new IllegalArgumentException("The argument 'reloadIntervalSeconds' should be positive: " + reloadIntervalSeconds);
+        }
+        this.reloadIntervalSeconds = reloadIntervalSeconds;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void assertNotNull(String name, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null.");
+        }
+    }
+
+    protected void assertNotEmpty(String name, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null or empty.");
+        }
+    }
+
+    protected void assertNotMinus(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be minus: " + value);
+        }
+    }
+
+    protected List<String> toVerifiedList(String name, String[] values) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should not be null or empty.");
+        }
+        for (String value : values) {
+            assertNotEmpty(name + "[]", value);
+        }
+        return Arrays.asList(values);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String keySource = keyStorePath != null ? "keyStore=" + keyStorePath : "pem=" + pemCertificatePath;
+        return "tls:{" + keySource + ", protocols=" + includedProtocolList + ", ciphers=" + includedCipherSuiteList + ", sessionCache="
+                + sessionCacheSize + ", sessionTimeout=" + sessionTimeoutSeconds + ", ocspStapling=" + useOcspStapling + ", reload="
+                + reloadIntervalSeconds + "}"; // no password
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getKeyStorePath() {
+        return keyStorePath;
+    }
+
+    public String getKeyStorePassword() {
+        return keyStorePassword;
+    }
+
+    public String getKeyStoreType() {
+        return keyStoreType;
+    }
+
+    public String getKeyManagerPassword() {
+        return keyManagerPassword;
+    }
+
+    public String getPemCertificatePath() {
+        return pemCertificatePath;
+    }
+
+    public String getPemPrivateKeyPath() {
+        return pemPrivateKeyPath;
+    }
+
+    public List<String> getIncludedProtocolList() {
+        return Collections.unmodifiableList(includedProtocolList);
+    }
+
+    public List<String> getIncludedCipherSuiteList() {
+        return Collections.unmodifiableList(includedCipherSuiteList);
+    }
+
+    public Integer getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    public Integer getSessionTimeoutSeconds() {
+        return sessionTimeoutSeconds;
+    }
+
+    public boolean isUseOcspStapling() {
+        return useOcspStapling;
+    }
+
+    public Integer getReloadIntervalSeconds() {
+        return reloadIntervalSeconds;
+    }
+}
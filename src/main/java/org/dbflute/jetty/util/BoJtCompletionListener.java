@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.util;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+import org.eclipse.jetty.server.HttpChannelState;
+
+/**
+ * The listener that calls the callback once when the request is completed, also after async processing. <br>
+ * Use it at the end (finally) of handler's own processing of the initial dispatch.
+ * <pre>
+ * try {
+ *     super.handle(target, baseRequest, request, response);
+ * } finally {
+ *     BoJtCompletionListener.whenCompleted(baseRequest.getHttpChannelState(), () -&gt; release());
+ * }
+ * </pre>
+ * @author jflute
+ */
+public class BoJtCompletionListener implements AsyncListener {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Runnable callback; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param callback The callback called when the request is completed. (NotNull)
+     */
+    public BoJtCompletionListener(Runnable callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("The argument 'callback' should not be null.");
+        }
+        this.callback = callback;
+    }
+
+    // ===================================================================================
+    //                                                                       When Complete
+    //                                                                       =============
+    /**
+     * Call the callback now if the request is completed, or when async processing is completed.
+     * @param state The state of HTTP channel of the request, after the handling of dispatch. (NotNull)
+     * @param callback The callback called when the request is completed. (NotNull)
+     */
+    public static void whenCompleted(HttpChannelState state, Runnable callback) {
+        if (state == null) {
+            throw new IllegalArgumentException("The argument 'state' should not be null.");
+        }
+        if (state.isSuspended()) { // async started, error dispatch if failed
+            state.addListener(new BoJtCompletionListener(callback));
+        } else {
+            callback.run();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Async Listener
+    //                                                                      ==============
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+        callback.run();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {
+        event.getAsyncContext().addListener(this); // listeners are cleared at restarting async
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+
+/**
+ * The shared cache of opened jar files, reference-counted by acquisition. <br>
+ * The same jar file is opened once while someone holds it, and closed when the last holder closes it.
+ * <pre>
+ * try (JarFile jarFile = BoJtJarFileCache.acquire(file)) { // opened or shared
+ *     ...
+ * } // released, actually closed if no other holder
+ * </pre>
+ * Close it once per acquisition, and do not close it by other way e.g. via JarURLConnection.
+ * @author jflute
+ */
+public class BoJtJarFileCache {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of shared jar files, key is canonical path. (NotNull) */
+    protected static final Map<String, SharedJarFile> jarFileMap = new ConcurrentHashMap<String, SharedJarFile>();
+
+    // ===================================================================================
+    //                                                                             Acquire
+    //                                                                             =======
+    /**
+     * @param file The file of the jar. (NotNull)
+     * @return The opened jar file shared with other holders, should be closed after use. (NotNull)
+     * @throws IllegalStateException When the jar file cannot be opened.
+     */
+    public static JarFile acquire(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("The argument 'file' should not be null.");
+        }
+        final String path = BoJtResourceUtil.getCanonicalPath(file);
+        return jarFileMap.compute(path, (key, current) -> { // locked per key, so opened once
+            final SharedJarFile jarFile = current != null ? current : open(key);
+            ++jarFile.refCount;
+            return jarFile;
+        });
+    }
+
+    protected static SharedJarFile open(String path) {
+        try {
+            return new SharedJarFile(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open the jar file: " + path, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Release
+    //                                                                             =======
+    protected static void release(SharedJarFile jarFile) throws IOException {
+        final SharedJarFile remaining = jarFileMap.computeIfPresent(jarFile.path, (key, current) -> {
+            if (current != jarFile) { // already released, and opened again by others
+                return current;
+            }
+            return --current.refCount > 0 ? current : null;
+        });
+        if (remaining == null) { // last holder (or already removed, closing twice is no problem)
+            jarFile.closeActually();
+        }
+    }
+
+    /**
+     * @return The count of jar files opened now.
+     */
+    public static int getOpenedCount() {
+        return jarFileMap.size();
+    }
+
+    // ===================================================================================
+    //                                                                     Shared JarFile
+    //                                                                     ==============
+    /**
+     * The jar file whose close() releases the reference.
+     */
+    public static class SharedJarFile extends JarFile {
+
+        protected final String path; // canonical
+        protected int refCount; // updated only in map computation
+
+        public SharedJarFile(String path) throws IOException {
+            super(path);
+            this.path = path;
+        }
+
+        @Override
+        public void close() throws IOException {
+            release(this);
+        }
+
+        protected void closeActually() throws IOException {
+            super.close();
+        }
+    }
+}
@@ -18,7 +18,7 @@ package org.dbflute.jetty.util;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -29,6 +29,14 @@ import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 
@@ -37,6 +45,20 @@ import java.util.zip.ZipEntry;
  */
 public class BoJtResourceUtil { // same as DfResourceUtil
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The size of reusable direct buffer for stream copy. */
+    protected static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+    /** The direct buffer per thread for stream copy, reused not to allocate per copy. (NotNull) */
+    protected static final ThreadLocal<ByteBuffer> transferBufferLocal = ThreadLocal.withInitial(() -> {
+        return ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+    });
+
+    /** The map of resolved jar file path, key is URL path before '!'. (NotNull) */
+    protected static final Map<String, String> jarFilePathMap = new ConcurrentHashMap<String, String>();
+
     // ===================================================================================
     //                                                                       Resource Path
     //                                                                       =============
@@ -224,35 +246,33 @@ public class BoJtResourceUtil { // same as DfResourceUtil
     // ===================================================================================
     //                                                                InputStream Handling
     //                                                                ====================
+    /**
+     * Write the stream to the file (overwritten) by streaming, not reading whole bytes into heap.
+     * @param in The input stream closed in this method. (NotNull)
+     * @param outputFilename The path of output file. (NotNull)
+     */
     public static void makeFileAndClose(InputStream in, String outputFilename) {
-        final byte[] bytes = toBytesAndClose(in);
         final File outputFile = new File(outputFilename);
-        final FileOutputStream fileOutputStream;
-        try {
-            fileOutputStream = new FileOutputStream(outputFile, false);
-        } catch (FileNotFoundException e) {
-            String msg = "new FileOutputStream(outputFile, false) threw the " + e.getClass().getSimpleName();
-            msg = msg + ": outputFilename=" + outputFilename;
-            throw new IllegalStateException(msg, e);
-        }
-        try {
-            fileOutputStream.write(bytes);
+        try (InputStream closedIn = in;
+                FileChannel out = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            transfer(closedIn, out);
         } catch (IOException e) {
-            String msg = "fileOutputStream.write(toBytes) threw the " + e.getClass().getSimpleName();
-            msg = msg + ": outputFilename=" + outputFilename;
+            String msg = "Failed to make the file from the stream: outputFilename=" + outputFilename;
             throw new IllegalStateException(msg, e);
-        } finally {
-            try {
-                fileOutputStream.close();
-            } catch (IOException ignored) {}
         }
     }
 
+    /**
+     * Read whole bytes of the stream into heap, so use makeFileAndClose() or copy() for large resource.
+     * @param is The input stream closed in this method. (NotNull)
+     * @return The read bytes. (NotNull)
+     */
     public static final byte[] toBytesAndClose(InputStream is) {
         byte[] bytes = null;
         byte[] buf = new byte[8192];
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(32, is.available())); // to avoid growing if known
             int n = 0;
             while ((n = is.read(buf, 0, buf.length)) != -1) {
                 baos.write(buf, 0, n);
@@ -279,18 +299,103 @@ public class BoJtResourceUtil { // same as DfResourceUtil
         }
     }
 
+    /**
+     * Copy the stream to the other stream, by file channel transfer if file streams. <br>
+     * The streams are not closed here.
+     * @param is The input stream to be read. (NotNull)
+     * @param os The output stream to be written. (NotNull)
+     */
     public static final void copy(InputStream is, OutputStream os) {
-        byte[] buf = new byte[8192];
         try {
-            int n = 0;
-            while ((n = is.read(buf, 0, buf.length)) != -1) {
-                os.write(buf, 0, n);
+            if (os instanceof FileOutputStream) {
+                transfer(is, ((FileOutputStream) os).getChannel());
+            } else if (is instanceof FileInputStream) {
+                final FileChannel in = ((FileInputStream) is).getChannel();
+                final WritableByteChannel out = Channels.newChannel(os);
+                long position = in.position();
+                final long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                in.position(position);
+            } else {
+                copy(Channels.newChannel(is), Channels.newChannel(os));
             }
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Copy the file to the other file (overwritten) by file channel transfer, e.g. by kernel without user buffer.
+     * @param src The source file to be read. (NotNull)
+     * @param dest The destination file to be written, created if not exists. (NotNull)
+     */
+    public static void copyFile(File src, File dest) {
+        try (FileChannel in = FileChannel.open(src.toPath(), StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(dest.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        } catch (IOException e) {
+            String msg = "Failed to copy the file: src=" + src + ", dest=" + dest;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    /**
+     * Transfer the stream to the file channel from its current position. <br>
+     * The stream and channel are not closed here.
+     * @param in The input stream to be read until end. (NotNull)
+     * @param out The file channel to be written. (NotNull)
+     * @return The transferred size.
+     * @throws IOException When it fails to read or write.
+     */
+    public static long transfer(InputStream in, FileChannel out) throws IOException {
+        if (in instanceof FileInputStream) { // file to file
+            final FileChannel inChannel = ((FileInputStream) in).getChannel();
+            final long begin = inChannel.position();
+            final long size = inChannel.size();
+            long position = begin;
+            while (position < size) {
+                position += inChannel.transferTo(position, size - position, out);
+            }
+            inChannel.position(position);
+            return position - begin;
+        }
+        final ReadableByteChannel inChannel = Channels.newChannel(in);
+        final ByteBuffer buffer = prepareTransferBuffer();
+        long transferred = 0;
+        while (inChannel.read(buffer) >= 0) { // file channel writes direct buffer without copy
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                transferred += out.write(buffer);
+            }
+            buffer.clear();
+        }
+        return transferred;
+    }
+
+    protected static void copy(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        final ByteBuffer buffer = prepareTransferBuffer();
+        while (in.read(buffer) >= 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    protected static ByteBuffer prepareTransferBuffer() { // not reentrant, so don't call it in copying
+        final ByteBuffer buffer = transferBufferLocal.get();
+        buffer.clear();
+        return buffer;
+    }
+
     public static int available(InputStream is) {
         try {
             return is.available();
@@ -326,22 +431,38 @@ public class BoJtResourceUtil { // same as DfResourceUtil
         }
     }
 
+    /**
+     * @param jarUrl The URL of jar file or jar entry e.g. jar:file:/.../foo.jar!/bar/ (NotNull)
+     * @return The jar file shared by reference count if local file, should be closed after use. (NotNull)
+     */
     public static JarFile toJarFile(URL jarUrl) {
+        if (isLocalJarUrl(jarUrl)) { // mostly here
+            return BoJtJarFileCache.acquire(new File(toJarFilePath(jarUrl)));
+        }
         java.net.URLConnection con = openConnection(jarUrl);
         if (con instanceof JarURLConnection) {
             return getJarFile((JarURLConnection) con);
         } else {
-            return create(new File(toJarFilePath(jarUrl)));
+            return BoJtJarFileCache.acquire(new File(toJarFilePath(jarUrl)));
         }
     }
 
+    protected static boolean isLocalJarUrl(URL jarUrl) {
+        return "jar".equals(jarUrl.getProtocol()) && jarUrl.getPath().startsWith("file:") && jarUrl.getPath().contains("!");
+    }
+
     public static String toJarFilePath(URL jarUrl) {
-        URL nestedUrl = createURL(jarUrl.getPath());
-        String nestedUrlPath = nestedUrl.getPath();
-        int pos = nestedUrlPath.lastIndexOf('!');
-        String jarFilePath = nestedUrlPath.substring(0, pos);
-        File jarFile = new File(decodeURL(jarFilePath, "UTF8"));
-        return getCanonicalPath(jarFile);
+        final String urlPath = jarUrl.getPath();
+        final int bangPos = urlPath.lastIndexOf('!');
+        final String key = bangPos >= 0 ? urlPath.substring(0, bangPos) : urlPath; // entry path is not related
+        return jarFilePathMap.computeIfAbsent(key, unused -> { // canonical path needs file system access
+            URL nestedUrl = createURL(urlPath);
+            String nestedUrlPath = nestedUrl.getPath();
+            int pos = nestedUrlPath.lastIndexOf('!');
+            String jarFilePath = nestedUrlPath.substring(0, pos);
+            File jarFile = new File(decodeURL(jarFilePath, "UTF8"));
+            return getCanonicalPath(jarFile);
+        });
     }
 
     public static JarFile getJarFile(JarURLConnection conn) {
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.warmup;
+
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+
+/**
+ * The local connector only for warm-up, so that handlers can tell replayed requests from real traffic. <br>
+ * Warm-up requests are not recorded in request metrics (cold latencies would stay in the histograms).
+ * @author jflute
+ */
+public class WarmupConnector extends LocalConnector {
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param server The server of the connector. (NotNull)
+     * @param factory The connection factory, same configuration as main connector. (NotNull)
+     */
+    public WarmupConnector(Server server, ConnectionFactory factory) {
+        super(server, factory);
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    /**
+     * @param baseRequest The request of jetty. (NotNull)
+     * @return Is it the request replayed by warm-up?
+     */
+    public static boolean isWarmupRequest(Request baseRequest) {
+        return baseRequest.getHttpChannel().getConnector() instanceof WarmupConnector;
+    }
+}
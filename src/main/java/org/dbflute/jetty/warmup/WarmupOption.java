@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The option of warm-up, which replays requests against the in-process server before ready.
+ * <pre>
+ * boot.useWarmup(op -&gt; op.get("/harbor/").get("/harbor/product/list").iterations(200).untilStable(5));
+ * boot.useWarmup(op -&gt; op.sampleFile("./warmup.tsv").maxMillis(60000));
+ * </pre>
+ * The sample file has a request per line separated by tab: method, path, (content type, body). <br>
+ * Empty lines and lines starting with '#' are ignored.
+ * <pre>
+ * GET	/harbor/product/list?page=1
+ * POST	/harbor/signin	application/x-www-form-urlencoded	account=Pixy&amp;password=sea
+ * </pre>
+ * @author jflute
+ */
+public class WarmupOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<WarmupRequest> requestList = new ArrayList<WarmupRequest>(); // empty allowed if sample file
+    protected String sampleFilePath; // null allowed: only registered requests
+    protected int iterations = 100; // maximum count of replaying all requests
+    protected Integer stableThresholdPercent; // null allowed: always all iterations
+    protected int stableIterations = 3; // consecutive stable iterations to stop
+    protected long maxMillis = 30000L; // should be shorter than startup probe of platform
+    protected long requestTimeoutMillis = 10000L; // per request
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param path The request path with context path e.g. "/harbor/product/list". (NotNull)
+     * @return this. (NotNull)
+     */
+    public WarmupOption get(String path) {
+        requestList.add(new WarmupRequest("GET", path, null, null));
+        return this;
+    }
+
+    /**
+     * @param method The HTTP method of the request e.g. POST. (NotNull)
+     * @param path The request path with context path. (NotNull)
+     * @param contentType The content type of the body e.g. "application/json". (NotNull)
+     * @param body The request body as UTF-8 text. (NotNull, EmptyAllowed)
+     * @return this. (NotNull)
+     */
+    public WarmupOption request(String method, String path, String contentType, String body) {
+        if (contentType == null || body == null) {
+            throw new IllegalArgumentException("The arguments 'contentType' and 'body' should not be null: " + method + " " + path);
+        }
+        requestList.add(new WarmupRequest(method, path, contentType, body));
+        return this;
+    }
+
+    /**
+     * @param sampleFilePath The path of tab-separated file of requests e.g. recorded from access log. (NotNull)
+     * @return this. (NotNull)
+     */
+    public WarmupOption sampleFile(String sampleFilePath) {
+        if (sampleFilePath == null || sampleFilePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'sampleFilePath' should not be null or empty.");
+        }
+        this.sampleFilePath = sampleFilePath;
+        return this;
+    }
+
+    /**
+     * @param iterations The maximum count of replaying all requests. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WarmupOption iterations(int iterations) {
+        assertPositive("iterations", iterations);
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Stop the warm-up before the iterations when the latency is stabilized, that is,
+     * elapsed time of an iteration differs from the previous one within the threshold in consecutive iterations.
+     * @param stableThresholdPercent The threshold percent of difference between iterations e.g. 5. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WarmupOption untilStable(int stableThresholdPercent) {
+        assertPositive("stableThresholdPercent", stableThresholdPercent);
+        this.stableThresholdPercent = stableThresholdPercent;
+        return this;
+    }
+
+    /**
+     * @param stableIterations The count of consecutive stable iterations to stop, default is 3. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WarmupOption stableIterations(int stableIterations) {
+        assertPositive("stableIterations", stableIterations);
+        this.stableIterations = stableIterations;
+        return this;
+    }
+
+    /**
+     * @param maxMillis The maximum milliseconds of whole warm-up, stopped even if iterations remain. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WarmupOption maxMillis(long maxMillis) {
+        if (maxMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'maxMillis' should be positive: " + maxMillis);
+        }
+        this.maxMillis = maxMillis;
+        return this;
+    }
+
+    /**
+     * @param requestTimeoutMillis The milliseconds to wait for a response. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WarmupOption requestTimeoutMillis(long requestTimeoutMillis) {
+        if (requestTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'requestTimeoutMillis' should be positive: " + requestTimeoutMillis);
+        }
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        return this;
+    }
+
+    protected void assertPositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("The argument '" + name + "' should be positive: " + value);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "warmup:{requests=" + requestList.size() + ", sample=" + sampleFilePath + ", iterations=" + iterations + ", stable="
+                + (stableThresholdPercent != null ? stableThresholdPercent + "%x" + stableIterations : "none") + ", max=" + maxMillis + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<WarmupRequest> getRequestList() {
+        return requestList;
+    }
+
+    public String getSampleFilePath() {
+        return sampleFilePath;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public Integer getStableThresholdPercent() {
+        return stableThresholdPercent;
+    }
+
+    public int getStableIterations() {
+        return stableIterations;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+}
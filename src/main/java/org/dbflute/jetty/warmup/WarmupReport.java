@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.warmup;
+
+/**
+ * The result of warm-up: how many requests were replayed and how the latency changed.
+ * @author jflute
+ */
+public class WarmupReport {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int iterationCount; // replayed iterations of all requests
+    protected final long requestCount; // replayed requests
+    protected final long errorCount; // server error, timeout or broken response
+    protected final long firstIterationMicros; // elapsed time of first iteration (cold)
+    protected final long lastIterationMicros; // elapsed time of last iteration (warm)
+    protected final boolean stabilized; // stopped by stable latency
+    protected final long elapsedMillis; // whole warm-up
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public WarmupReport(int iterationCount, long requestCount, long errorCount, long firstIterationMicros, long lastIterationMicros,
+            boolean stabilized, long elapsedMillis) {
+        this.iterationCount = iterationCount;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.firstIterationMicros = firstIterationMicros;
+        this.lastIterationMicros = lastIterationMicros;
+        this.stabilized = stabilized;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "warmup:{iterations=" + iterationCount + ", requests=" + requestCount + ", errors=" + errorCount + ", first="
+                + firstIterationMicros + "us, last=" + lastIterationMicros + "us, stabilized=" + stabilized + ", elapsed=" + elapsedMillis
+                + "ms}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getIterationCount() {
+        return iterationCount;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getFirstIterationMicros() {
+        return firstIterationMicros;
+    }
+
+    public long getLastIterationMicros() {
+        return lastIterationMicros;
+    }
+
+    public boolean isStabilized() {
+        return stabilized;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The request replayed at warm-up, immutable.
+ * @author jflute
+ */
+public class WarmupRequest {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String method; // not null e.g. GET
+    protected final String path; // not null, with context path and query e.g. /harbor/product/list?page=1
+    protected final String contentType; // null allowed: when no body
+    protected final String body; // null allowed: when no body
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param method The HTTP method of the request e.g. GET, POST. (NotNull)
+     * @param path The request path with context path and query string, starting with slash. (NotNull)
+     * @param contentType The content type of the body. (NullAllowed: when no body)
+     * @param body The request body as UTF-8 text. (NullAllowed: when no body)
+     */
+    public WarmupRequest(String method, String path, String contentType, String body) {
+        if (method == null || method.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'method' should not be null or empty.");
+        }
+        if (path == null || !path.startsWith("/")) {
+            throw new IllegalArgumentException("The argument 'path' should start with slash: " + path);
+        }
+        this.method = method.trim().toUpperCase();
+        this.path = path;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    // ===================================================================================
+    //                                                                         Raw Request
+    //                                                                         ===========
+    /**
+     * @return The raw HTTP/1.1 request closing the connection after response. (NotNull)
+     */
+    public ByteBuffer toRawRequest() {
+        final byte[] bodyBytes = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        final StringBuilder sb = new StringBuilder();
+        sb.append(method).append(" ").append(path).append(" HTTP/1.1\r\n");
+        sb.append("Host: localhost\r\n");
+        sb.append("Connection: close\r\n");
+        if (contentType != null) {
+            sb.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        if (body != null) {
+            sb.append("Content-Length: ").append(bodyBytes.length).append("\r\n");
+        }
+        sb.append("\r\n");
+        final byte[] headBytes = sb.toString().getBytes(StandardCharsets.ISO_8859_1);
+        final ByteBuffer buffer = ByteBuffer.allocate(headBytes.length + bodyBytes.length);
+        buffer.put(headBytes).put(bodyBytes);
+        buffer.flip();
+        return buffer;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return method + " " + path + (body != null ? " (" + contentType + ")" : "");
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
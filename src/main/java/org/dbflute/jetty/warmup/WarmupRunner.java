@@ -0,0 +1,174 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.server.LocalConnector;
+
+/**
+ * The runner of warm-up, which replays requests by the local connector (in-process, no network). <br>
+ * So the requests go through the same handlers as real requests, and JIT compiles their paths before ready.
+ * @author jflute
+ */
+public class WarmupRunner {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final WarmupOption option; // not null
+    protected final LocalConnector connector; // not null, started
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param option The option of warm-up. (NotNull)
+     * @param connector The started local connector of the server. (NotNull)
+     */
+    public WarmupRunner(WarmupOption option, LocalConnector connector) {
+        this.option = option;
+        this.connector = connector;
+    }
+
+    // ===================================================================================
+    //                                                                                 Run
+    //                                                                                 ===
+    /**
+     * @return The report of the warm-up. (NotNull)
+     */
+    public WarmupReport run() {
+        final List<WarmupRequest> requestList = prepareRequestList();
+        final long beginNanos = System.nanoTime();
+        final long deadlineNanos = beginNanos + TimeUnit.MILLISECONDS.toNanos(option.getMaxMillis());
+        final Integer thresholdPercent = option.getStableThresholdPercent();
+        int iterationCount = 0;
+        long requestCount = 0;
+        long errorCount = 0;
+        long firstMicros = -1L;
+        long previousMicros = -1L;
+        int stableCount = 0;
+        boolean stabilized = false;
+        while (iterationCount < option.getIterations() && System.nanoTime() < deadlineNanos && connector.isRunning()) {
+            final long iterationBegin = System.nanoTime();
+            for (WarmupRequest request : requestList) {
+                if (!replay(request)) {
+                    ++errorCount;
+                }
+                ++requestCount;
+            }
+            final long iterationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - iterationBegin);
+            ++iterationCount;
+            if (firstMicros < 0) {
+                firstMicros = iterationMicros;
+            }
+            if (thresholdPercent != null && previousMicros > 0) {
+                final long diffPercent = Math.abs(iterationMicros - previousMicros) * 100L / previousMicros;
+                stableCount = diffPercent <= thresholdPercent ? stableCount + 1 : 0;
+                if (stableCount >= option.getStableIterations()) {
+                    stabilized = true;
+                    previousMicros = iterationMicros;
+                    break;
+                }
+            }
+            previousMicros = iterationMicros;
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beginNanos);
+        return new WarmupReport(iterationCount, requestCount, errorCount, firstMicros, previousMicros, stabilized, elapsedMillis);
+    }
+
+    /**
+     * @param request The request to be replayed. (NotNull)
+     * @return Is it successful? (false if server error, timeout or broken response)
+     */
+    protected boolean replay(WarmupRequest request) {
+        final ByteBuffer response;
+        try {
+            response = connector.getResponse(request.toRawRequest(), option.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) { // e.g. interrupted
+            return false;
+        }
+        if (response == null) { // timeout
+            return false;
+        }
+        final int status = extractStatus(response);
+        return status > 0 && status < 500; // client error may be by application rule e.g. login required
+    }
+
+    protected int extractStatus(ByteBuffer response) { // minus if broken
+        // e.g. HTTP/1.1 200 OK
+        final int length = Math.min(response.remaining(), 32);
+        final byte[] head = new byte[length];
+        response.duplicate().get(head);
+        final String statusLine = new String(head, StandardCharsets.ISO_8859_1);
+        final int firstSpace = statusLine.indexOf(' ');
+        if (!statusLine.startsWith("HTTP/") || firstSpace < 0 || statusLine.length() < firstSpace + 4) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(statusLine.substring(firstSpace + 1, firstSpace + 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Sample File
+    //                                                                         ===========
+    protected List<WarmupRequest> prepareRequestList() {
+        final List<WarmupRequest> requestList = new ArrayList<WarmupRequest>(option.getRequestList());
+        if (option.getSampleFilePath() != null) {
+            requestList.addAll(readSampleFile(option.getSampleFilePath()));
+        }
+        if (requestList.isEmpty()) {
+            throw new IllegalStateException("Not found the warm-up requests: " + option);
+        }
+        return requestList;
+    }
+
+    protected List<WarmupRequest> readSampleFile(String sampleFilePath) {
+        final List<String> lineList;
+        try {
+            lineList = Files.readAllLines(Paths.get(sampleFilePath), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the warm-up sample file: " + sampleFilePath, e);
+        }
+        final List<WarmupRequest> requestList = new ArrayList<WarmupRequest>(lineList.size());
+        int lineNumber = 0;
+        for (String line : lineList) {
+            ++lineNumber;
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] columns = line.split("\t", 4); // body may contain tab
+            if (columns.length != 2 && columns.length != 4) {
+                String msg = "The line of warm-up sample should be (method, path) or (method, path, content type, body) by tab: ";
+                throw new IllegalStateException(msg + sampleFilePath + ":" + lineNumber + " " + line);
+            }
+            final String contentType = columns.length == 4 ? columns[2] : null;
+            final String body = columns.length == 4 ? columns[3] : null;
+            requestList.add(new WarmupRequest(columns[0], columns[1], contentType, body));
+        }
+        return requestList;
+    }
+}
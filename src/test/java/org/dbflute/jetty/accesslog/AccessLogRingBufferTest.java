@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class AccessLogRingBufferTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_claim_publish_consume() {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+
+        // ## Act ##
+        final long position = buffer.claim();
+        buffer.builderAt(position).append("sea");
+
+        // ## Assert ##
+        assertEquals(0L, position);
+        assertNull(buffer.peek()); // not published yet
+        buffer.publish(position);
+        assertEquals("sea", buffer.peek().toString());
+        assertEquals(1, buffer.size());
+        buffer.consume();
+        assertNull(buffer.peek());
+        assertEquals(0, buffer.size());
+    }
+
+    public void test_claim_full() {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            final long position = buffer.claim();
+            buffer.builderAt(position).append("sea").append(i);
+            buffer.publish(position);
+        }
+
+        // ## Act ##
+        final long full = buffer.claim();
+
+        // ## Assert ##
+        assertTrue(full < 0);
+        assertEquals("sea0", buffer.peek().toString());
+        buffer.consume();
+        final long position = buffer.claim(); // wrapped to the consumed slot
+        assertEquals(4L, position);
+        buffer.builderAt(position).append("land");
+        buffer.publish(position);
+        for (int i = 1; i < 4; i++) {
+            assertEquals("sea" + i, buffer.peek().toString());
+            buffer.consume();
+        }
+        assertEquals("land", buffer.peek().toString());
+    }
+
+    public void test_constructor_notPowerOfTwo() {
+        try {
+            new AccessLogRingBuffer(6);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Multi Producer
+    //                                                                      ==============
+    public void test_multiProducer_noLossNoDuplicate() throws Exception {
+        // ## Arrange ##
+        final AccessLogRingBuffer buffer = new AccessLogRingBuffer(64); // small to wrap many times
+        final int producerCount = 4;
+        final int entryCount = 20000; // per producer
+        final ExecutorService executor = Executors.newFixedThreadPool(producerCount);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Future<?>> futureList = new ArrayList<Future<?>>();
+        for (int i = 0; i < producerCount; i++) {
+            final int producer = i;
+            futureList.add(executor.submit(() -> {
+                startLatch.await();
+                for (int entry = 0; entry < entryCount; entry++) {
+                    long position;
+                    while ((position = buffer.claim()) < 0) { // full
+                        Thread.yield();
+                    }
+                    buffer.builderAt(position).append(producer).append(':').append(entry);
+                    buffer.publish(position);
+                }
+                return null;
+            }));
+        }
+
+        // ## Act ##
+        startLatch.countDown();
+        final int[] nextEntries = new int[producerCount]; // expected next entry per producer
+        final long limitNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        int consumed = 0;
+        while (consumed < producerCount * entryCount) {
+            final StringBuilder entry = buffer.peek();
+            if (entry == null) {
+                if (System.nanoTime() > limitNanos) {
+                    fail("not published: consumed=" + consumed + ", size=" + buffer.size());
+                }
+                Thread.yield();
+                continue;
+            }
+            final String text = entry.toString();
+            buffer.consume();
+            final int delimiterIndex = text.indexOf(':');
+            final int producer = Integer.parseInt(text.substring(0, delimiterIndex));
+            final int entryNumber = Integer.parseInt(text.substring(delimiterIndex + 1));
+            assertEquals("producer " + producer, nextEntries[producer], entryNumber); // in order per producer, no loss
+            ++nextEntries[producer];
+            ++consumed;
+        }
+
+        // ## Assert ##
+        for (Future<?> future : futureList) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        for (int i = 0; i < producerCount; i++) {
+            assertEquals(entryCount, nextEntries[i]);
+        }
+        assertNull(buffer.peek());
+        assertEquals(0, buffer.size());
+        log("consumed: " + consumed);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+/**
+ * @author jflute
+ */
+public class AsyncRequestLogTest extends PlainTestCase {
+
+    protected Path logDir; // deleted at tear down
+    protected Server server; // stopped by test or at tear down
+    protected LocalConnector connector;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        logDir = Files.createTempDirectory("jettyboot-access-log-test");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (server != null && server.isRunning()) {
+            server.stop();
+        }
+        try (Stream<Path> stream = Files.walk(logDir)) {
+            stream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                          Concurrent
+    //                                                                          ==========
+    public void test_log_concurrent_blockOnOverflow() throws Exception {
+        // ## Arrange ##
+        final AccessLogOption option = new AccessLogOption().fields(AccessLogField.METHOD, AccessLogField.URI, AccessLogField.STATUS)
+                .bufferCapacity(16) // small to overflow
+                .blockOnOverflow();
+        final AsyncRequestLog requestLog = startServer(option);
+        final int clientCount = 8;
+        final int requestCount = 200; // per client
+
+        // ## Act ##
+        final ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Future<?>> futureList = new ArrayList<Future<?>>();
+        for (int i = 0; i < clientCount; i++) {
+            final int client = i;
+            futureList.add(executor.submit(() -> {
+                startLatch.await();
+                for (int request = 0; request < requestCount; request++) {
+                    connector.getResponse("GET /sea/" + client + "/" + request + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futureList) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        server.stop(); // drains remaining entries
+
+        // ## Assert ##
+        log(requestLog);
+        final int total = clientCount * requestCount;
+        assertEquals(total, requestLog.getWrittenCount());
+        assertEquals(0L, requestLog.getDroppedCount());
+        assertEquals(0L, requestLog.getWriteErrorCount());
+        final List<String> lineList = readLines();
+        assertEquals(total, lineList.size());
+        final Set<String> lineSet = new HashSet<String>(lineList);
+        assertEquals(total, lineSet.size()); // no duplicate
+        for (int client = 0; client < clientCount; client++) {
+            for (int request = 0; request < requestCount; request++) {
+                assertTrue(lineSet.contains("GET /sea/" + client + "/" + request + " 200"));
+            }
+        }
+    }
+
+    public void test_log_stop_drainRemaining() throws Exception {
+        // ## Arrange ##
+        final AccessLogOption option = new AccessLogOption().fields(AccessLogField.URI, AccessLogField.STATUS).flushIntervalMillis(60000L);
+        final AsyncRequestLog requestLog = startServer(option);
+        for (int i = 0; i < 10; i++) {
+            connector.getResponse("GET /sea/" + i + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+        }
+
+        // ## Act ##
+        server.stop(); // not flushed by interval yet
+
+        // ## Assert ##
+        log(requestLog);
+        assertEquals(10L, requestLog.getWrittenCount());
+        assertEquals(10, readLines().size());
+        assertEquals(0, requestLog.getPendingCount());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected AsyncRequestLog startServer(AccessLogOption option) throws Exception {
+        server = new Server();
+        connector = new LocalConnector(server);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+                baseRequest.setHandled(true);
+                response.setStatus(HttpServletResponse.SC_OK);
+            }
+        });
+        final AsyncRequestLog requestLog = new AsyncRequestLog(logDir.resolve("access.log").toString(), option, msg -> log(msg));
+        server.setRequestLog(requestLog);
+        server.start();
+        return requestLog;
+    }
+
+    protected List<String> readLines() throws Exception {
+        final List<String> lineList = new ArrayList<String>();
+        try (Stream<Path> stream = Files.list(logDir)) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                lineList.addAll(Files.readAllLines(path, StandardCharsets.UTF_8));
+            }
+        }
+        return lineList;
+    }
+}
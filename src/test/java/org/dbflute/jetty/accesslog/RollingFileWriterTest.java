@@ -0,0 +1,230 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.accesslog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class RollingFileWriterTest extends PlainTestCase {
+
+    protected Path logDir; // deleted at tear down
+    protected LocalDate switchedToday = LocalDate.of(2026, 10, 17); // switched by test
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        logDir = Files.createTempDirectory("jettyboot-rolling-test");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try (Stream<Path> stream = Files.walk(logDir)) {
+            stream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                        Roll by Size
+    //                                                                        ============
+    public void test_roll_bySize() throws Exception {
+        // ## Arrange ##
+        final RollingFileWriter writer = newWriter(100L, 0);
+        writer.open();
+
+        // ## Act ##
+        writeLine(writer, 59); // 60 bytes with line separator
+        writeLine(writer, 59); // over max, rolled
+        writeLine(writer, 59); // over max, rolled again
+        writer.close();
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access.2026-10-17.1.log", "access.2026-10-17.2.log", "access.2026-10-17.log"), listFileNames());
+        for (String name : listFileNames()) {
+            assertEquals(60L, logDir.resolve(name).toFile().length());
+        }
+    }
+
+    public void test_roll_bySize_restartSameDay() throws Exception {
+        // ## Arrange ##
+        final RollingFileWriter first = newWriter(100L, 0);
+        first.open();
+        writeLine(first, 99); // just max
+        first.close();
+
+        // ## Act ##
+        final RollingFileWriter second = newWriter(100L, 0);
+        second.open();
+        writeLine(second, 9);
+        second.close();
+
+        // ## Assert ##
+        assertEquals("access.2026-10-17.1.log", second.getCurrentFile().getName());
+        assertEquals(100L, logDir.resolve("access.2026-10-17.log").toFile().length()); // not appended
+        assertEquals(10L, second.getCurrentFile().length());
+    }
+
+    public void test_roll_bySize_largeEntry() throws Exception {
+        // ## Arrange ##
+        final RollingFileWriter writer = newWriter(100L, 0);
+        writer.open();
+
+        // ## Act ##
+        writeLine(writer, 199); // over max in empty file, written anyway
+        writer.close();
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access.2026-10-17.log"), listFileNames());
+        assertEquals(200L, writer.getCurrentFile().length());
+    }
+
+    // ===================================================================================
+    //                                                                        Roll by Date
+    //                                                                        ============
+    public void test_roll_byDate() throws Exception {
+        // ## Arrange ##
+        final RollingFileWriter writer = newWriter(1000L, 0);
+        writer.open();
+        writeLine(writer, 9);
+        writeLine(writer, 9);
+
+        // ## Act ##
+        switchedToday = switchedToday.plusDays(1);
+        writeLine(writer, 19);
+        writer.close();
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access.2026-10-17.log", "access.2026-10-18.log"), listFileNames());
+        assertEquals(20L, logDir.resolve("access.2026-10-17.log").toFile().length());
+        assertEquals(20L, logDir.resolve("access.2026-10-18.log").toFile().length());
+        assertEquals("access.2026-10-18.log", writer.getCurrentFile().getName());
+    }
+
+    public void test_roll_byDate_indexReset() throws Exception {
+        // ## Arrange ##
+        final RollingFileWriter writer = newWriter(100L, 0);
+        writer.open();
+        writeLine(writer, 59);
+        writeLine(writer, 59); // rolled to index 1
+
+        // ## Act ##
+        switchedToday = switchedToday.plusDays(1);
+        writeLine(writer, 59);
+        writer.close();
+
+        // ## Assert ##
+        assertEquals("access.2026-10-18.log", writer.getCurrentFile().getName());
+    }
+
+    // ===================================================================================
+    //                                                                           Retention
+    //                                                                           =========
+    public void test_retention_deleteExpired() throws Exception {
+        // ## Arrange ##
+        touch("access.2026-10-01.log");
+        touch("access.2026-10-01.1.log");
+        touch("access.2026-10-13.log"); // border - 1
+        touch("access.2026-10-14.log"); // border, retained
+        touch("access.2026-10-16.log");
+        touch("access.log"); // not rolled name
+        touch("access.2026-13-01.log"); // invalid date
+        touch("other.2026-10-01.log");
+        final RollingFileWriter writer = newWriter(1000L, 3);
+
+        // ## Act ##
+        writer.open();
+        writer.close();
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access.2026-10-14.log", "access.2026-10-16.log", "access.2026-10-17.log", "access.2026-13-01.log",
+                "access.log", "other.2026-10-01.log"), listFileNames());
+    }
+
+    public void test_retention_deleteAtRoll() throws Exception {
+        // ## Arrange ##
+        final RollingFileWriter writer = newWriter(1000L, 1);
+        writer.open();
+        writeLine(writer, 9);
+
+        // ## Act ##
+        switchedToday = switchedToday.plusDays(1);
+        writeLine(writer, 9);
+        switchedToday = switchedToday.plusDays(1);
+        writeLine(writer, 9);
+        writer.close();
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access.2026-10-18.log", "access.2026-10-19.log"), listFileNames());
+    }
+
+    public void test_retention_noDeletion() throws Exception {
+        // ## Arrange ##
+        touch("access.2000-01-01.log");
+        final RollingFileWriter writer = newWriter(1000L, 0);
+
+        // ## Act ##
+        writer.open();
+        writer.close();
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("access.2000-01-01.log", "access.2026-10-17.log"), listFileNames());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected RollingFileWriter newWriter(long maxFileSize, int retainDays) {
+        return new RollingFileWriter(logDir.resolve("access.log").toString(), maxFileSize, retainDays, msg -> log(msg)) {
+            @Override
+            protected LocalDate today() {
+                return switchedToday;
+            }
+        };
+    }
+
+    protected void writeLine(RollingFileWriter writer, int length) throws IOException { // plus line separator
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append('x');
+        }
+        writer.write(ByteBuffer.wrap(sb.append('\n').toString().getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    protected void touch(String name) throws IOException {
+        Files.write(logDir.resolve(name), "sea\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    protected List<String> listFileNames() throws IOException {
+        try (Stream<Path> stream = Files.list(logDir)) {
+            return stream.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
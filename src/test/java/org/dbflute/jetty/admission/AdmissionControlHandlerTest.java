@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.admission;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.jetty.warmup.WarmupConnector;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.BufferUtil;
+
+/**
+ * @author jflute
+ */
+public class AdmissionControlHandlerTest extends PlainTestCase {
+
+    protected Server server; // stopped at tear down
+    protected LocalConnector connector;
+    protected LocalConnector warmupConnector;
+    protected AdmissionControlHandler admissionHandler;
+    protected final AtomicReference<AsyncContext> asyncRef = new AtomicReference<AsyncContext>();
+    protected final CountDownLatch asyncStartedLatch = new CountDownLatch(1);
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        server = new Server();
+        connector = new LocalConnector(server);
+        server.addConnector(connector);
+        warmupConnector = new WarmupConnector(server, new HttpConnectionFactory());
+        server.addConnector(warmupConnector);
+        admissionHandler = new AdmissionControlHandler(new AdmissionOption().limit("/sea/*", 1));
+        admissionHandler.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+                baseRequest.setHandled(true);
+                if (target.endsWith("/async")) {
+                    asyncRef.set(request.startAsync());
+                    asyncStartedLatch.countDown();
+                } else {
+                    response.setStatus(HttpServletResponse.SC_OK);
+                }
+            }
+        });
+        server.setHandler(admissionHandler);
+        server.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        server.stop();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                               Async
+    //                                                                               =====
+    public void test_handle_releaseOnAsyncComplete() throws Exception {
+        // ## Arrange ##
+        final LocalConnector.LocalEndPoint endPoint = connector.executeRequest("GET /sea/async HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        assertTrue(asyncStartedLatch.await(5, TimeUnit.SECONDS));
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(1, findStats().getActiveCount()); // held while async
+        assertEquals(503, request("/sea/sync")); // no queue
+
+        asyncRef.get().complete();
+        final String asyncResponse = BufferUtil.toString(endPoint.waitForResponse(false, 5, TimeUnit.SECONDS));
+        assertEquals(200, extractStatus(asyncResponse));
+        awaitActive(0);
+        assertEquals(200, request("/sea/sync"));
+        final AdmissionStats stats = findStats();
+        log(stats);
+        assertEquals(0, stats.getActiveCount());
+        assertEquals(2L, stats.getAcceptedCount());
+        assertEquals(1L, stats.getRejectedCount());
+    }
+
+    public void test_handle_releaseOnSync() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        final int first = request("/sea/sync");
+        final int second = request("/sea/sync");
+        final int unlimited = request("/land/sync");
+
+        // ## Assert ##
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(200, unlimited);
+        final AdmissionStats stats = findStats();
+        log(stats);
+        assertEquals(0, stats.getActiveCount());
+        assertEquals(2L, stats.getAcceptedCount());
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    public void test_handle_warmup_notLimited() throws Exception {
+        // ## Arrange ##
+        connector.executeRequest("GET /sea/async HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        assertTrue(asyncStartedLatch.await(5, TimeUnit.SECONDS)); // limit is full
+
+        // ## Act ##
+        final String response = warmupConnector.getResponse("GET /sea/sync HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+
+        // ## Assert ##
+        assertEquals(200, extractStatus(response));
+        final AdmissionStats stats = findStats();
+        log(stats);
+        assertEquals(1, stats.getActiveCount());
+        assertEquals(1L, stats.getAcceptedCount());
+        assertEquals(0L, stats.getRejectedCount());
+        asyncRef.get().complete();
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected int request(String path) throws Exception { // returns status
+        return extractStatus(connector.getResponse("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n"));
+    }
+
+    protected int extractStatus(String rawResponse) { // e.g. HTTP/1.1 200 OK
+        assertNotNull(rawResponse);
+        return Integer.parseInt(rawResponse.substring("HTTP/1.1 ".length(), "HTTP/1.1 ".length() + 3));
+    }
+
+    protected AdmissionStats findStats() {
+        return admissionHandler.toStatsList().get(0);
+    }
+
+    protected void awaitActive(int activeCount) throws InterruptedException { // released after response by listener
+        final long limitNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (findStats().getActiveCount() != activeCount) {
+            if (System.nanoTime() > limitNanos) {
+                fail("not released: " + findStats());
+            }
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.admission;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class AdmissionLimiterTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Admit
+    //                                                                               =====
+    public void test_acquire_immediate() throws Exception {
+        // ## Arrange ##
+        final AdmissionLimiter limiter = new AdmissionLimiter("/sea/*", 2, 0, 1000L);
+
+        // ## Act ##
+        final boolean first = limiter.acquire(false);
+        final boolean second = limiter.acquire(true);
+
+        // ## Assert ##
+        assertTrue(first);
+        assertTrue(second);
+        final AdmissionStats stats = limiter.toStats();
+        log(stats);
+        assertEquals(2, stats.getActiveCount());
+        assertEquals(2L, stats.getAcceptedCount());
+        assertEquals(0L, stats.getQueuedCount());
+        assertEquals(0L, stats.getRejectedCount());
+
+        limiter.release();
+        limiter.release();
+        assertEquals(0, limiter.toStats().getActiveCount());
+    }
+
+    // ===================================================================================
+    //                                                                              Reject
+    //                                                                              ======
+    public void test_acquire_reject_noQueue() throws Exception {
+        // ## Arrange ##
+        final AdmissionLimiter limiter = new AdmissionLimiter("/sea/*", 1, 0, 1000L);
+        assertTrue(limiter.acquire(false));
+
+        // ## Act ##
+        final long beginMillis = System.currentTimeMillis();
+        final boolean admitted = limiter.acquire(false);
+        final long waitedMillis = System.currentTimeMillis() - beginMillis;
+
+        // ## Assert ##
+        assertFalse(admitted);
+        assertTrue("waited: " + waitedMillis, waitedMillis < 500L); // immediately
+        final AdmissionStats stats = limiter.toStats();
+        log(stats);
+        assertEquals(1L, stats.getRejectedCount());
+        assertEquals(0L, stats.getTimeoutCount());
+        assertEquals(0L, stats.getQueuedCount());
+    }
+
+    public void test_acquire_reject_queueFull() throws Exception {
+        // ## Arrange ##
+        final AdmissionLimiter limiter = new AdmissionLimiter("/sea/*", 1, 1, 10000L);
+        assertTrue(limiter.acquire(false));
+        final Thread waiter = startAcquirer(limiter, false, new CopyOnWriteArrayList<String>(), "waiter");
+        awaitWaiting(limiter, 1);
+
+        // ## Act ##
+        final boolean admitted = limiter.acquire(false);
+
+        // ## Assert ##
+        assertFalse(admitted);
+        final AdmissionStats stats = limiter.toStats();
+        log(stats);
+        assertEquals(1L, stats.getRejectedCount());
+        assertEquals(0L, stats.getTimeoutCount());
+        assertEquals(1, stats.getWaitingCount());
+
+        limiter.release(); // to the waiter
+        waiter.join(5000L);
+        assertFalse(waiter.isAlive());
+    }
+
+    public void test_acquire_reject_timeout() throws Exception {
+        // ## Arrange ##
+        final AdmissionLimiter limiter = new AdmissionLimiter("/sea/*", 1, 1, 100L);
+        assertTrue(limiter.acquire(false));
+
+        // ## Act ##
+        final long beginMillis = System.currentTimeMillis();
+        final boolean admitted = limiter.acquire(false);
+        final long waitedMillis = System.currentTimeMillis() - beginMillis;
+
+        // ## Assert ##
+        assertFalse(admitted);
+        assertTrue("waited: " + waitedMillis, waitedMillis >= 90L);
+        final AdmissionStats stats = limiter.toStats();
+        log(stats);
+        assertEquals(1L, stats.getQueuedCount());
+        assertEquals(1L, stats.getRejectedCount()); // timeout is also rejected
+        assertEquals(1L, stats.getTimeoutCount());
+        assertEquals(0, stats.getWaitingCount());
+        assertEquals(1, stats.getActiveCount());
+    }
+
+    // ===================================================================================
+    //                                                                            Priority
+    //                                                                            ========
+    public void test_acquire_priorityBeforeNormal() throws Exception {
+        // ## Arrange ##
+        final AdmissionLimiter limiter = new AdmissionLimiter("/sea/*", 1, 2, 10000L);
+        assertTrue(limiter.acquire(false));
+        final List<String> admittedList = new CopyOnWriteArrayList<String>();
+        final Thread normal = startAcquirer(limiter, false, admittedList, "normal");
+        awaitWaiting(limiter, 1);
+        final Thread priority = startAcquirer(limiter, true, admittedList, "priority"); // queued later
+        awaitWaiting(limiter, 2);
+
+        // ## Act ##
+        limiter.release();
+
+        // ## Assert ##
+        normal.join(5000L);
+        priority.join(5000L);
+        log(admittedList);
+        assertEquals("[priority, normal]", admittedList.toString());
+        final AdmissionStats stats = limiter.toStats();
+        log(stats);
+        assertEquals(0, stats.getActiveCount());
+        assertEquals(3L, stats.getAcceptedCount());
+        assertEquals(2L, stats.getQueuedCount());
+        assertEquals(0L, stats.getRejectedCount());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Thread startAcquirer(AdmissionLimiter limiter, boolean priority, List<String> admittedList, String name) {
+        final Thread thread = new Thread(() -> {
+            try {
+                if (limiter.acquire(priority)) {
+                    admittedList.add(name);
+                    limiter.release();
+                }
+            } catch (InterruptedException ignored) {}
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    protected void awaitWaiting(AdmissionLimiter limiter, int waitingCount) throws InterruptedException {
+        final long limitNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.toStats().getWaitingCount() < waitingCount) {
+            if (System.nanoTime() > limitNanos) {
+                fail("not waiting: " + limiter.toStats());
+            }
+            Thread.sleep(10L);
+        }
+    }
+}
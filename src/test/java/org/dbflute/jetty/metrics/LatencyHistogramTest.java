@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class LatencyHistogramTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Bucket
+    //                                                                              ======
+    public void test_bucket_exactUnderSubBucketCount() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, histogram.toBucketIndex(value));
+            assertEquals(value, histogram.toBucketUpperValue(value));
+        }
+    }
+
+    public void test_bucket_boundary() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(16, histogram.toBucketIndex(16L)); // first of 2^4, width 1
+        assertEquals(31, histogram.toBucketIndex(31L));
+        assertEquals(31L, histogram.toBucketUpperValue(31));
+        assertEquals(32, histogram.toBucketIndex(32L)); // first of 2^5, width 2
+        assertEquals(32, histogram.toBucketIndex(33L));
+        assertEquals(33L, histogram.toBucketUpperValue(32));
+        assertEquals(33, histogram.toBucketIndex(34L));
+        assertEquals(48, histogram.toBucketIndex(64L)); // first of 2^6, width 4
+        assertEquals(67L, histogram.toBucketUpperValue(48));
+    }
+
+    public void test_bucket_upperValue_containsValue() { // continuous and about 6% precision
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 200000L; value += (value < 5000L ? 1L : 97L)) {
+            final int index = histogram.toBucketIndex(value);
+            final long upper = histogram.toBucketUpperValue(index);
+            assertTrue(value + " upper=" + upper, upper >= value);
+            if (index > 0) {
+                assertTrue(value + " previous=" + histogram.toBucketUpperValue(index - 1), histogram.toBucketUpperValue(index - 1) < value);
+            }
+            assertTrue(value + " upper=" + upper, upper - value <= value / 16L);
+        }
+    }
+
+    public void test_bucket_clampedLargeValue() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final int lastIndex = LatencyHistogram.BUCKET_COUNT - 1;
+        assertEquals(lastIndex, histogram.toBucketIndex(Long.MAX_VALUE));
+        assertEquals(lastIndex, histogram.toBucketIndex((1L << 41) - 1));
+        assertEquals(lastIndex, histogram.toBucketIndex(1L << 50));
+        assertEquals((1L << 41) - 1, histogram.toBucketUpperValue(lastIndex));
+    }
+
+    // ===================================================================================
+    //                                                                          Percentile
+    //                                                                          ==========
+    public void test_percentile_empty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getValueAtPercentile(50.0));
+        assertEquals(0L, histogram.getTotalCount());
+        assertEquals(0.0, histogram.getMeanMicros());
+    }
+
+    public void test_percentile_linear() {
+        // ## Arrange ##
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(1L, histogram.getValueAtPercentile(0.0)); // first record
+        assertEquals(10L, histogram.getValueAtPercentile(10.0)); // exact under 16
+        assertEquals(51L, histogram.getValueAtPercentile(50.0)); // upper of bucket 50-51
+        assertEquals(91L, histogram.getValueAtPercentile(90.0)); // upper of bucket 88-91
+        assertEquals(99L, histogram.getValueAtPercentile(99.0)); // upper of bucket 96-99
+        assertEquals(100L, histogram.getValueAtPercentile(100.0)); // bucket 100-103 is clamped by max
+        assertEquals(100L, histogram.getValueAtPercentile(150.0)); // over 100 is treated as 100
+        assertEquals(100L, histogram.getTotalCount());
+        assertEquals(100L, histogram.getMaxMicros());
+        assertEquals(50.5, histogram.getMeanMicros());
+    }
+
+    public void test_percentile_tail() {
+        // ## Arrange ##
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 999; i++) {
+            histogram.record(1000L);
+        }
+        histogram.record(1000000L); // one slow request
+
+        // ## Act ##
+        final long p99 = histogram.getValueAtPercentile(99.0);
+        final long p999 = histogram.getValueAtPercentile(99.9);
+        final long p9999 = histogram.getValueAtPercentile(99.99);
+
+        // ## Assert ##
+        assertTrue("p99=" + p99, p99 >= 1000L && p99 <= 1000L + 1000L / 16L);
+        assertTrue("p999=" + p999, p999 >= 1000L && p999 <= 1000L + 1000L / 16L); // rank 999 is still fast one
+        assertEquals(1000000L, p9999);
+    }
+
+    public void test_record_minus() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5L);
+        assertEquals(1L, histogram.getTotalCount());
+        assertEquals(0L, histogram.getValueAtPercentile(100.0));
+        assertEquals(0L, histogram.getMaxMicros());
+    }
+
+    // ===================================================================================
+    //                                                                          Concurrent
+    //                                                                          ==========
+    public void test_record_concurrent() throws Exception {
+        // ## Arrange ##
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final int threadCount = 4;
+        final int recordCount = 50000; // per thread
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        // ## Act ##
+        final List<Future<?>> futureList = new ArrayList<Future<?>>();
+        for (int i = 0; i < threadCount; i++) {
+            final long base = i * 1000L;
+            futureList.add(executor.submit(() -> {
+                for (int j = 0; j < recordCount; j++) {
+                    histogram.record(base + (j % 1000));
+                }
+            }));
+        }
+        for (Future<?> future : futureList) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // ## Assert ##
+        assertEquals((long) threadCount * recordCount, histogram.getTotalCount());
+        long bucketTotal = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            bucketTotal += histogram.bucketArray.get(i);
+        }
+        assertEquals(histogram.getTotalCount(), bucketTotal);
+        assertEquals(3999L, histogram.getMaxMicros());
+        assertEquals(3999L, histogram.getValueAtPercentile(100.0));
+    }
+}
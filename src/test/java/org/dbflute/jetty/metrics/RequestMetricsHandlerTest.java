@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.UnavailableException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.jetty.warmup.WarmupConnector;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+
+/**
+ * @author jflute
+ */
+public class RequestMetricsHandlerTest extends PlainTestCase {
+
+    protected Server server; // stopped at tear down
+    protected LocalConnector connector;
+    protected LocalConnector warmupConnector;
+    protected ContextMetrics metrics;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        server = new Server();
+        connector = new LocalConnector(server);
+        server.addConnector(connector);
+        warmupConnector = new WarmupConnector(server, new HttpConnectionFactory());
+        server.addConnector(warmupConnector);
+        final ServletContextHandler context = new ServletContextHandler();
+        context.setContextPath("/");
+        context.addServlet(new ServletHolder(new HttpServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+                final String path = request.getPathInfo();
+                if ("/sea".equals(path)) {
+                    response.getWriter().write("mystic");
+                } else if ("/land".equals(path)) {
+                    response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                } else if ("/failure".equals(path)) {
+                    throw new IllegalStateException("broken application");
+                } else if ("/unavailable".equals(path)) {
+                    throw new UnavailableException("temporarily", 10);
+                } else if ("/async".equals(path)) {
+                    final AsyncContext async = request.startAsync();
+                    async.start(() -> {
+                        try {
+                            async.getResponse().getWriter().write("oneman");
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        async.complete();
+                    });
+                }
+            }
+        }), "/*");
+        metrics = new ContextMetrics("/");
+        final RequestMetricsHandler metricsHandler = new RequestMetricsHandler(metrics);
+        metricsHandler.setHandler(context);
+        server.setHandler(metricsHandler);
+        server.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        server.stop();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                              Status
+    //                                                                              ======
+    public void test_handle_success() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        final String response = request("/sea");
+
+        // ## Assert ##
+        assertTrue(response.startsWith("HTTP/1.1 200"));
+        final ContextMetricsSnapshot snapshot = metrics.toSnapshot();
+        log(snapshot);
+        assertEquals(1L, snapshot.getRequestCount());
+        assertEquals(1L, snapshot.getStatusClassCount(2));
+        assertEquals(0, snapshot.getActiveRequests());
+        assertEquals(6L, snapshot.getBytesOut()); // mystic
+    }
+
+    public void test_handle_sendError() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        final String response = request("/land");
+
+        // ## Assert ##
+        assertTrue(response.startsWith("HTTP/1.1 404"));
+        final ContextMetricsSnapshot snapshot = metrics.toSnapshot();
+        log(snapshot);
+        assertEquals(1L, snapshot.getStatusClassCount(4));
+        assertEquals(0L, snapshot.getStatusClassCount(2));
+    }
+
+    public void test_handle_thrown_recordedAsServerError() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        final String response = request("/failure");
+
+        // ## Assert ##
+        assertTrue(response.startsWith("HTTP/1.1 500"));
+        final ContextMetricsSnapshot snapshot = metrics.toSnapshot();
+        log(snapshot);
+        assertEquals(1L, snapshot.getRequestCount());
+        assertEquals(1L, snapshot.getStatusClassCount(5));
+        assertEquals(0L, snapshot.getStatusClassCount(2));
+        assertEquals(0, snapshot.getActiveRequests());
+    }
+
+    public void test_handle_thrown_unavailable() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        final String response = request("/unavailable");
+
+        // ## Assert ##
+        assertTrue(response.startsWith("HTTP/1.1 503"));
+        final ContextMetricsSnapshot snapshot = metrics.toSnapshot();
+        log(snapshot);
+        assertEquals(1L, snapshot.getStatusClassCount(5));
+        assertEquals(0L, snapshot.getStatusClassCount(2));
+    }
+
+    // ===================================================================================
+    //                                                                               Async
+    //                                                                               =====
+    public void test_handle_async_recordedAtComplete() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        final String response = request("/async");
+
+        // ## Assert ##
+        assertTrue(response.startsWith("HTTP/1.1 200"));
+        awaitCompleted(1L); // listener may be called after the response is sent
+        final ContextMetricsSnapshot snapshot = metrics.toSnapshot();
+        log(snapshot);
+        assertEquals(1L, snapshot.getStatusClassCount(2));
+        assertEquals(0, snapshot.getActiveRequests());
+        assertEquals(6L, snapshot.getBytesOut()); // oneman
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    public void test_handle_warmup_notRecorded() throws Exception {
+        // ## Arrange ##
+        final String raw = "GET /failure HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+
+        // ## Act ##
+        final String response = warmupConnector.getResponse(raw, 5, TimeUnit.SECONDS);
+        request("/sea");
+
+        // ## Assert ##
+        assertTrue(response.startsWith("HTTP/1.1 500"));
+        final ContextMetricsSnapshot snapshot = metrics.toSnapshot();
+        log(snapshot);
+        assertEquals(1L, snapshot.getRequestCount()); // real one only
+        assertEquals(0L, snapshot.getStatusClassCount(5));
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected String request(String path) throws Exception {
+        return connector.getResponse("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n", 5, TimeUnit.SECONDS);
+    }
+
+    protected void awaitCompleted(long requestCount) throws InterruptedException {
+        final long limitNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (metrics.toSnapshot().getRequestCount() < requestCount) {
+            if (System.nanoTime() > limitNanos) {
+                fail("not completed: " + metrics.toSnapshot());
+            }
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.resource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class WebrootExtractorTest extends PlainTestCase {
+
+    protected Path workDir; // deleted at tear down
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        workDir = Files.createTempDirectory("jettyboot-extractor-test");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try (Stream<Path> stream = Files.walk(workDir)) {
+            stream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                             Extract
+    //                                                                             =======
+    public void test_extract_basic() throws Exception {
+        // ## Arrange ##
+        final File jarFile = makeJar("app.jar", "webroot/index.html", "webroot/css/site.css");
+        final WebrootExtractor extractor = new WebrootExtractor(workDir.resolve("cache").toFile());
+
+        // ## Act ##
+        final File first = extractor.extract(jarFile.getPath(), "webroot/");
+        final File second = extractor.extract(jarFile.getPath(), "webroot/");
+
+        // ## Assert ##
+        log(first);
+        assertTrue(new File(first, "index.html").isFile());
+        assertTrue(new File(first, "css/site.css").isFile());
+        assertEquals(first, second); // reused
+    }
+
+    public void test_extract_relativeBaseDir() throws Exception {
+        // ## Arrange ##
+        final File jarFile = makeJar("app.jar", "webroot/index.html");
+        final Path currentDir = new File("").getAbsoluteFile().toPath();
+        final File relativeBaseDir = currentDir.relativize(workDir.resolve("relative")).toFile(); // e.g. ../../tmp/...
+        final WebrootExtractor extractor = new WebrootExtractor(relativeBaseDir);
+
+        // ## Act ##
+        final File extracted = extractor.extract(jarFile.getPath(), "webroot/");
+
+        // ## Assert ##
+        log(extracted);
+        assertTrue(new File(extracted, "index.html").isFile());
+    }
+
+    public void test_extract_zipSlip() throws Exception {
+        // ## Arrange ##
+        final File jarFile = makeJar("evil.jar", "webroot/index.html", "webroot/../../evil.txt");
+        final WebrootExtractor extractor = new WebrootExtractor(workDir.resolve("cache").toFile());
+
+        // ## Act ##
+        try {
+            extractor.extract(jarFile.getPath(), "webroot/");
+            // ## Assert ##
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getCause().getMessage());
+            assertTrue(e.getCause().getMessage().contains("evil.txt"));
+        }
+        assertFalse(workDir.resolve("evil.txt").toFile().exists());
+        assertFalse(workDir.getParent().resolve("evil.txt").toFile().exists());
+    }
+
+    public void test_extract_war_zipSlip() throws Exception {
+        // ## Arrange ##
+        final File warFile = makeJar("evil.war", "WEB-INF/web.xml", "../evil.txt");
+        final WarExtractor extractor = new WarExtractor(workDir.resolve("cache").toFile(), new WarExtractionOption(), msg -> log(msg));
+
+        // ## Act ##
+        try {
+            extractor.extractWar(warFile.getPath());
+            // ## Assert ##
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+        assertFalse(workDir.resolve("evil.txt").toFile().exists());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected File makeJar(String name, String... entryNames) throws IOException {
+        final File jarFile = workDir.resolve(name).toFile();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile))) {
+            for (String entryName : entryNames) {
+                out.putNextEntry(new JarEntry(entryName));
+                out.write(("content of " + entryName).getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return jarFile;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.session;
+
+import java.io.IOException;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.server.session.SessionContext;
+import org.eclipse.jetty.server.session.SessionData;
+
+/**
+ * @author jflute
+ */
+public class OffHeapSessionDataStoreTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Store
+    //                                                                               =====
+    public void test_store_load_basic() throws Exception {
+        // ## Arrange ##
+        final OffHeapSessionDataStore store = newStore(1024L * 1024);
+        final SessionData data = newSessionData("sea", "mystic");
+
+        // ## Act ##
+        store.doStore("sea", data, 0L);
+        final SessionData loaded = store.doLoad("sea");
+
+        // ## Assert ##
+        log(store);
+        assertNotNull(loaded);
+        assertEquals("/dockside", loaded.getContextPath());
+        assertEquals("mystic", loaded.getAttribute("land"));
+        assertEquals(data.getCreated(), loaded.getCreated());
+        assertTrue(store.exists("sea"));
+        assertNull(store.doLoad("land"));
+    }
+
+    public void test_store_reuseBuffer() throws Exception {
+        // ## Arrange ##
+        final OffHeapSessionDataStore store = newStore(1024L * 1024);
+        store.doStore("sea", newSessionData("sea", repeat("m", 2000)), 0L);
+        final long firstBytes = store.getStoredBytes();
+        final Object firstBuffer = store.entryMap.get("sea").buffer;
+
+        // ## Act ##
+        store.doStore("sea", newSessionData("sea", repeat("o", 1900)), 0L); // smaller
+
+        // ## Assert ##
+        log(store);
+        assertSame(firstBuffer, store.entryMap.get("sea").buffer);
+        assertEquals(firstBytes, store.getStoredBytes());
+        assertEquals(repeat("o", 1900), store.doLoad("sea").getAttribute("land")); // not trailing old bytes
+    }
+
+    public void test_store_reallocate_countHeldCapacity() throws Exception {
+        // ## Arrange ##
+        final OffHeapSessionDataStore store = newStore(1024L * 1024);
+        store.doStore("sea", newSessionData("sea", "small"), 0L);
+        final Object firstBuffer = store.entryMap.get("sea").buffer;
+
+        // ## Act ##
+        store.doStore("sea", newSessionData("sea", repeat("m", 5000)), 0L); // larger
+
+        // ## Assert ##
+        log(store);
+        final OffHeapSessionDataStore.StoredEntry entry = store.entryMap.get("sea");
+        assertNotSame(firstBuffer, entry.buffer);
+        assertEquals(entry.buffer.capacity(), store.getStoredBytes()); // previous one is released
+        assertTrue(entry.buffer.capacity() >= entry.length);
+    }
+
+    public void test_store_full() throws Exception {
+        // ## Arrange ##
+        final OffHeapSessionDataStore store = newStore(4096L);
+        store.doStore("sea", newSessionData("sea", repeat("m", 2000)), 0L);
+
+        // ## Act ##
+        // ## Assert ##
+        try {
+            store.doStore("land", newSessionData("land", repeat("o", 2000)), 0L);
+            fail();
+        } catch (IOException e) {
+            log(e.getMessage());
+        }
+        assertFalse(store.exists("land"));
+        assertEquals(1L, store.getStoredCount());
+    }
+
+    public void test_delete_freeBytes() throws Exception {
+        // ## Arrange ##
+        final OffHeapSessionDataStore store = newStore(1024L * 1024);
+        store.doStore("sea", newSessionData("sea", "mystic"), 0L);
+
+        // ## Act ##
+        final boolean deleted = store.delete("sea");
+
+        // ## Assert ##
+        assertTrue(deleted);
+        assertFalse(store.delete("sea"));
+        assertEquals(0L, store.getStoredBytes());
+        assertEquals(0L, store.getStoredCount());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected OffHeapSessionDataStore newStore(long maxBytes) throws Exception {
+        final OffHeapSessionDataStore store = new OffHeapSessionDataStore(maxBytes);
+        store.initialize(new SessionContext("node0", new ContextHandler("/dockside").getServletContext()));
+        return store;
+    }
+
+    protected SessionData newSessionData(String id, String value) {
+        final long now = System.currentTimeMillis();
+        final SessionData data = new SessionData(id, "/dockside", "0.0.0.0", now, now, now, 60000L);
+        data.setExpiry(now + 60000L);
+        data.setAttribute("land", value);
+        return data;
+    }
+
+    protected String repeat(String str, int count) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(str);
+        }
+        return sb.toString();
+    }
+}
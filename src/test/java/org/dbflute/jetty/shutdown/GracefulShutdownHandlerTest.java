@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jetty.shutdown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.BufferUtil;
+
+/**
+ * @author jflute
+ */
+public class GracefulShutdownHandlerTest extends PlainTestCase {
+
+    protected Server server; // stopped at tear down
+    protected LocalConnector connector;
+    protected GracefulShutdownHandler shutdownHandler;
+    protected final CountDownLatch enteredLatch = new CountDownLatch(1);
+    protected final CountDownLatch releaseLatch = new CountDownLatch(1);
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        server = new Server();
+        connector = new LocalConnector(server);
+        server.addConnector(connector);
+        shutdownHandler = new GracefulShutdownHandler(5000L);
+        shutdownHandler.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+                baseRequest.setHandled(true);
+                if (target.equals("/slow")) {
+                    enteredLatch.countDown();
+                    try {
+                        releaseLatch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                response.setStatus(HttpServletResponse.SC_OK);
+            }
+        });
+        server.setHandler(shutdownHandler);
+        server.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        releaseLatch.countDown();
+        server.stop();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                            Shutdown
+    //                                                                            ========
+    public void test_shutdown_noInFlight() throws Exception {
+        // ## Arrange ##
+        assertTrue(request("/sea").startsWith("HTTP/1.1 200"));
+
+        // ## Act ##
+        final Future<Void> future = shutdownHandler.shutdown();
+
+        // ## Assert ##
+        assertTrue(future.isDone());
+        assertSame(future, shutdownHandler.shutdown()); // same future at second call
+        final ShutdownReport report = shutdownHandler.toReport();
+        log(report);
+        assertEquals(0, report.getInFlightAtShutdown());
+    }
+
+    public void test_shutdown_drainInFlight() throws Exception {
+        // ## Arrange ##
+        final LocalConnector.LocalEndPoint endPoint = connector.executeRequest("GET /slow HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        assertTrue(enteredLatch.await(5, TimeUnit.SECONDS));
+
+        // ## Act ##
+        final Future<Void> future = shutdownHandler.shutdown();
+
+        // ## Assert ##
+        assertFalse(future.isDone()); // waits for the slow request
+        final String rejected = request("/sea");
+        assertTrue(rejected, rejected.startsWith("HTTP/1.1 503"));
+        assertTrue(rejected, rejected.contains("Connection: close"));
+        assertFalse(future.isDone()); // rejected one does not complete it
+        releaseLatch.countDown();
+        future.get(5, TimeUnit.SECONDS);
+        assertTrue(BufferUtil.toString(endPoint.waitForResponse(false, 5, TimeUnit.SECONDS)).startsWith("HTTP/1.1 200"));
+        assertEquals(0, shutdownHandler.getInFlightCount());
+        final ShutdownReport report = shutdownHandler.toReport();
+        log(report);
+        assertEquals(1, report.getInFlightAtShutdown());
+        assertEquals(1, report.getDrainedCount());
+        assertEquals(0, report.getAbortedCount());
+        assertEquals(1L, report.getRejectedCount());
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected String request(String path) throws Exception {
+        return connector.getResponse("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n", 5, TimeUnit.SECONDS);
+    }
+}